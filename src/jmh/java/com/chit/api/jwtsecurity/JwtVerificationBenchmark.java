@@ -0,0 +1,62 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.AuthConfig;
+import com.chit.api.dao.model.UserDBModel;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Per-request cost of verifying a bearer token. perRequestParsers is the old request path: the
+// username read, then validateToken reading the username and the expiry again, each building a
+// parser from the secret string. Run with ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+  private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWF0LWxlYXN0LTI1Ni1iaXRz";
+
+  private JwtUtil jwtUtil;
+  private JwtVerifier jwtVerifier;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = new JwtUtil(SECRET, 3600);
+    jwtVerifier = new JwtVerifier(jwtUtil, new AuthConfig(), new SimpleMeterRegistry());
+    UserDBModel userDBModel = new UserDBModel();
+    userDBModel.setNumber("9876543210");
+    userDBModel.setUsertype("ADMIN");
+    token = jwtUtil.generateToken(userDBModel);
+  }
+
+  @Benchmark
+  public boolean perRequestParsers() {
+    String username = perRequestParser(token).getSubject();
+    return perRequestParser(token).getSubject().equals(username)
+        && !perRequestParser(token).getExpiration().before(new Date());
+  }
+
+  @Benchmark
+  public VerifiedToken singleParse() {
+    return VerifiedToken.of(jwtUtil.parseClaims(token));
+  }
+
+  @Benchmark
+  public VerifiedToken cachedVerification() {
+    return jwtVerifier.verify(token);
+  }
+
+  private Claims perRequestParser(String jwt) {
+    return Jwts.parserBuilder().setSigningKey(SECRET).build().parseClaimsJws(jwt).getBody();
+  }
+}
@@ -0,0 +1,59 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.HashingConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Sign-in throughput and latency under a burst of concurrent logins, more than there are cores.
+// twoHashesOnCaller is the old login: matches, then the authentication manager checking the same
+// password again, both on the request thread. oneHashOnPool is the login now. The Mongo reads the
+// old login also repeated are not part of this. Run with ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class LoginBenchmark {
+
+  private static final String PASSWORD = "chit1234";
+
+  private PasswordEncoder passwordEncoder;
+  private PasswordHasher passwordHasher;
+  private String encodedPassword;
+
+  @Setup
+  public void setUp() {
+    passwordEncoder = new BCryptPasswordEncoder();
+    HashingConfig hashingConfig = new HashingConfig();
+    // every benchmark thread may be waiting at once, so none is refused
+    hashingConfig.setQueueCapacity(64);
+    hashingConfig.setWaitMs(60000);
+    passwordHasher = new PasswordHasher(passwordEncoder, hashingConfig);
+    encodedPassword = passwordEncoder.encode(PASSWORD);
+  }
+
+  @TearDown
+  public void tearDown() {
+    passwordHasher.shutdown();
+  }
+
+  @Benchmark
+  public boolean twoHashesOnCaller() {
+    return passwordEncoder.matches(PASSWORD, encodedPassword)
+        && passwordEncoder.matches(PASSWORD, encodedPassword);
+  }
+
+  @Benchmark
+  public boolean oneHashOnPool() {
+    return passwordHasher.matches(PASSWORD, encodedPassword);
+  }
+}
@@ -0,0 +1,52 @@
+package com.chit.api.ratelimit;
+
+import com.chit.api.config.RateLimitConfig;
+import com.chit.api.config.RateLimitConfig.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// Cost of one check on the request path, with the policy set high enough that nothing is
+// refused; numbers are spread over many buckets and every thread shares one client address.
+// Run with ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+  private static final int NUMBERS = 10000;
+
+  private RateLimiter rateLimiter;
+  private String[] numbers;
+
+  @Setup
+  public void setUp() {
+    Policy policy = new Policy();
+    policy.setNumberCapacity(Integer.MAX_VALUE / 2);
+    policy.setNumberPerMinute(Integer.MAX_VALUE / 2);
+    policy.setClientCapacity(Integer.MAX_VALUE / 2);
+    policy.setClientPerMinute(Integer.MAX_VALUE / 2);
+    RateLimitConfig rateLimitConfig = new RateLimitConfig();
+    rateLimitConfig.getPolicies().put(RateLimiter.LOGIN, policy);
+    rateLimiter = new RateLimiter(rateLimitConfig, new SimpleMeterRegistry());
+    numbers = new String[NUMBERS];
+    for (int i = 0; i < NUMBERS; i++) {
+      numbers[i] = String.valueOf(9000000000L + i);
+    }
+  }
+
+  @Benchmark
+  public void check() {
+    rateLimiter.check(RateLimiter.LOGIN, numbers[ThreadLocalRandom.current().nextInt(NUMBERS)],
+        "10.0.0.1");
+  }
+}
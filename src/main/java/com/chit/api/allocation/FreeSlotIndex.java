@@ -0,0 +1,103 @@
+package com.chit.api.allocation;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class FreeSlotIndex {
+
+  private final MongoTemplate mongoTemplate;
+  private final Map<Long, SlotBitmap> bitmaps = new ConcurrentHashMap<>();
+
+  public FreeSlotIndex(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  // Runs after the slot and money migrations; chits booked before this are loaded lazily
+  @Order(3)
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    log.info("Entered rebuild free slot index method...");
+    Map<Long, SlotBitmap> rebuilt = new HashMap<>();
+    Query chitQuery = new Query();
+    chitQuery.fields().include("totalSlots");
+    try (Stream<Document> chits = mongoTemplate.stream(chitQuery, Document.class,
+        mongoTemplate.getCollectionName(ChitDBModel.class))) {
+      chits.forEach(chit -> rebuilt.put(((Number) chit.get("_id")).longValue(),
+          new SlotBitmap(chit.get("totalSlots", 0))));
+    }
+    Query freeSlotQuery = new Query(Criteria.where("user").is(null));
+    freeSlotQuery.fields().include("chitId", "slotId");
+    try (Stream<Document> freeSlots = mongoTemplate.stream(freeSlotQuery, Document.class,
+        mongoTemplate.getCollectionName(Slot.class))) {
+      freeSlots.forEach(slot -> {
+        SlotBitmap bitmap = rebuilt.get(((Number) slot.get("chitId")).longValue());
+        if (bitmap != null) {
+          bitmap.markFree(slot.getInteger("slotId"));
+        }
+      });
+    }
+    rebuilt.forEach(bitmaps::putIfAbsent);
+    log.info("Rebuilt free slot index for {} chits", rebuilt.size());
+  }
+
+  // Returns a claimed slot id, or -1 when the chit has no free slot left
+  public int claim(long chitId, int totalSlots) {
+    return bitmap(chitId, totalSlots).claim();
+  }
+
+  public void release(long chitId, int slotId) {
+    SlotBitmap bitmap = bitmaps.get(chitId);
+    if (bitmap != null) {
+      bitmap.markFree(slotId);
+    }
+  }
+
+  public void markTaken(long chitId, int slotId) {
+    SlotBitmap bitmap = bitmaps.get(chitId);
+    if (bitmap != null) {
+      bitmap.markTaken(slotId);
+    }
+  }
+
+  public void register(long chitId, int totalSlots) {
+    SlotBitmap bitmap = new SlotBitmap(totalSlots);
+    for (int slotId = 1; slotId <= totalSlots; slotId++) {
+      bitmap.markFree(slotId);
+    }
+    bitmaps.put(chitId, bitmap);
+  }
+
+  public void remove(long chitId) {
+    bitmaps.remove(chitId);
+  }
+
+  public void clear() {
+    bitmaps.clear();
+  }
+
+  private SlotBitmap bitmap(long chitId, int totalSlots) {
+    return bitmaps.computeIfAbsent(chitId, id -> {
+      SlotBitmap bitmap = new SlotBitmap(totalSlots);
+      Query freeSlotQuery = new Query(Criteria.where("chitId").is(id).and("user").is(null));
+      freeSlotQuery.fields().include("slotId");
+      mongoTemplate.find(freeSlotQuery, Document.class, mongoTemplate.getCollectionName(Slot.class))
+          .forEach(slot -> bitmap.markFree(slot.getInteger("slotId")));
+      return bitmap;
+    });
+  }
+}
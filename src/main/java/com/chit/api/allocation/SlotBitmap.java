@@ -0,0 +1,72 @@
+package com.chit.api.allocation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// One bit per slot, set while the slot is free. Claims are a CAS on a single word, so
+// members racing for the same chit never block each other.
+public class SlotBitmap {
+
+  private final int totalSlots;
+  private final AtomicLongArray words;
+
+  public SlotBitmap(int totalSlots) {
+    this.totalSlots = totalSlots;
+    this.words = new AtomicLongArray((totalSlots + 63) >>> 6);
+  }
+
+  public int getTotalSlots() {
+    return totalSlots;
+  }
+
+  // Returns the claimed slot id, or -1 when no slot is free
+  public int claim() {
+    int wordCount = words.length();
+    if (wordCount == 0) {
+      return -1;
+    }
+    // Random start word and bit spread concurrent claimers so their CASes rarely collide
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int startWord = random.nextInt(wordCount);
+    for (int n = 0; n < wordCount; n++) {
+      int wordIndex = (startWord + n) % wordCount;
+      long word;
+      while ((word = words.get(wordIndex)) != 0L) {
+        int offset = random.nextInt(64);
+        int bit = (Long.numberOfTrailingZeros(Long.rotateRight(word, offset)) + offset) & 63;
+        if (words.compareAndSet(wordIndex, word, word & ~(1L << bit))) {
+          return (wordIndex << 6) + bit + 1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  public void markFree(int slotId) {
+    update(slotId, true);
+  }
+
+  public void markTaken(int slotId) {
+    update(slotId, false);
+  }
+
+  public int freeCount() {
+    int free = 0;
+    for (int i = 0; i < words.length(); i++) {
+      free += Long.bitCount(words.get(i));
+    }
+    return free;
+  }
+
+  private void update(int slotId, boolean free) {
+    if (slotId < 1 || slotId > totalSlots) {
+      return;
+    }
+    int wordIndex = (slotId - 1) >>> 6;
+    long mask = 1L << ((slotId - 1) & 63);
+    long word;
+    do {
+      word = words.get(wordIndex);
+    } while (!words.compareAndSet(wordIndex, word, free ? word | mask : word & ~mask));
+  }
+}
@@ -0,0 +1,372 @@
+package com.chit.api.archive;
+
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.auction.AuctionDBModel;
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ArchiveConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.enums.ArchiveEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.ChitApiException;
+import com.chit.api.ledger.LedgerEntry;
+import com.chit.api.ledger.MemberBalance;
+import com.chit.api.lifecycle.LifecycleScheduler;
+import com.chit.api.response.model.ArchiveResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.result.DeleteResult;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+// Moves chits that ended more than after-days ago out of the chit, slot, ledger and
+// member_balance collections into one compressed chit_archive document each, in batches, on a
+// timer and on demand. Reads that miss the hot collections fall back to the archive.
+@Service
+@Slf4j
+public class ArchiveService {
+
+  // extended JSON keeps longs, dates and ids typed, so the mapping converter reads them back
+  private static final JsonWriterSettings PAYLOAD_JSON = JsonWriterSettings.builder()
+      .outputMode(JsonMode.EXTENDED)
+      .build();
+  // the converter leaves dates and instants to the driver's java.time codecs
+  private static final DocumentCodec PAYLOAD_CODEC = new DocumentCodec(
+      MongoClientSettings.getDefaultCodecRegistry());
+  // the claim lives only in the chit document; the model does not map it
+  private static final String CLAIM_RUN_ID = "archiveRunId";
+  private static final String CLAIMED_AT = "archiveClaimedAt";
+
+  private final MongoTemplate mongoTemplate;
+  private final ArchiveConfig archiveConfig;
+  private final FreeSlotIndex freeSlotIndex;
+  private final ChitCache chitCache;
+  private final CounterService counterService;
+  private final ChitEventStore chitEventStore;
+  private final LifecycleScheduler lifecycleScheduler;
+  // archives never change once written, so decompressed ones can be kept
+  private final Cache<String, ArchivedChit> archivedChits;
+  private final ScheduledExecutorService executor;
+
+  public ArchiveService(MongoTemplate mongoTemplate, ArchiveConfig archiveConfig,
+      FreeSlotIndex freeSlotIndex, ChitCache chitCache, CounterService counterService,
+      ChitEventStore chitEventStore, LifecycleScheduler lifecycleScheduler) {
+    this.mongoTemplate = mongoTemplate;
+    this.archiveConfig = archiveConfig;
+    this.freeSlotIndex = freeSlotIndex;
+    this.chitCache = chitCache;
+    this.counterService = counterService;
+    this.chitEventStore = chitEventStore;
+    this.lifecycleScheduler = lifecycleScheduler;
+    this.archivedChits = Caffeine.newBuilder()
+        .maximumSize(archiveConfig.getCachedChits())
+        .build();
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chit-archiver");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::archiveOnSchedule, archiveConfig.getIntervalMs(),
+        archiveConfig.getIntervalMs(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  public synchronized ArchiveResponse archiveClosedChits() {
+    log.info("Entered archive closed chits service method...");
+    long started = System.nanoTime();
+    ArchiveResponse archiveResponse = new ArchiveResponse();
+    archiveResponse.setPurged(purgeInterrupted());
+    List<Long> candidates = closedChits(LocalDate.now().minusDays(archiveConfig.getAfterDays()));
+    archiveResponse.setCandidates(candidates.size());
+    int batchSize = Math.max(1, archiveConfig.getBatchSize());
+    for (int from = 0; from < candidates.size(); from += batchSize) {
+      List<Long> batch = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+      int archived = archiveBatch(batch);
+      archiveResponse.setArchived(archiveResponse.getArchived() + archived);
+      archiveResponse.setSkipped(archiveResponse.getSkipped() + batch.size() - archived);
+    }
+    archiveResponse.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    log.info("Archived {} of {} closed chits in {} ms", archiveResponse.getArchived(),
+        candidates.size(), archiveResponse.getDurationMs());
+    return archiveResponse;
+  }
+
+  public boolean isArchived(String chitname) {
+    return mongoTemplate.exists(new Query(Criteria.where("chitname").is(chitname)),
+        ChitArchive.class);
+  }
+
+  public Set<String> archivedNames(Collection<String> chitnames) {
+    Query query = new Query(Criteria.where("chitname").in(chitnames));
+    query.fields().include("chitname");
+    return mongoTemplate.find(query, ChitArchive.class).stream()
+        .map(ChitArchive::getChitname)
+        .collect(Collectors.toSet());
+  }
+
+  // null when the chit was never archived
+  public ArchivedChit findArchived(String chitname) {
+    return archivedChits.get(chitname, name -> {
+      ChitArchive chitArchive = mongoTemplate.findOne(
+          new Query(Criteria.where("chitname").is(name)), ChitArchive.class);
+      return chitArchive != null ? read(chitArchive) : null;
+    });
+  }
+
+  public boolean delete(String chitname) {
+    log.info("Entered delete archived chit service method...");
+    ChitArchive chitArchive = mongoTemplate.findAndRemove(
+        new Query(Criteria.where("chitname").is(chitname)), ChitArchive.class);
+    archivedChits.invalidate(chitname);
+    if (chitArchive == null) {
+      return false;
+    }
+    chitEventStore.append(ChitEvent.deleted(chitArchive.getId()));
+    log.info("Deleted archived chit with name : {}", chitname);
+    return true;
+  }
+
+  public void clear() {
+    mongoTemplate.remove(new Query(), ChitArchive.class);
+    archivedChits.invalidateAll();
+  }
+
+  private void archiveOnSchedule() {
+    try {
+      archiveClosedChits();
+    } catch (RuntimeException e) {
+      log.error("Scheduled chit archival failed", e);
+    }
+  }
+
+  private List<Long> closedChits(LocalDate endedBefore) {
+    Set<Long> auctioning = new HashSet<>(mongoTemplate.findDistinct(
+        new Query(Criteria.where("status").is(AuctionDBModel.OPEN)), "chitId",
+        AuctionDBModel.class, Long.class));
+    Query query = new Query(Criteria.where("endDate").lt(endedBefore)).with(Sort.by("id"));
+    query.fields().include("id");
+    List<Long> closed = new ArrayList<>();
+    try (Stream<ChitDBModel> chits = mongoTemplate.stream(query, ChitDBModel.class)) {
+      chits.filter(chit -> !auctioning.contains(chit.getId()))
+          .forEach(chit -> closed.add(chit.getId()));
+    }
+    return closed;
+  }
+
+  // Claims the chits first, so that runs on other nodes skip them, then writes the archives,
+  // removes each chit guarded on what was archived and on the claim, and only purges the slots,
+  // ledger entries and balances of chits whose removal matched
+  private int archiveBatch(List<Long> chitIds) {
+    String runId = UUID.randomUUID().toString();
+    Instant now = Instant.now();
+    mongoTemplate.updateMulti(new Query(Criteria.where("id").in(chitIds).orOperator(
+            Criteria.where(CLAIM_RUN_ID).exists(false),
+            Criteria.where(CLAIMED_AT).lt(now.minusMillis(archiveConfig.getClaimStaleAfterMs())))),
+        new Update().set(CLAIM_RUN_ID, runId).set(CLAIMED_AT, now), ChitDBModel.class);
+    List<ChitDBModel> chits = mongoTemplate.find(new Query(Criteria.where("id").in(chitIds)
+        .and(CLAIM_RUN_ID).is(runId)), ChitDBModel.class);
+    if (chits.isEmpty()) {
+      return 0;
+    }
+    Query byChit = new Query(Criteria.where("chitId").in(chitIds));
+    Map<Long, List<Slot>> slots = mongoTemplate.find(byChit, Slot.class).stream()
+        .collect(Collectors.groupingBy(Slot::getChitId));
+    Map<Long, List<LedgerEntry>> ledger = mongoTemplate.find(byChit, LedgerEntry.class).stream()
+        .collect(Collectors.groupingBy(LedgerEntry::getChitId));
+    Map<Long, List<MemberBalance>> balances = mongoTemplate.find(byChit, MemberBalance.class)
+        .stream()
+        .collect(Collectors.groupingBy(MemberBalance::getChitId));
+
+    List<ArchivedChit> contents = new ArrayList<>(chits.size());
+    BulkOperations archiveOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+        ChitArchive.class);
+    for (ChitDBModel chit : chits) {
+      ArchivedChit archivedChit = new ArchivedChit();
+      archivedChit.setChit(chit);
+      archivedChit.setArchivedAt(now);
+      archivedChit.setSlots(slots.getOrDefault(chit.getId(), List.of()));
+      archivedChit.setLedger(ledger.getOrDefault(chit.getId(), List.of()));
+      archivedChit.setBalances(balances.getOrDefault(chit.getId(), List.of()));
+      contents.add(archivedChit);
+      archiveOperations.replaceOne(new Query(Criteria.where("id").is(chit.getId())),
+          write(archivedChit, runId), FindAndReplaceOptions.options().upsert());
+    }
+    archiveOperations.execute();
+
+    // One remove per chit, so a chit changed, deleted or claimed again since it was read is told
+    // apart exactly. Only this run's archive is dropped then: one written by a run that took over
+    // a stale claim and removed the chit is left alone. A changed chit is released and retried
+    // on the next run.
+    int archived = 0;
+    for (ArchivedChit archivedChit : contents) {
+      ChitDBModel chit = archivedChit.getChit();
+      DeleteResult deleteResult = mongoTemplate.remove(new Query(Criteria.where("id")
+          .is(chit.getId())
+          .and(CLAIM_RUN_ID).is(runId)
+          .and("version").is(chit.getVersion())
+          .and("balanceAmount").is(chit.getBalanceAmount())
+          .and("freeSlots").is(chit.getFreeSlots())), ChitDBModel.class);
+      if (deleteResult.getDeletedCount() == 0) {
+        mongoTemplate.remove(new Query(Criteria.where("id").is(chit.getId())
+            .and("runId").is(runId)), ChitArchive.class);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(chit.getId())
+                .and(CLAIM_RUN_ID).is(runId)),
+            new Update().unset(CLAIM_RUN_ID).unset(CLAIMED_AT), ChitDBModel.class);
+        continue;
+      }
+      purge(archivedChit);
+      freeSlotIndex.remove(chit.getId());
+      chitCache.invalidate(chit);
+      counterService.chitRemoved(chit);
+      chitEventStore.append(ChitEvent.archived(chit.getId()));
+      lifecycleScheduler.remove(chit.getId());
+      archivedChits.invalidate(chit.getChitname());
+      archived++;
+    }
+    return archived;
+  }
+
+  // Entries are deleted by the ids that were archived, so a payment posted while the batch ran
+  // stays in the ledger rather than being lost
+  private void purge(ArchivedChit archivedChit) {
+    long chitId = archivedChit.getChit().getId();
+    mongoTemplate.remove(new Query(Criteria.where("chitId").is(chitId)), Slot.class);
+    if (!archivedChit.getLedger().isEmpty()) {
+      mongoTemplate.remove(new Query(Criteria.where("id").in(archivedChit.getLedger().stream()
+          .map(LedgerEntry::getId)
+          .toList())), LedgerEntry.class);
+    }
+    if (!archivedChit.getBalances().isEmpty()) {
+      mongoTemplate.remove(new Query(Criteria.where("id").in(archivedChit.getBalances().stream()
+          .map(MemberBalance::getId)
+          .toList())), MemberBalance.class);
+    }
+    mongoTemplate.updateFirst(new Query(Criteria.where("id").is(chitId)),
+        new Update().set("purged", true), ChitArchive.class);
+  }
+
+  // Finishes archives whose chit was removed but whose purge did not run, e.g. after a crash
+  private int purgeInterrupted() {
+    int purged = 0;
+    for (ChitArchive chitArchive : mongoTemplate.find(
+        new Query(Criteria.where("purged").is(false)), ChitArchive.class)) {
+      if (mongoTemplate.exists(new Query(Criteria.where("id").is(chitArchive.getId())),
+          ChitDBModel.class)) {
+        continue;
+      }
+      ArchivedChit archivedChit = read(chitArchive);
+      purge(archivedChit);
+      freeSlotIndex.remove(chitArchive.getId());
+      chitCache.invalidate(archivedChit.getChit());
+      purged++;
+    }
+    return purged;
+  }
+
+  private ChitArchive write(ArchivedChit archivedChit, String runId) {
+    MongoConverter converter = mongoTemplate.getConverter();
+    Document payload = new Document("chit", toDocument(converter, archivedChit.getChit()))
+        .append("slots", archivedChit.getSlots().stream()
+            .map(slot -> toDocument(converter, slot)).toList())
+        .append("ledger", archivedChit.getLedger().stream()
+            .map(entry -> toDocument(converter, entry)).toList())
+        .append("balances", archivedChit.getBalances().stream()
+            .map(balance -> toDocument(converter, balance)).toList());
+    byte[] compressed = gzip(payload.toJson(PAYLOAD_JSON, PAYLOAD_CODEC));
+    ChitDBModel chit = archivedChit.getChit();
+    ChitArchive chitArchive = new ChitArchive();
+    chitArchive.setId(chit.getId());
+    chitArchive.setChitname(chit.getChitname());
+    chitArchive.setEndDate(chit.getEndDate());
+    chitArchive.setSlots(archivedChit.getSlots().size());
+    chitArchive.setLedgerEntries(archivedChit.getLedger().size());
+    chitArchive.setBalances(archivedChit.getBalances().size());
+    chitArchive.setArchivedAt(archivedChit.getArchivedAt());
+    chitArchive.setRunId(runId);
+    chitArchive.setPayloadBytes(compressed.length);
+    chitArchive.setPayload(compressed);
+    return chitArchive;
+  }
+
+  private ArchivedChit read(ChitArchive chitArchive) {
+    MongoConverter converter = mongoTemplate.getConverter();
+    Document payload = Document.parse(gunzip(chitArchive.getPayload()));
+    ArchivedChit archivedChit = new ArchivedChit();
+    archivedChit.setChit(converter.read(ChitDBModel.class, payload.get("chit", Document.class)));
+    archivedChit.setArchivedAt(chitArchive.getArchivedAt());
+    archivedChit.setSlots(payload.getList("slots", Document.class).stream()
+        .map(slot -> converter.read(Slot.class, slot)).toList());
+    archivedChit.setLedger(payload.getList("ledger", Document.class).stream()
+        .map(entry -> converter.read(LedgerEntry.class, entry)).toList());
+    archivedChit.setBalances(payload.getList("balances", Document.class).stream()
+        .map(balance -> converter.read(MemberBalance.class, balance)).toList());
+    return archivedChit;
+  }
+
+  private Document toDocument(MongoConverter converter, Object entity) {
+    Document document = new Document();
+    converter.write(entity, document);
+    return document;
+  }
+
+  private byte[] gzip(String json) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new ChitApiException(ArchiveEnum.ARCHIVE_WRITE_FAILED.getEnumArchiveConstant(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private String gunzip(byte[] compressed) {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      log.error("Failed to decompress an archived chit", e);
+      throw new ChitApiException(ArchiveEnum.ARCHIVE_READ_FAILED.getEnumArchiveConstant(), e);
+    }
+  }
+}
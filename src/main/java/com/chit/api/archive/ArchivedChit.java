@@ -0,0 +1,21 @@
+package com.chit.api.archive;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.ledger.LedgerEntry;
+import com.chit.api.ledger.MemberBalance;
+import java.time.Instant;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ArchivedChit {
+
+  private ChitDBModel chit;
+  private Instant archivedAt;
+  private List<Slot> slots;
+  private List<LedgerEntry> ledger;
+  private List<MemberBalance> balances;
+}
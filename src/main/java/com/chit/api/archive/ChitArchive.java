@@ -0,0 +1,33 @@
+package com.chit.api.archive;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Tombstone of a chit that left the hot collections, with the chit, its slots, its ledger
+// entries and its member balances as one gzip-compressed extended JSON payload
+@Getter
+@Setter
+@Document("chit_archive")
+public class ChitArchive {
+
+  @Id
+  private Long id;
+  @Indexed(unique = true)
+  private String chitname;
+  private LocalDate endDate;
+  private int slots;
+  private int ledgerEntries;
+  private int balances;
+  private Instant archivedAt;
+  // the archive run that wrote it; a run only ever drops its own archives
+  private String runId;
+  // false until the slots, ledger entries and balances are deleted from the hot collections
+  private boolean purged;
+  private int payloadBytes;
+  private byte[] payload;
+}
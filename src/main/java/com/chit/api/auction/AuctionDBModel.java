@@ -0,0 +1,47 @@
+package com.chit.api.auction;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Document("auction")
+@CompoundIndex(name = "chitname_period", def = "{'chitname': 1, 'period': -1}")
+public class AuctionDBModel {
+
+  public static final String OPEN = "OPEN";
+  public static final String CLOSED = "CLOSED";
+
+  // chitId:period, so a chit can hold only one auction per month
+  @Id
+  private String id;
+  private Long chitId;
+  private String chitname;
+  private String period;
+  @Indexed
+  private String status;
+  private Instant openedAt;
+  private Instant closesAt;
+  private Instant closedAt;
+  private Money discountCap;
+  private long bidCount;
+  private String leaderUserNumber;
+  private Integer leaderSlot;
+  private Money leaderDiscount;
+  // the leader's place in bid order, so a resumed book still ranks ties by time
+  private Long leaderSequence;
+  private Instant leaderPlacedAt;
+  private String winnerUserNumber;
+  private Integer winnerSlot;
+  private Money winningDiscount;
+
+  public static String auctionKey(long chitId, String period) {
+    return chitId + ":" + period;
+  }
+}
@@ -0,0 +1,106 @@
+package com.chit.api.auction;
+
+import com.chit.api.config.AuctionConfig;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// A fixed set of single-threaded event loops. Every chit is pinned to one loop by its id,
+// so all bids, the flush and the close of one auction run in order on one thread.
+@Component
+@Slf4j
+public class AuctionEngine {
+
+  private final ScheduledExecutorService[] loops;
+  private final ExecutorService persistence;
+  private final Map<String, OrderBook> openBooks = new ConcurrentHashMap<>();
+
+  public AuctionEngine(AuctionConfig auctionConfig) {
+    int loopCount = Math.max(1, auctionConfig.getEventLoops());
+    this.loops = new ScheduledExecutorService[loopCount];
+    for (int i = 0; i < loopCount; i++) {
+      String threadName = "auction-loop-" + i;
+      loops[i] = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable,
+          threadName));
+    }
+    // Mongo writes leave the loops, so a slow write never delays bids on other chits
+    this.persistence = Executors.newSingleThreadExecutor(runnable -> daemon(runnable,
+        "auction-persistence"));
+  }
+
+  public OrderBook openBook(String chitname) {
+    return openBooks.get(chitname);
+  }
+
+  // Returns false when the chit already has an open book
+  public boolean register(OrderBook orderBook) {
+    return openBooks.putIfAbsent(orderBook.getChitname(), orderBook) == null;
+  }
+
+  public void unregister(OrderBook orderBook) {
+    openBooks.remove(orderBook.getChitname(), orderBook);
+  }
+
+  // Runs the task on the chit's loop and waits for it; exceptions reach the caller unwrapped
+  public <T> T call(OrderBook orderBook, Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, loopFor(orderBook.getChitId())).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  public ScheduledFuture<?> schedule(OrderBook orderBook, Runnable task, Duration delay) {
+    return loopFor(orderBook.getChitId()).schedule(task, Math.max(0, delay.toMillis()),
+        TimeUnit.MILLISECONDS);
+  }
+
+  public ScheduledFuture<?> scheduleAtFixedRate(OrderBook orderBook, Runnable task,
+      long periodMs) {
+    return loopFor(orderBook.getChitId()).scheduleAtFixedRate(task, periodMs, periodMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  public CompletableFuture<Void> persist(Runnable write) {
+    return CompletableFuture.runAsync(write, persistence);
+  }
+
+  private ScheduledExecutorService loopFor(long chitId) {
+    return loops[(int) Math.floorMod(chitId, (long) loops.length)];
+  }
+
+  private Thread daemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (ScheduledExecutorService loop : loops) {
+      loop.shutdown();
+    }
+    persistence.shutdown();
+    try {
+      if (!persistence.awaitTermination(5, TimeUnit.SECONDS)) {
+        log.warn("Auction persistence did not finish pending writes before shutdown");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
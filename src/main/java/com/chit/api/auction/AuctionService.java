@@ -0,0 +1,401 @@
+package com.chit.api.auction;
+
+import com.chit.api.config.AuctionConfig;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.SubSlot;
+import com.chit.api.enums.AuctionEnum;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ConflictException;
+import com.chit.api.globalexceptions.ResourceExistsException;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.money.Money;
+import com.chit.api.request.model.AuctionRequest;
+import com.chit.api.request.model.BidRequest;
+import com.chit.api.response.model.BidResponse;
+import com.chit.api.service.SlotService;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class AuctionService {
+
+  @Autowired
+  private ChitRepo chitRepo;
+
+  @Autowired
+  private SlotService slotService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private AuctionEngine auctionEngine;
+
+  @Autowired
+  private AuctionConfig auctionConfig;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ChitEventStore chitEventStore;
+
+  public AuctionDBModel openAuction(AuctionRequest auctionRequest) {
+    log.info("Entered open auction service method...");
+    if (auctionRequest.getChitName() == null || auctionRequest.getChitName().isEmpty()) {
+      log.error("Chit name is empty");
+      throw new BadRequestException(ChitEnum.CHIT_NAME_REQUIRED.getEnumChitConstant());
+    }
+    String period = parsePeriod(auctionRequest.getPeriod());
+    int durationMinutes = auctionRequest.getDurationMinutes() != null
+        ? auctionRequest.getDurationMinutes() : auctionConfig.getDefaultDurationMinutes();
+    if (durationMinutes < 1 || durationMinutes > auctionConfig.getMaxDurationMinutes()) {
+      log.error("Invalid auction duration: {}", durationMinutes);
+      throw new BadRequestException(AuctionEnum.AUCTION_DURATION_INVALID.getEnumAuctionConstant());
+    }
+    ChitDBModel chitDBModel = chitRepo.findByChitname(auctionRequest.getChitName());
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", auctionRequest.getChitName());
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    if (auctionEngine.openBook(chitDBModel.getChitname()) != null) {
+      log.error("Auction already open for chit: {}", chitDBModel.getChitname());
+      throw new ResourceExistsException(AuctionEnum.AUCTION_EXISTS.getEnumAuctionConstant());
+    }
+    List<Slot> slots = slotService.getSlots(chitDBModel.getId());
+    Map<String, Integer> eligibleSlots = eligibleSlots(slots);
+    if (eligibleSlots.isEmpty()) {
+      log.error("No member can bid in chit: {}", chitDBModel.getChitname());
+      throw new BadRequestException(AuctionEnum.AUCTION_NO_BIDDERS.getEnumAuctionConstant());
+    }
+
+    Instant now = Instant.now();
+    AuctionDBModel auctionDBModel = new AuctionDBModel();
+    auctionDBModel.setId(AuctionDBModel.auctionKey(chitDBModel.getId(), period));
+    auctionDBModel.setChitId(chitDBModel.getId());
+    auctionDBModel.setChitname(chitDBModel.getChitname());
+    auctionDBModel.setPeriod(period);
+    auctionDBModel.setStatus(AuctionDBModel.OPEN);
+    auctionDBModel.setOpenedAt(now);
+    auctionDBModel.setClosesAt(now.plus(Duration.ofMinutes(durationMinutes)));
+    auctionDBModel.setDiscountCap(Money.ofPaise(
+        chitDBModel.getAmount().times(auctionConfig.getMaxDiscountPercent()).getPaise() / 100));
+    try {
+      mongoTemplate.insert(auctionDBModel);
+    } catch (DuplicateKeyException e) {
+      log.error("Auction for chit {} and period {} already exists", chitDBModel.getChitname(),
+          period);
+      throw new ResourceExistsException(AuctionEnum.AUCTION_EXISTS.getEnumAuctionConstant());
+    }
+    OrderBook orderBook = new OrderBook(chitDBModel.getId(), chitDBModel.getChitname(), period,
+        auctionDBModel.getClosesAt(), auctionDBModel.getDiscountCap(), eligibleSlots,
+        splitHolders(slots));
+    if (!auctionEngine.register(orderBook)) {
+      mongoTemplate.remove(auctionDBModel);
+      throw new ResourceExistsException(AuctionEnum.AUCTION_EXISTS.getEnumAuctionConstant());
+    }
+    start(orderBook);
+    log.info("Opened auction {} closing at {}", auctionDBModel.getId(),
+        auctionDBModel.getClosesAt());
+    return auctionDBModel;
+  }
+
+  public BidResponse placeBid(BidRequest bidRequest) {
+    log.debug("Entered place bid service method...");
+    if (bidRequest.getChitName() == null || bidRequest.getUserNumber() == null
+        || bidRequest.getDiscount() == null) {
+      throw new BadRequestException(AuctionEnum.AUCTION_DETAILS.getEnumAuctionConstant());
+    }
+    OrderBook orderBook = auctionEngine.openBook(bidRequest.getChitName());
+    if (orderBook == null) {
+      bids("rejected").increment();
+      throw new ResourceNotFoundException(AuctionEnum.AUCTION_NOT_OPEN.getEnumAuctionConstant());
+    }
+    try {
+      PlacedBid placedBid = auctionEngine.call(orderBook, () -> {
+        Instant now = Instant.now();
+        OrderBook.Bid bid = orderBook.place(bidRequest.getUserNumber(),
+            bidRequest.getDiscount(), now);
+        BidResponse response = new BidResponse();
+        response.setLeading(orderBook.getLeader() == bid);
+        response.setLeadingDiscount(orderBook.getLeader().discount());
+        response.setBidCount(orderBook.getBidCount());
+        response.setMessage(AuctionEnum.AUCTION_BID_ACCEPTED.getEnumAuctionConstant());
+        boolean nearClose = Duration.between(now, orderBook.getClosesAt()).toMillis()
+            < auctionConfig.getSyncFlushWindowMs();
+        return new PlacedBid(response, response.isLeading() && nearClose ? bid : null,
+            orderBook.getBidCount());
+      });
+      if (placedBid.syncLeader() != null) {
+        // near the close a lost leader could not be bid back, so it is stored before the reply
+        flushLeaderNow(orderBook, placedBid.syncLeader(), placedBid.bidCount());
+      }
+      bids("accepted").increment();
+      return placedBid.response();
+    } catch (BadRequestException | ConflictException e) {
+      bids("rejected").increment();
+      throw e;
+    }
+  }
+
+  public AuctionDBModel closeAuction(String chitname) {
+    log.info("Entered close auction service method...");
+    OrderBook orderBook = auctionEngine.openBook(chitname);
+    if (orderBook == null) {
+      log.error("No open auction for chit: {}", chitname);
+      throw new ResourceNotFoundException(AuctionEnum.AUCTION_NOT_OPEN.getEnumAuctionConstant());
+    }
+    OrderBook.Bid winner = auctionEngine.call(orderBook, () -> {
+      if (orderBook.isClosed()) {
+        throw new ConflictException(AuctionEnum.AUCTION_CLOSED.getEnumAuctionConstant());
+      }
+      return closeOnLoop(orderBook);
+    });
+    return recordClose(orderBook, winner);
+  }
+
+  public AuctionDBModel getAuction(String chitname) {
+    log.info("Entered get auction service method...");
+    OrderBook orderBook = auctionEngine.openBook(chitname);
+    if (orderBook != null) {
+      return auctionEngine.call(orderBook, () -> snapshot(orderBook));
+    }
+    AuctionDBModel auctionDBModel = mongoTemplate.findOne(
+        new Query(Criteria.where("chitname").is(chitname))
+            .with(Sort.by(Sort.Direction.DESC, "period")),
+        AuctionDBModel.class);
+    if (auctionDBModel == null) {
+      log.error("No auction found for chit: {}", chitname);
+      throw new ResourceNotFoundException(AuctionEnum.AUCTION_NOT_FOUND.getEnumAuctionConstant());
+    }
+    return auctionDBModel;
+  }
+
+  // Auctions left open by a restart resume with the leader last flushed to Mongo, keeping its
+  // sequence and time so an equal bid after the restart still ranks behind it; the ones whose
+  // window passed while the node was down close straight away
+  @Order(4)
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeOpenAuctions() {
+    log.info("Entered resume open auctions method...");
+    mongoTemplate.find(new Query(Criteria.where("status").is(AuctionDBModel.OPEN)),
+        AuctionDBModel.class).forEach(auctionDBModel -> {
+          List<Slot> slots = slotService.getSlots(auctionDBModel.getChitId());
+          OrderBook orderBook = new OrderBook(auctionDBModel.getChitId(),
+              auctionDBModel.getChitname(), auctionDBModel.getPeriod(),
+              auctionDBModel.getClosesAt(), auctionDBModel.getDiscountCap(),
+              eligibleSlots(slots), splitHolders(slots));
+          if (auctionDBModel.getLeaderUserNumber() != null) {
+            // a leader flushed without its sequence and time ranks as the first bid
+            orderBook.restore(new OrderBook.Bid(auctionDBModel.getLeaderUserNumber(),
+                auctionDBModel.getLeaderSlot(), auctionDBModel.getLeaderDiscount(),
+                Optional.ofNullable(auctionDBModel.getLeaderSequence()).orElse(0L),
+                Optional.ofNullable(auctionDBModel.getLeaderPlacedAt())
+                    .orElse(auctionDBModel.getOpenedAt())),
+                auctionDBModel.getBidCount());
+          }
+          if (auctionEngine.register(orderBook)) {
+            start(orderBook);
+            log.info("Resumed auction {}", auctionDBModel.getId());
+          }
+        });
+  }
+
+  private void start(OrderBook orderBook) {
+    auctionEngine.call(orderBook, () -> {
+      orderBook.schedule(
+          auctionEngine.schedule(orderBook, () -> closeScheduled(orderBook),
+              Duration.between(Instant.now(), orderBook.getClosesAt())),
+          auctionEngine.scheduleAtFixedRate(orderBook, () -> flushLeader(orderBook),
+              auctionConfig.getLeaderFlushMs()));
+      return null;
+    });
+  }
+
+  // Runs on the chit's loop when the time box ends
+  private void closeScheduled(OrderBook orderBook) {
+    if (orderBook.isClosed()) {
+      return;
+    }
+    OrderBook.Bid winner = closeOnLoop(orderBook);
+    auctionEngine.persist(() -> recordClose(orderBook, winner))
+        .exceptionally(e -> {
+          log.error("Failed to record close of auction for chit {}", orderBook.getChitname(), e);
+          return null;
+        });
+  }
+
+  private OrderBook.Bid closeOnLoop(OrderBook orderBook) {
+    OrderBook.Bid winner = orderBook.close();
+    auctionEngine.unregister(orderBook);
+    return winner;
+  }
+
+  // Coalesces leader changes into at most one write per flush interval. A crash loses the
+  // leader changes since the last flush, so until sync-flush-window-ms before the close a bid can
+  // be lost for up to leader-flush-ms; inside that window placeBid stores the leader itself.
+  private void flushLeader(OrderBook orderBook) {
+    if (orderBook.isClosed() || !orderBook.takeLeaderDirty()) {
+      return;
+    }
+    OrderBook.Bid leader = orderBook.getLeader();
+    long bidCount = orderBook.getBidCount();
+    auctionEngine.persist(() -> writeLeader(orderBook, leader, bidCount));
+  }
+
+  private void flushLeaderNow(OrderBook orderBook, OrderBook.Bid leader, long bidCount) {
+    try {
+      writeLeader(orderBook, leader, bidCount);
+    } catch (RuntimeException e) {
+      // the bid stands in the book and the periodic flush writes it
+      log.error("Failed to store the leader of auction for chit {}", orderBook.getChitname(), e);
+    }
+  }
+
+  // Guarded on the stored leader being older, so a periodic flush and a synchronous one landing
+  // out of order never put an earlier leader back
+  private UpdateResult writeLeader(OrderBook orderBook, OrderBook.Bid leader, long bidCount) {
+    Query query = openAuction(orderBook).addCriteria(new Criteria().orOperator(
+        Criteria.where("leaderSequence").exists(false),
+        Criteria.where("leaderSequence").lt(leader.sequence())));
+    return mongoTemplate.updateFirst(query,
+        new Update()
+            .set("leaderUserNumber", leader.userNumber())
+            .set("leaderSlot", leader.slotId())
+            .set("leaderDiscount", leader.discount())
+            .set("leaderSequence", leader.sequence())
+            .set("leaderPlacedAt", leader.placedAt())
+            .set("bidCount", bidCount),
+        AuctionDBModel.class);
+  }
+
+  private AuctionDBModel recordClose(OrderBook orderBook, OrderBook.Bid winner) {
+    Update update = new Update()
+        .set("status", AuctionDBModel.CLOSED)
+        .set("closedAt", Instant.now())
+        .set("bidCount", orderBook.getBidCount());
+    if (winner != null) {
+      update.set("leaderUserNumber", winner.userNumber())
+          .set("leaderSlot", winner.slotId())
+          .set("leaderDiscount", winner.discount())
+          .set("winnerUserNumber", winner.userNumber())
+          .set("winnerSlot", winner.slotId())
+          .set("winningDiscount", winner.discount());
+    }
+    mongoTemplate.updateFirst(openAuction(orderBook), update, AuctionDBModel.class);
+    if (winner != null) {
+      UpdateResult updateResult = mongoTemplate.updateFirst(
+          new Query(Criteria.where("id").is(Slot.slotKey(orderBook.getChitId(), winner.slotId()))
+              .and("prized").ne(true)),
+          new Update().set("prized", true).set("prizedPeriod", orderBook.getPeriod()),
+          Slot.class);
+      if (updateResult.getMatchedCount() == 0) {
+        log.error("Winning slot {} of chit {} was already prized", winner.slotId(),
+            orderBook.getChitname());
+      } else {
+        chitEventStore.append(ChitEvent.auctionWon(orderBook.getChitId(), orderBook.getPeriod(),
+            winner.slotId(), winner.userNumber(), winner.discount()));
+      }
+    }
+    log.info("Closed auction for chit {} period {} with winner {}", orderBook.getChitname(),
+        orderBook.getPeriod(), winner != null ? winner.userNumber() : "none");
+    return mongoTemplate.findById(
+        AuctionDBModel.auctionKey(orderBook.getChitId(), orderBook.getPeriod()),
+        AuctionDBModel.class);
+  }
+
+  private Query openAuction(OrderBook orderBook) {
+    return new Query(Criteria
+        .where("id").is(AuctionDBModel.auctionKey(orderBook.getChitId(), orderBook.getPeriod()))
+        .and("status").is(AuctionDBModel.OPEN));
+  }
+
+  private AuctionDBModel snapshot(OrderBook orderBook) {
+    AuctionDBModel auctionDBModel = new AuctionDBModel();
+    auctionDBModel.setId(AuctionDBModel.auctionKey(orderBook.getChitId(), orderBook.getPeriod()));
+    auctionDBModel.setChitId(orderBook.getChitId());
+    auctionDBModel.setChitname(orderBook.getChitname());
+    auctionDBModel.setPeriod(orderBook.getPeriod());
+    auctionDBModel.setStatus(AuctionDBModel.OPEN);
+    auctionDBModel.setClosesAt(orderBook.getClosesAt());
+    auctionDBModel.setDiscountCap(orderBook.getDiscountCap());
+    auctionDBModel.setBidCount(orderBook.getBidCount());
+    OrderBook.Bid leader = orderBook.getLeader();
+    if (leader != null) {
+      auctionDBModel.setLeaderUserNumber(leader.userNumber());
+      auctionDBModel.setLeaderSlot(leader.slotId());
+      auctionDBModel.setLeaderDiscount(leader.discount());
+    }
+    return auctionDBModel;
+  }
+
+  // Each member bids for the lowest numbered slot they hold that has not taken a pot yet
+  private Map<String, Integer> eligibleSlots(List<Slot> slots) {
+    return slots.stream()
+        .filter(slot -> slot.getUser() != null)
+        .filter(slot -> !Boolean.TRUE.equals(slot.getSplit()))
+        .filter(slot -> !Boolean.TRUE.equals(slot.getPrized()))
+        .collect(Collectors.toMap(Slot::getUser, Slot::getSlotId, Math::min));
+  }
+
+  private Set<String> splitHolders(List<Slot> slots) {
+    return slots.stream()
+        .filter(slot -> Boolean.TRUE.equals(slot.getSplit()))
+        .filter(slot -> !Boolean.TRUE.equals(slot.getPrized()))
+        .flatMap(slot -> Stream.concat(Stream.ofNullable(slot.getUser()),
+            Optional.ofNullable(slot.getSubSlots()).orElse(List.of()).stream()
+                .map(SubSlot::getUserNumber)))
+        .collect(Collectors.toSet());
+  }
+
+  private record PlacedBid(BidResponse response, OrderBook.Bid syncLeader, long bidCount) {
+
+  }
+
+  private String parsePeriod(String period) {
+    if (period == null || period.isEmpty()) {
+      return YearMonth.now().toString();
+    }
+    try {
+      return YearMonth.parse(period).toString();
+    } catch (DateTimeParseException e) {
+      log.error("Invalid auction period: {}", period);
+      throw new BadRequestException(AuctionEnum.AUCTION_PERIOD_INVALID.getEnumAuctionConstant());
+    }
+  }
+
+  private Counter bids(String result) {
+    return Counter.builder("auction.bids")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,138 @@
+package com.chit.api.auction;
+
+import com.chit.api.enums.AuctionEnum;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ConflictException;
+import com.chit.api.money.Money;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+// The book of one open auction. It is only ever touched from the event loop its chit is
+// pinned to, so none of its state needs locking.
+public class OrderBook {
+
+  private final long chitId;
+  private final String chitname;
+  private final String period;
+  private final Instant closesAt;
+  private final Money discountCap;
+  // member number -> the slot that would take the pot if that member wins
+  private final Map<String, Integer> eligibleSlots;
+  // members who only hold shares of split slots; a split slot's pot belongs to all its sub-slot
+  // holders, so none of them can take it alone and they are refused with their own error
+  private final Set<String> splitHolders;
+
+  private Bid leader;
+  private long bidCount;
+  private long sequence;
+  private boolean closed;
+  private boolean leaderDirty;
+  private ScheduledFuture<?> closeTask;
+  private ScheduledFuture<?> flushTask;
+
+  public OrderBook(long chitId, String chitname, String period, Instant closesAt,
+      Money discountCap, Map<String, Integer> eligibleSlots, Set<String> splitHolders) {
+    this.chitId = chitId;
+    this.chitname = chitname;
+    this.period = period;
+    this.closesAt = closesAt;
+    this.discountCap = discountCap;
+    this.eligibleSlots = eligibleSlots;
+    this.splitHolders = splitHolders;
+  }
+
+  // Highest discount leads; an equal discount never displaces an earlier bid
+  public Bid place(String userNumber, Money discount, Instant now) {
+    if (closed || !now.isBefore(closesAt)) {
+      throw new ConflictException(AuctionEnum.AUCTION_CLOSED.getEnumAuctionConstant());
+    }
+    Integer slotId = eligibleSlots.get(userNumber);
+    if (slotId == null && splitHolders.contains(userNumber)) {
+      throw new BadRequestException(AuctionEnum.AUCTION_SPLIT_HOLDER.getEnumAuctionConstant());
+    }
+    if (slotId == null) {
+      throw new BadRequestException(AuctionEnum.AUCTION_BIDDER_INVALID.getEnumAuctionConstant());
+    }
+    if (discount == null || !discount.isPositive() || discount.compareTo(discountCap) > 0) {
+      throw new BadRequestException(AuctionEnum.AUCTION_DISCOUNT_INVALID.getEnumAuctionConstant());
+    }
+    Bid bid = new Bid(userNumber, slotId, discount, ++sequence, now);
+    bidCount++;
+    if (leader == null || discount.compareTo(leader.discount()) > 0) {
+      leader = bid;
+      leaderDirty = true;
+    }
+    return bid;
+  }
+
+  // Seeds the book from the leader last flushed to Mongo after a restart
+  public void restore(Bid restoredLeader, long restoredBidCount) {
+    leader = restoredLeader;
+    bidCount = restoredBidCount;
+    sequence = restoredBidCount;
+  }
+
+  public Bid close() {
+    closed = true;
+    cancel(closeTask);
+    cancel(flushTask);
+    return leader;
+  }
+
+  // True once per change of leader, so the periodic flush only writes when needed
+  public boolean takeLeaderDirty() {
+    boolean dirty = leaderDirty;
+    leaderDirty = false;
+    return dirty;
+  }
+
+  public void schedule(ScheduledFuture<?> closeTask, ScheduledFuture<?> flushTask) {
+    this.closeTask = closeTask;
+    this.flushTask = flushTask;
+  }
+
+  private void cancel(ScheduledFuture<?> task) {
+    if (task != null) {
+      task.cancel(false);
+    }
+  }
+
+  public long getChitId() {
+    return chitId;
+  }
+
+  public String getChitname() {
+    return chitname;
+  }
+
+  public String getPeriod() {
+    return period;
+  }
+
+  public Instant getClosesAt() {
+    return closesAt;
+  }
+
+  public Money getDiscountCap() {
+    return discountCap;
+  }
+
+  public Bid getLeader() {
+    return leader;
+  }
+
+  public long getBidCount() {
+    return bidCount;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  public record Bid(String userNumber, int slotId, Money discount, long sequence,
+                    Instant placedAt) {
+
+  }
+}
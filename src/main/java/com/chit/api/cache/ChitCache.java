@@ -0,0 +1,107 @@
+package com.chit.api.cache;
+
+import com.chit.api.config.ChitCacheConfig;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+// Read-through cache of chits by id, with a name -> id index in front of it. Both are bounded
+// W-TinyLFU caches; chits are weighed by their approximate heap size. Cached chits are shared,
+// so callers must not modify them.
+//
+// Every write path invalidates the id after writing Mongo. Caffeine makes an invalidation wait
+// for a load of the same key that is in flight, so a load that read the chit before the write
+// cannot be stored after the invalidation, and a booking is never followed by a stale balance
+// on this instance. Writes on other instances are seen after expire-after-write-ms.
+@Component
+@Slf4j
+public class ChitCache {
+
+  // object headers, boxed fields, Money and LocalDate instances of one ChitDBModel
+  private static final int CHIT_BASE_BYTES = 320;
+
+  private final ChitRepo chitRepo;
+  private final MongoTemplate mongoTemplate;
+  private final Cache<Long, ChitDBModel> chitsById;
+  private final Cache<String, Long> idsByName;
+
+  public ChitCache(ChitRepo chitRepo, MongoTemplate mongoTemplate,
+      ChitCacheConfig chitCacheConfig, MeterRegistry meterRegistry) {
+    this.chitRepo = chitRepo;
+    this.mongoTemplate = mongoTemplate;
+    Duration expireAfterWrite = Duration.ofMillis(chitCacheConfig.getExpireAfterWriteMs());
+    this.chitsById = Caffeine.newBuilder()
+        .maximumWeight(chitCacheConfig.getMaxWeightBytes())
+        .weigher((Long id, ChitDBModel chit) -> weigh(chit))
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    this.idsByName = Caffeine.newBuilder()
+        .maximumSize(chitCacheConfig.getMaxNames())
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, chitsById, "chit.byId");
+    CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "chit.byName");
+  }
+
+  public ChitDBModel findById(long chitId) {
+    return chitsById.get(chitId, id -> chitRepo.findById(id).orElse(null));
+  }
+
+  // A name miss resolves only the id, from the chitname index; the chit itself is always loaded
+  // through the id cache so it cannot bypass an invalidation. Absent names are not cached.
+  public ChitDBModel findByChitname(String chitname) {
+    Long chitId = idsByName.getIfPresent(chitname);
+    if (chitId != null) {
+      ChitDBModel chitDBModel = findById(chitId);
+      if (chitDBModel != null && chitname.equals(chitDBModel.getChitname())) {
+        return chitDBModel;
+      }
+      // deleted, or the name was reused by a new chit
+      idsByName.invalidate(chitname);
+    }
+    Query idQuery = new Query(Criteria.where("chitname").is(chitname));
+    idQuery.fields().include("id");
+    ChitDBModel chitIdOnly = mongoTemplate.findOne(idQuery, ChitDBModel.class);
+    if (chitIdOnly == null) {
+      return null;
+    }
+    idsByName.put(chitname, chitIdOnly.getId());
+    return findById(chitIdOnly.getId());
+  }
+
+  public void invalidate(long chitId) {
+    chitsById.invalidate(chitId);
+  }
+
+  public void invalidateAll(Collection<Long> chitIds) {
+    chitsById.invalidateAll(chitIds);
+  }
+
+  public void invalidate(ChitDBModel chitDBModel) {
+    chitsById.invalidate(chitDBModel.getId());
+    idsByName.invalidate(chitDBModel.getChitname());
+  }
+
+  public void clear() {
+    chitsById.invalidateAll();
+    idsByName.invalidateAll();
+    log.info("Cleared the chit cache");
+  }
+
+  private static int weigh(ChitDBModel chit) {
+    int nameBytes = chit.getChitname() != null ? 40 + 2 * chit.getChitname().length() : 0;
+    return CHIT_BASE_BYTES + nameBytes;
+  }
+}
@@ -0,0 +1,21 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.archive")
+public class ArchiveConfig {
+
+  // days after a chit's endDate before it leaves the hot collections
+  private int afterDays = 30;
+  private int batchSize = 100;
+  private long intervalMs = 86400000;
+  private int cachedChits = 100;
+  // a chit claimed by a run that has not finished it within this long may be claimed again
+  private long claimStaleAfterMs = 3600000;
+}
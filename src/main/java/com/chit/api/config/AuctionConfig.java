@@ -0,0 +1,21 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.auction")
+public class AuctionConfig {
+
+  private int eventLoops = Runtime.getRuntime().availableProcessors();
+  private int maxDiscountPercent = 30;
+  private int defaultDurationMinutes = 5;
+  private int maxDurationMinutes = 60;
+  private long leaderFlushMs = 1000;
+  // a new leader this close to the end is stored before the bid is acknowledged
+  private long syncFlushWindowMs = 10000;
+}
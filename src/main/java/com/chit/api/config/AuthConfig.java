@@ -0,0 +1,19 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.auth")
+public class AuthConfig {
+
+  // build the principal from the token's claims instead of loading the user on every request
+  private boolean stateless = true;
+  private long revocationRefreshMs = 5000;
+  // verified tokens remembered until they expire, so repeat requests skip the signature check
+  private long verifiedTokenCacheSize = 10000;
+}
@@ -1,10 +1,10 @@
 package com.chit.api.config;
 
+import com.chit.api.jwtsecurity.AdaptivePasswordEncoder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +20,8 @@ public class BeanConfig {
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
+  public PasswordEncoder passwordEncoder(PasswordConfig passwordConfig) {
     log.info("Entered Password Encoder method...");
-    return new BCryptPasswordEncoder();
+    return AdaptivePasswordEncoder.calibrated(passwordConfig);
   }
 }
@@ -0,0 +1,18 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.cache")
+public class ChitCacheConfig {
+
+  private long maxWeightBytes = 8 * 1024 * 1024;
+  private int maxNames = 50000;
+  // bounds how long another instance's booking can go unseen here
+  private long expireAfterWriteMs = 30000;
+}
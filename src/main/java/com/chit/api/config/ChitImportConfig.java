@@ -0,0 +1,16 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.import")
+public class ChitImportConfig {
+
+  private int batchSize = 1000;
+  private int maxErrors = 1000;
+}
@@ -0,0 +1,16 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.query")
+public class ChitQueryConfig {
+
+  private int defaultPageSize = 100;
+  private int maxPageSize = 1000;
+}
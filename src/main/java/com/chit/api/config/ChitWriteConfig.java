@@ -0,0 +1,26 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.write")
+public class ChitWriteConfig {
+
+  private int maxAttempts = 5;
+  private long initialBackoffMs = 5;
+  private long maxBackoffMs = 200;
+  private double backoffMultiplier = 2.0;
+  private int maxTrackedChits = 1000;
+  private int maxBatchLinks = 500;
+  // amount / installment may not exceed this, so one chit cannot ask for millions of slots
+  private int maxSlots = 10000;
+  private int slotInsertBatchSize = 1000;
+  // a booking stamp older than this belongs to a booking that was cut off between its writes
+  private long pendingLinkStaleMs = 60000;
+  private long reconcileIntervalMs = 60000;
+}
@@ -0,0 +1,18 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.counter")
+public class CounterConfig {
+
+  private long cacheTtlMs = 2000;
+  private boolean rebuildOnStartup = true;
+  // documents the counter $inc writes are spread over
+  private int stripes = 8;
+}
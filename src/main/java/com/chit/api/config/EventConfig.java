@@ -0,0 +1,18 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.event")
+public class EventConfig {
+
+  private int snapshotEvery = 100;
+  private long snapshotIntervalMs = 60000;
+  private int replayParallelism = Runtime.getRuntime().availableProcessors();
+  private int maxReportedMismatches = 100;
+}
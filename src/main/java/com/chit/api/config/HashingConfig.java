@@ -0,0 +1,20 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.hashing")
+public class HashingConfig {
+
+  // 0 runs one hashing thread per core
+  private int threads = 0;
+  // hashes waiting for a thread; beyond this a request is refused with 503 at once
+  private int queueCapacity = 64;
+  // longest a request waits for its hash before it is refused with 503
+  private long waitMs = 5000;
+}
@@ -0,0 +1,16 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.ledger")
+public class LedgerConfig {
+
+  private int maxBatchEntries = 1000;
+  private int maxStatementEntries = 1000;
+}
@@ -0,0 +1,21 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.lifecycle")
+public class LifecycleConfig {
+
+  private long tickMs = 1000;
+  private int wheelLevels = 4;
+  // deadlines due within this window are held in the wheel
+  private long horizonMs = 86400000;
+  private long reloadMs = 900000;
+  private int firingThreads = 4;
+  private String zone = "Asia/Kolkata";
+}
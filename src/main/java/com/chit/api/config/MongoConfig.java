@@ -1,6 +1,8 @@
 package com.chit.api.config;
 
+import com.chit.api.date.DateConverters;
 import com.chit.api.globalexceptions.ChitApiException;
+import com.chit.api.money.MoneyConverters;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.MongoCredential;
@@ -12,6 +14,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -20,6 +26,7 @@ import java.io.FileInputStream;
 import java.security.KeyStore;
 import java.security.cert.CertificateFactory;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Configuration
 public class MongoConfig {
@@ -95,8 +102,29 @@ public class MongoConfig {
     }
 
     @Bean
-    public MongoTemplate mongoTemplate() throws Exception {
+    public MongoCustomConversions mongoCustomConversions() {
+        // the driver's java.time codecs keep LocalDate at UTC midnight whatever the server zone
+        return MongoCustomConversions.create(adapter -> adapter
+                .useNativeDriverJavaTimeCodecs()
+                .registerConverters(Stream.concat(MoneyConverters.all().stream(),
+                        DateConverters.all().stream()).toList()));
+    }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoCustomConversions mongoCustomConversions) throws Exception {
         // Create SimpleMongoClientDatabaseFactory by providing the MongoClient and database name
-        return new MongoTemplate(new SimpleMongoClientDatabaseFactory(mongoClient(), mongoDatabase));
+        SimpleMongoClientDatabaseFactory databaseFactory =
+                new SimpleMongoClientDatabaseFactory(mongoClient(), mongoDatabase);
+
+        // Register the custom conversions (e.g. Money <-> Int64 paise) on the template's converter
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(mongoCustomConversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter =
+                new MappingMongoConverter(new DefaultDbRefResolver(databaseFactory), mappingContext);
+        converter.setCustomConversions(mongoCustomConversions);
+        converter.afterPropertiesSet();
+        return new MongoTemplate(databaseFactory, converter);
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.password")
+public class PasswordConfig {
+
+  // bcrypt, or argon2 for the memory-hard argon2id
+  private String algorithm = "bcrypt";
+  // pick the cost at startup so one hash takes about target-ms on this hardware
+  private boolean calibrate = true;
+  private long targetMs = 250;
+  // used as is when calibrate is off, and as the bounds of the calibrated cost
+  private int bcryptStrength = 10;
+  private int minBcryptStrength = 10;
+  private int maxBcryptStrength = 16;
+  private int argon2MemoryKb = 19456;
+  private int argon2Parallelism = 1;
+  private int argon2Iterations = 2;
+  private int minArgon2Iterations = 2;
+  private int maxArgon2Iterations = 10;
+}
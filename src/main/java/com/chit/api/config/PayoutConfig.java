@@ -0,0 +1,18 @@
+package com.chit.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.payout")
+public class PayoutConfig {
+
+  private int commissionPercent = 5;
+  private int batchSize = 500;
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private long staleAfterMs = 300000;
+}
@@ -0,0 +1,33 @@
+package com.chit.api.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "chit.rate-limit")
+public class RateLimitConfig {
+
+  private boolean enabled = true;
+  // buckets kept per endpoint and key type; the least used are dropped beyond it
+  private long maxKeys = 100000;
+  // by endpoint: login, update-password
+  private Map<String, Policy> policies = new HashMap<>();
+
+  // A bucket of capacity attempts refilled at per-minute, one for each user number and one for
+  // each client address
+  @Getter
+  @Setter
+  public static class Policy {
+
+    private int numberCapacity = 5;
+    private int numberPerMinute = 5;
+    private int clientCapacity = 20;
+    private int clientPerMinute = 30;
+  }
+}
@@ -17,6 +17,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Slf4j
 public class SecurityConfig {
 
+  // also skipped by JwtRequestFilter, so requests to these never parse a token
+  public static final String[] PUBLIC_PATHS = {"/user/login", "/user/addUser",
+      "/actuator/health", "/email/sendEmail", "/swagger-ui/**", "/v3/api-docs/**", "/file/**"};
+
   private final JwtRequestFilter jwtRequestFilter;
 
   public SecurityConfig(JwtRequestFilter jwtRequestFilter) {
@@ -28,8 +32,7 @@ public class SecurityConfig {
     log.info("Entered security filter chain method...");
     http.csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(authz -> authz
-            .requestMatchers("/user/login", "/user/addUser", "/actuator/health","/email/sendEmail", "/swagger-ui/**",
-                "/v3/api-docs/**", "/file/**").permitAll()
+            .requestMatchers(PUBLIC_PATHS).permitAll()
             .anyRequest().authenticated())
         .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,65 @@
+package com.chit.api.controller;
+
+import com.chit.api.archive.ArchiveService;
+import com.chit.api.archive.ArchivedChit;
+import com.chit.api.enums.ArchiveEnum;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.response.model.ArchiveResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/archive")
+@Slf4j
+public class ArchiveController {
+
+  @Autowired
+  private ArchiveService archiveService;
+
+  @Operation(
+      summary = "Archive closed chits",
+      description = "moving chits past their end date with their slots and ledger to the archive",
+      tags = {"Archive API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Archival run finished")
+      }
+  )
+  @PostMapping(path = "/run", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> archiveClosedChits() {
+    log.info("Entered archive closed chits controller method...");
+    ArchiveResponse archiveResponse = archiveService.archiveClosedChits();
+    return new ResponseEntity<>(archiveResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get archived chit",
+      description = "fetching an archived chit with its slots, ledger entries and balances",
+      tags = {"Archive API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Archived chit found"),
+          @ApiResponse(responseCode = "404", description = "Chit not archived")
+      }
+  )
+  @GetMapping(path = "/get/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getArchivedChit(@PathVariable String chitName) {
+    log.info("Entered get archived chit controller method...");
+    ArchivedChit archivedChit = archiveService.findArchived(chitName);
+    if (archivedChit == null) {
+      log.error("No archived chit with name: {}", chitName);
+      throw new ResourceNotFoundException(ArchiveEnum.ARCHIVE_NOT_FOUND.getEnumArchiveConstant());
+    }
+    return new ResponseEntity<>(archivedChit, HttpStatus.OK);
+  }
+}
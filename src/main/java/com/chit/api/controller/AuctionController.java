@@ -0,0 +1,100 @@
+package com.chit.api.controller;
+
+import com.chit.api.auction.AuctionDBModel;
+import com.chit.api.auction.AuctionService;
+import com.chit.api.request.model.AuctionRequest;
+import com.chit.api.request.model.BidRequest;
+import com.chit.api.response.model.BidResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/auction")
+@Slf4j
+public class AuctionController {
+
+  @Autowired
+  private AuctionService auctionService;
+
+  @Operation(
+      summary = "Open an auction",
+      description = "opening the monthly auction of a chit",
+      tags = {"Auction API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Auction opened"),
+          @ApiResponse(responseCode = "400", description = "Invalid period, duration or no bidders"),
+          @ApiResponse(responseCode = "404", description = "Chit not found"),
+          @ApiResponse(responseCode = "409", description = "Auction already exists")
+      }
+  )
+  @PostMapping(path = "/open", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> openAuction(@RequestBody AuctionRequest auctionRequest) {
+    log.info("Entered open auction controller method...");
+    AuctionDBModel auctionDBModel = auctionService.openAuction(auctionRequest);
+    return new ResponseEntity<>(auctionDBModel, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Place a bid",
+      description = "bidding a discount in the open auction of a chit",
+      tags = {"Auction API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Bid accepted"),
+          @ApiResponse(responseCode = "400", description = "Bidder or discount not allowed"),
+          @ApiResponse(responseCode = "404", description = "No open auction"),
+          @ApiResponse(responseCode = "409", description = "Auction closed")
+      }
+  )
+  @PostMapping(path = "/bid", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> placeBid(@RequestBody BidRequest bidRequest) {
+    log.debug("Entered place bid controller method...");
+    BidResponse bidResponse = auctionService.placeBid(bidRequest);
+    return new ResponseEntity<>(bidResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Close an auction",
+      description = "closing the open auction of a chit before its time box ends",
+      tags = {"Auction API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Auction closed"),
+          @ApiResponse(responseCode = "404", description = "No open auction"),
+          @ApiResponse(responseCode = "409", description = "Auction already closed")
+      }
+  )
+  @PostMapping(path = "/close/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> closeAuction(@PathVariable String chitName) {
+    log.info("Entered close auction controller method...");
+    AuctionDBModel auctionDBModel = auctionService.closeAuction(chitName);
+    return new ResponseEntity<>(auctionDBModel, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get an auction",
+      description = "fetching the open or latest auction of a chit",
+      tags = {"Auction API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Auction found"),
+          @ApiResponse(responseCode = "404", description = "No auction for the chit")
+      }
+  )
+  @GetMapping(path = "/get/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getAuction(@PathVariable String chitName) {
+    log.info("Entered get auction controller method...");
+    AuctionDBModel auctionDBModel = auctionService.getAuction(chitName);
+    return new ResponseEntity<>(auctionDBModel, HttpStatus.OK);
+  }
+}
@@ -1,28 +1,44 @@
 package com.chit.api.controller;
 
-import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
 import com.chit.api.enums.ChitEnum;
 import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.request.model.AllocateSlotRequest;
 import com.chit.api.request.model.ChitRequest;
+import com.chit.api.request.model.ChitSearchRequest;
 import com.chit.api.request.model.LinkUserRequest;
+import com.chit.api.request.model.LinkUsersRequest;
+import com.chit.api.response.model.AllocateSlotResponse;
+import com.chit.api.response.model.ChitImportResponse;
 import com.chit.api.response.model.ChitResponse;
 import com.chit.api.response.model.CountResponse;
+import com.chit.api.response.model.LinkUserResult;
+import com.chit.api.response.model.LinkUsersResponse;
+import com.chit.api.response.model.PortfolioResponse;
+import com.chit.api.service.ChitImportService;
 import com.chit.api.service.ChitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.InputStream;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin
 @RestController
@@ -33,6 +49,9 @@ public class ChitController {
   @Autowired
   private ChitService chitService;
 
+  @Autowired
+  private ChitImportService chitImportService;
+
   @Operation(
       summary = "Add a new chit",
       description = "Create a new chit with the provided details",
@@ -55,24 +74,83 @@ public class ChitController {
   }
 
   @Operation(
-      summary = "Get all chits",
-      description = "Retrieve a list of all chits",
+      summary = "Get chits",
+      description = "Retrieve a page of chits ordered by id, optionally limited to some fields."
+          + " Pass the id of the last chit as afterId to get the next page. Each chit carries its"
+          + " slots unless fields is given without \"slots\"",
       tags = {"Chit API"},
       responses = {
           @ApiResponse(responseCode = "200", description = "Success"),
+          @ApiResponse(responseCode = "400", description = "Invalid limit or field"),
           @ApiResponse(responseCode = "404", description = "No chits found")
       }
   )
   @GetMapping(path = "/getChits", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<?> getChits() {
+  public ResponseEntity<?> getChits(@RequestParam(required = false) Long afterId,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) List<String> fields) {
     log.info("Entered get chits controller method...");
-    List<ChitDBModel> chitList = chitService.getAllChits();
-    if (chitList.isEmpty()) {
-      log.info("No chits found");
-      throw new ResourceNotFoundException(ChitEnum.CHIT_EMPTY.getEnumChitConstant());
-    }
-    log.info("Chits found successfully");
-    return new ResponseEntity<>(chitList, HttpStatus.OK);
+    Query query = chitService.chitPageQuery(afterId, limit, fields);
+    Query slotsQuery = chitService.chitPageSlotsQuery(afterId, fields);
+    StreamingResponseBody chits = outputStream -> chitService.writeChits(query, slotsQuery,
+        fields, outputStream);
+    log.info("Streaming chits after id: {}", afterId);
+    return new ResponseEntity<>(chits, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Search chits",
+      description = "Retrieve a page of chits matching the given filters, ordered by startDate then"
+          + " id. Pass the startDate and id of the last chit as afterStartDate and afterId to get"
+          + " the next page",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Success"),
+          @ApiResponse(responseCode = "400", description = "Invalid filter, limit or field")
+      }
+  )
+  @PostMapping(path = "/search", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> searchChits(@RequestBody ChitSearchRequest chitSearchRequest) {
+    log.info("Entered search chits controller method...");
+    Query query = chitService.chitSearchQuery(chitSearchRequest);
+    StreamingResponseBody chits = outputStream -> chitService.writeChits(query, null,
+        chitSearchRequest.getFields(), outputStream);
+    log.info("Streaming chit search after id: {}", chitSearchRequest.getAfterId());
+    return new ResponseEntity<>(chits, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get chit slots",
+      description = "Retrieve the slots of a chit by its name",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Success"),
+          @ApiResponse(responseCode = "404", description = "Chit or slots not found")
+      }
+  )
+  @GetMapping(path = "/getSlots/{chitname}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getSlots(@PathVariable String chitname) {
+    log.info("Entered get slots controller method...");
+    List<Slot> slots = chitService.getSlots(chitname);
+    log.info("Slots found successfully for chit: {}", chitname);
+    return new ResponseEntity<>(slots, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get member portfolio",
+      description = "Retrieve the chits and slots a member holds with committed and remaining amounts",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Success"),
+          @ApiResponse(responseCode = "400", description = "User number missing")
+      }
+  )
+  @GetMapping(path = "/getPortfolio/{userNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getPortfolio(@PathVariable String userNumber) {
+    log.info("Entered get portfolio controller method...");
+    PortfolioResponse portfolioResponse = chitService.getPortfolio(userNumber);
+    log.info("Portfolio found successfully for user number: {}", userNumber);
+    return new ResponseEntity<>(portfolioResponse, HttpStatus.OK);
   }
 
   @Operation(
@@ -148,7 +226,8 @@ public class ChitController {
       tags = {"Chit API"},
       responses = {
           @ApiResponse(responseCode = "200", description = "Updated Successfully"),
-          @ApiResponse(responseCode = "404", description = "slot not found")
+          @ApiResponse(responseCode = "404", description = "slot not found"),
+          @ApiResponse(responseCode = "409", description = "slot updated concurrently")
       }
   )
   @PostMapping(path = "/linkUser", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -161,4 +240,69 @@ public class ChitController {
     log.info("User linked successfully to chit slot", chitResponse);
     return new ResponseEntity<>(chitResponse, HttpStatus.OK);
   }
+
+  @Operation(
+      summary = "Link users to chits",
+      description = "linking many users to chit slots in one request, with a result per entry",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Processed, see the result of each entry"),
+          @ApiResponse(responseCode = "400", description = "No entries or too many entries")
+      }
+  )
+  @PostMapping(path = "/linkUsers", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> linkUsers(@RequestBody LinkUsersRequest linkUsersRequest) {
+    log.info("Entered link users controller method...");
+    List<LinkUserResult> results = chitService.linkUsersToChits(linkUsersRequest.getLinks());
+    LinkUsersResponse linkUsersResponse = new LinkUsersResponse();
+    linkUsersResponse.setResults(results);
+    linkUsersResponse.setLinked((int) results.stream()
+        .filter(result -> LinkUserResult.LINKED.equals(result.getStatus()))
+        .count());
+    linkUsersResponse.setFailed(results.size() - linkUsersResponse.getLinked());
+    log.info("Linked {} of {} entries", linkUsersResponse.getLinked(), results.size());
+    return new ResponseEntity<>(linkUsersResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Import chits",
+      description = "Bulk import chits from a CSV (text/csv) or NDJSON (application/x-ndjson) body",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Processed, see the row error report"),
+          @ApiResponse(responseCode = "400", description = "Unsupported content type or CSV header")
+      }
+  )
+  @PostMapping(path = "/import", consumes = {ChitImportService.CSV, ChitImportService.NDJSON}, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> importChits(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream inputStream) {
+    log.info("Entered import chits controller method...");
+    ChitImportResponse chitImportResponse = chitImportService.importChits(inputStream,
+        contentType);
+    log.info("Chit import finished with {} imported and {} failed rows",
+        chitImportResponse.getImported(), chitImportResponse.getFailed());
+    return new ResponseEntity<>(chitImportResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Allocate a free slot",
+      description = "linking user to any free slot of a chit",
+      tags = {"Chit API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Slot allocated"),
+          @ApiResponse(responseCode = "404", description = "User or chit not found"),
+          @ApiResponse(responseCode = "409", description = "No free slot left")
+      }
+  )
+  @PostMapping(path = "/allocateSlot", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> allocateSlot(@RequestBody AllocateSlotRequest allocateSlotRequest) {
+    log.info("Entered allocate slot controller method...");
+    Slot slot = chitService.allocateSlot(allocateSlotRequest);
+    AllocateSlotResponse allocateSlotResponse = new AllocateSlotResponse();
+    allocateSlotResponse.setId(slot.getChitId());
+    allocateSlotResponse.setSlot(slot.getSlotId());
+    allocateSlotResponse.setMessage(ChitEnum.CHIT_SLOT_ALLOCATED.getEnumChitConstant());
+    log.info("Allocated slot {} of chit {}", slot.getSlotId(), allocateSlotRequest.getChitName());
+    return new ResponseEntity<>(allocateSlotResponse, HttpStatus.OK);
+  }
 }
@@ -0,0 +1,56 @@
+package com.chit.api.controller;
+
+import com.chit.api.counter.CounterService;
+import com.chit.api.counter.Counters;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/counter")
+@Slf4j
+public class CounterController {
+
+  @Autowired
+  private CounterService counterService;
+
+  @Operation(
+      summary = "Get counters",
+      description = "fetching the user, chit and file counts with the open balance and filled slots",
+      tags = {"Counter API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Counters returned")
+      }
+  )
+  @GetMapping(path = "/get", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getCounters() {
+    log.info("Entered get counters controller method...");
+    Counters counters = counterService.getCounters();
+    return new ResponseEntity<>(counters, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Rebuild counters",
+      description = "recounting the counters from the user, chit and file collections",
+      tags = {"Counter API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Counters rebuilt")
+      }
+  )
+  @PostMapping(path = "/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> rebuildCounters() {
+    log.info("Entered rebuild counters controller method...");
+    Counters counters = counterService.rebuild();
+    return new ResponseEntity<>(counters, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,60 @@
+package com.chit.api.controller;
+
+import com.chit.api.event.ChitReplayService;
+import com.chit.api.event.ChitState;
+import com.chit.api.response.model.ReplayResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/event")
+@Slf4j
+public class EventController {
+
+  @Autowired
+  private ChitReplayService chitReplayService;
+
+  @Operation(
+      summary = "Replay a chit",
+      description = "rebuilding one chit from its latest snapshot and later events",
+      tags = {"Event API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Replayed state"),
+          @ApiResponse(responseCode = "404", description = "Chit not found")
+      }
+  )
+  @PostMapping(path = "/replay/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> replayChit(@PathVariable String chitName) {
+    log.info("Entered replay chit controller method...");
+    ChitState chitState = chitReplayService.replay(chitName);
+    return new ResponseEntity<>(chitState, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Replay all chits",
+      description = "rebuilding every chit in parallel and auditing it against its document",
+      tags = {"Event API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Audit report"),
+          @ApiResponse(responseCode = "500", description = "Replay failed")
+      }
+  )
+  @PostMapping(path = "/replayAll", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> replayAll(@RequestParam(defaultValue = "false") boolean repair) {
+    log.info("Entered replay all chits controller method...");
+    ReplayResponse replayResponse = chitReplayService.replayAll(repair);
+    return new ResponseEntity<>(replayResponse, HttpStatus.OK);
+  }
+}
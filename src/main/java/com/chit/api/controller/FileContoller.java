@@ -1,6 +1,7 @@
 package com.chit.api.controller;
 
 import com.chit.api.enums.FileEnum;
+import com.chit.api.globalexceptions.ResourceExistsException;
 import com.chit.api.response.model.FileResponse;
 import com.chit.api.service.FileService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,7 +39,8 @@ public class FileContoller {
       tags = {"Uploading File API"},
       responses = {
           @ApiResponse(responseCode = "200", description = "file uploaded successfully"),
-          @ApiResponse(responseCode = "400", description = "Invalid file or empty")
+          @ApiResponse(responseCode = "400", description = "Invalid file or empty"),
+          @ApiResponse(responseCode = "409", description = "File already exists")
       }
 
   )
@@ -52,6 +54,10 @@ public class FileContoller {
       log.info("File uploaded successfully: {}", file.getOriginalFilename());
       fileResponse.setMessage(FileEnum.FILE_SUCCESS.getEnumFileConstant());
       return new ResponseEntity<>(fileResponse, HttpStatus.OK);
+    } catch (ResourceExistsException e) {
+      log.error("File already exists: {}", file.getOriginalFilename());
+      fileResponse.setMessage(e.getMessage());
+      return new ResponseEntity<>(fileResponse, HttpStatus.CONFLICT);
     } catch (Exception e) {
       log.error("Failed to upload file: {}", file.getOriginalFilename(), e);
       fileResponse.setMessage("File upload failed: " + e.getMessage());
@@ -0,0 +1,105 @@
+package com.chit.api.controller;
+
+import com.chit.api.ledger.LedgerService;
+import com.chit.api.ledger.MemberBalance;
+import com.chit.api.request.model.LedgerPostRequest;
+import com.chit.api.response.model.CountResponse;
+import com.chit.api.response.model.LedgerPostResponse;
+import com.chit.api.response.model.StatementResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/ledger")
+@Slf4j
+public class LedgerController {
+
+  @Autowired
+  private LedgerService ledgerService;
+
+  @Operation(
+      summary = "Post ledger entries",
+      description = "appending installment payments and adjustments in one batch",
+      tags = {"Ledger API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Processed, see the per entry results"),
+          @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+      }
+  )
+  @PostMapping(path = "/post", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> postEntries(@RequestBody LedgerPostRequest ledgerPostRequest) {
+    log.info("Entered post ledger entries controller method...");
+    LedgerPostResponse ledgerPostResponse = ledgerService.postEntries(
+        ledgerPostRequest.getEntries());
+    return new ResponseEntity<>(ledgerPostResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get member balance",
+      description = "fetching the running ledger totals of a member in a chit",
+      tags = {"Ledger API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Balance found"),
+          @ApiResponse(responseCode = "404", description = "Chit or balance not found")
+      }
+  )
+  @GetMapping(path = "/balance/{chitName}/{userNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getBalance(@PathVariable String chitName,
+      @PathVariable String userNumber) {
+    log.info("Entered get member balance controller method...");
+    MemberBalance memberBalance = ledgerService.getBalance(chitName, userNumber);
+    return new ResponseEntity<>(memberBalance, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get statement",
+      description = "fetching the ledger entries of a chit or member between two periods",
+      tags = {"Ledger API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Statement returned"),
+          @ApiResponse(responseCode = "400", description = "Missing filters or invalid period"),
+          @ApiResponse(responseCode = "404", description = "Chit not found")
+      }
+  )
+  @GetMapping(path = "/statement", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getStatement(@RequestParam(required = false) String chitName,
+      @RequestParam(required = false) String userNumber,
+      @RequestParam(required = false) String from,
+      @RequestParam(required = false) String to) {
+    log.info("Entered get statement controller method...");
+    StatementResponse statementResponse = ledgerService.getStatement(chitName, userNumber, from,
+        to);
+    return new ResponseEntity<>(statementResponse, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Rebuild balances",
+      description = "recomputing the member balances of a chit from its ledger",
+      tags = {"Ledger API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Balances rebuilt"),
+          @ApiResponse(responseCode = "404", description = "Chit not found")
+      }
+  )
+  @PostMapping(path = "/rebuild/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> rebuildBalances(@PathVariable String chitName) {
+    log.info("Entered rebuild balances controller method...");
+    CountResponse countResponse = new CountResponse();
+    countResponse.setCount(ledgerService.rebuildBalances(chitName));
+    return new ResponseEntity<>(countResponse, HttpStatus.OK);
+  }
+}
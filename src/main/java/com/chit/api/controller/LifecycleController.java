@@ -0,0 +1,48 @@
+package com.chit.api.controller;
+
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.lifecycle.ChitLifecycle;
+import com.chit.api.lifecycle.LifecycleScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/lifecycle")
+@Slf4j
+public class LifecycleController {
+
+  @Autowired
+  private LifecycleScheduler lifecycleScheduler;
+
+  @Operation(
+      summary = "Get chit lifecycle",
+      description = "fetching where a chit is in its lifecycle and its next scheduled transition",
+      tags = {"Lifecycle API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Lifecycle found"),
+          @ApiResponse(responseCode = "404", description = "Chit not found")
+      }
+  )
+  @GetMapping(path = "/get/{chitName}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getLifecycle(@PathVariable String chitName) {
+    log.info("Entered get chit lifecycle controller method...");
+    ChitLifecycle chitLifecycle = lifecycleScheduler.getLifecycle(chitName);
+    if (chitLifecycle == null) {
+      log.error("No lifecycle for chit with name: {}", chitName);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    return new ResponseEntity<>(chitLifecycle, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,79 @@
+package com.chit.api.controller;
+
+import com.chit.api.payout.ChitPayout;
+import com.chit.api.payout.PayoutJob;
+import com.chit.api.payout.PayoutService;
+import com.chit.api.request.model.PayoutRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/payout")
+@Slf4j
+public class PayoutController {
+
+  @Autowired
+  private PayoutService payoutService;
+
+  @Operation(
+      summary = "Run the payout job",
+      description = "computing commission, discount and dividends of every active chit for a period",
+      tags = {"Payout API"},
+      responses = {
+          @ApiResponse(responseCode = "202", description = "Job started or resumed"),
+          @ApiResponse(responseCode = "400", description = "Invalid period"),
+          @ApiResponse(responseCode = "409", description = "Job running or already completed")
+      }
+  )
+  @PostMapping(path = "/run", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> runPayouts(@RequestBody PayoutRequest payoutRequest) {
+    log.info("Entered run payouts controller method...");
+    PayoutJob payoutJob = payoutService.startJob(payoutRequest);
+    return new ResponseEntity<>(payoutJob, HttpStatus.ACCEPTED);
+  }
+
+  @Operation(
+      summary = "Get payout job progress",
+      description = "fetching the status and checkpoint of a period's payout job",
+      tags = {"Payout API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Job found"),
+          @ApiResponse(responseCode = "404", description = "No job for the period")
+      }
+  )
+  @GetMapping(path = "/job/{period}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getJob(@PathVariable String period) {
+    log.info("Entered get payout job controller method...");
+    PayoutJob payoutJob = payoutService.getJob(period);
+    return new ResponseEntity<>(payoutJob, HttpStatus.OK);
+  }
+
+  @Operation(
+      summary = "Get a chit payout",
+      description = "fetching the computed payout of a chit for a period",
+      tags = {"Payout API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Payout found"),
+          @ApiResponse(responseCode = "404", description = "Chit or payout not found")
+      }
+  )
+  @GetMapping(path = "/get/{chitName}/{period}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> getPayout(@PathVariable String chitName, @PathVariable String period) {
+    log.info("Entered get payout controller method...");
+    ChitPayout chitPayout = payoutService.getPayout(chitName, period);
+    return new ResponseEntity<>(chitPayout, HttpStatus.OK);
+  }
+}
@@ -0,0 +1,50 @@
+package com.chit.api.controller;
+
+import com.chit.api.report.DuesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/report")
+@Slf4j
+public class ReportController {
+
+  @Autowired
+  private DuesReportService duesReportService;
+
+  @Operation(
+      summary = "Dues report",
+      description = "streaming every member's outstanding installments for a period as CSV or NDJSON",
+      tags = {"Report API"},
+      responses = {
+          @ApiResponse(responseCode = "200", description = "Report streamed"),
+          @ApiResponse(responseCode = "400", description = "Invalid format or period")
+      }
+  )
+  @GetMapping(path = "/dues")
+  public ResponseEntity<?> getDues(@RequestParam(required = false) String period,
+      @RequestParam(required = false) String userNumber,
+      @RequestParam(required = false) String format) {
+    log.info("Entered get dues report controller method...");
+    String contentType = duesReportService.contentType(format);
+    String reportPeriod = duesReportService.reportPeriod(period);
+    StreamingResponseBody dues = outputStream -> duesReportService.writeDues(reportPeriod,
+        userNumber, contentType, outputStream);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(contentType));
+    return new ResponseEntity<>(dues, headers, HttpStatus.OK);
+  }
+}
@@ -3,6 +3,7 @@ package com.chit.api.controller;
 import com.chit.api.dao.model.UserDBModel;
 import com.chit.api.enums.UserEnum;
 import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.ratelimit.RateLimiter;
 import com.chit.api.request.model.LoginRequest;
 import com.chit.api.request.model.UserDetailsRequest;
 import com.chit.api.response.model.CountResponse;
@@ -12,6 +13,7 @@ import com.chit.api.response.model.UserResponse;
 import com.chit.api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,18 +38,26 @@ public class UserController {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private RateLimiter rateLimiter;
+
   @Operation(
       summary = "User login",
       description = "Authenticate a user with a phone number and password",
       tags = {"User API"},
       responses = {
           @ApiResponse(responseCode = "200", description = "Login successful"),
-          @ApiResponse(responseCode = "400", description = "Invalid credentials")
+          @ApiResponse(responseCode = "400", description = "Invalid credentials"),
+          @ApiResponse(responseCode = "429", description = "Too many login attempts")
       }
   )
   @PostMapping(path = "/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest,
+      HttpServletRequest request) {
     log.info("Entered Login Controller method...");
+    // the forwarded client address when the request came through a trusted proxy, see
+    // server.tomcat.remoteip in application.yml
+    rateLimiter.check(RateLimiter.LOGIN, loginRequest.getNumber(), request.getRemoteAddr());
     LoginResponse loginResponse = userService.login(loginRequest.getNumber(),
         loginRequest.getPassword());
     log.info("Logged in successfully with user number:{}", loginResponse.getNumber());
@@ -153,18 +163,20 @@ public class UserController {
       tags = {"User API"},
       responses = {
           @ApiResponse(responseCode = "200", description = "Password updated successfully"),
-          @ApiResponse(responseCode = "400", description = "Invalid phone number or password")
+          @ApiResponse(responseCode = "400", description = "Invalid phone number or password"),
+          @ApiResponse(responseCode = "429", description = "Too many password attempts")
       }
 
   )
   @PostMapping(path = "/updatePassword/{number}", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<PasswordResponse> updatePassword(@PathVariable String number,
-      @RequestBody LoginRequest loginRequest) {
+      @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
     log.info("Entered update password controller method...");
     if (number == null || number.trim().isEmpty()) {
       log.error("User number not provided");
       throw new BadRequestException(UserEnum.USER_NUMBER.getEnumUserConstant());
     }
+    rateLimiter.check(RateLimiter.UPDATE_PASSWORD, number, request.getRemoteAddr());
     String updatedNumber = userService.updatePassword(number, loginRequest.getPassword(),
         loginRequest.getNewpassword());
     PasswordResponse passwordResponse = new PasswordResponse();
@@ -0,0 +1,236 @@
+package com.chit.api.counter;
+
+import com.chit.api.config.CounterConfig;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.FileDBModel;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.money.Money;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+// Every insert and delete path moves the counters with one $inc, and reads are served from memory
+// for cache-ttl-ms. A failed $inc is logged rather than failing the write it follows; the startup
+// rebuild (or /counter/rebuild) recounts from the collections.
+//
+// One document taking every booking's $inc would serialize them on its lock, so the counters are
+// striped: each $inc lands on one of chit.counter.stripes documents picked at random, and a read
+// sums all of them. The first stripe is the original dashboard document.
+@Service
+@Slf4j
+public class CounterService {
+
+  private static final String OTHER_STRIPES = "^" + Counters.DASHBOARD + ":";
+
+  private final MongoTemplate mongoTemplate;
+  private final CounterConfig counterConfig;
+  private volatile CachedCounters cached;
+
+  public CounterService(MongoTemplate mongoTemplate, CounterConfig counterConfig) {
+    this.mongoTemplate = mongoTemplate;
+    this.counterConfig = counterConfig;
+  }
+
+  public Counters getCounters() {
+    CachedCounters current = cached;
+    if (current != null && System.nanoTime() - current.readAt() < ttlNanos()) {
+      return current.counters();
+    }
+    Counters counters = new Counters();
+    counters.setId(Counters.DASHBOARD);
+    counters.setOpenBalance(Money.ZERO);
+    // every stripe ever written, so lowering the stripe count loses nothing
+    for (Counters stripe : mongoTemplate.find(allStripes(), Counters.class)) {
+      counters.setUsers(counters.getUsers() + stripe.getUsers());
+      counters.setChits(counters.getChits() + stripe.getChits());
+      counters.setFiles(counters.getFiles() + stripe.getFiles());
+      if (stripe.getOpenBalance() != null) {
+        counters.setOpenBalance(counters.getOpenBalance().plus(stripe.getOpenBalance()));
+      }
+      counters.setFilledSlots(counters.getFilledSlots() + stripe.getFilledSlots());
+      if (stripe.getUpdatedAt() != null && (counters.getUpdatedAt() == null
+          || stripe.getUpdatedAt().isAfter(counters.getUpdatedAt()))) {
+        counters.setUpdatedAt(stripe.getUpdatedAt());
+      }
+      if (stripe.getRebuiltAt() != null) {
+        counters.setRebuiltAt(stripe.getRebuiltAt());
+      }
+    }
+    cached = new CachedCounters(counters, System.nanoTime());
+    return counters;
+  }
+
+  public long users() {
+    return getCounters().getUsers();
+  }
+
+  public long chits() {
+    return getCounters().getChits();
+  }
+
+  public void userAdded() {
+    apply(new Update().inc("users", 1));
+  }
+
+  public void userRemoved() {
+    apply(new Update().inc("users", -1));
+  }
+
+  public void usersCleared() {
+    reset(new Update().set("users", 0L));
+  }
+
+  public void chitsAdded(Collection<ChitDBModel> chits) {
+    if (chits.isEmpty()) {
+      return;
+    }
+    long openBalance = chits.stream().mapToLong(chit -> chit.getBalanceAmount().getPaise()).sum();
+    long filledSlots = chits.stream().mapToLong(this::filledSlots).sum();
+    apply(new Update()
+        .inc("chits", chits.size())
+        .inc("openBalance", openBalance)
+        .inc("filledSlots", filledSlots));
+  }
+
+  public void chitRemoved(ChitDBModel chitDBModel) {
+    apply(new Update()
+        .inc("chits", -1)
+        .inc("openBalance", -chitDBModel.getBalanceAmount().getPaise())
+        .inc("filledSlots", -filledSlots(chitDBModel)));
+  }
+
+  public void chitsCleared() {
+    reset(new Update()
+        .set("chits", 0L)
+        .set("openBalance", 0L)
+        .set("filledSlots", 0L));
+  }
+
+  public void slotsLinked(Money linkedAmount, int claimedSlots) {
+    Update update = new Update().inc("openBalance", -linkedAmount.getPaise());
+    if (claimedSlots != 0) {
+      update.inc("filledSlots", claimedSlots);
+    }
+    apply(update);
+  }
+
+  public void fileAdded() {
+    apply(new Update().inc("files", 1));
+  }
+
+  public void fileRemoved() {
+    apply(new Update().inc("files", -1));
+  }
+
+  public void filesCleared() {
+    reset(new Update().set("files", 0L));
+  }
+
+  // Recounts everything once at startup, so drift from a crash between a write and its $inc
+  // does not outlive a restart
+  @Order(6)
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (counterConfig.isRebuildOnStartup()) {
+      rebuild();
+    }
+  }
+
+  public Counters rebuild() {
+    log.info("Entered rebuild counters service method...");
+    Document chitTotals = mongoTemplate.aggregate(Aggregation.newAggregation(
+            Aggregation.group()
+                .count().as("chits")
+                .sum("balanceAmount").as("openBalance")
+                .sum("totalSlots").as("totalSlots")
+                .sum("freeSlots").as("freeSlots")),
+        ChitDBModel.class, Document.class).getUniqueMappedResult();
+    Update update = new Update()
+        .set("users", mongoTemplate.count(new Query(), UserDBModel.class))
+        .set("files", mongoTemplate.count(new Query(), FileDBModel.class))
+        .set("chits", total(chitTotals, "chits"))
+        .set("openBalance", total(chitTotals, "openBalance"))
+        .set("filledSlots", total(chitTotals, "totalSlots") - total(chitTotals, "freeSlots"))
+        .set("updatedAt", Instant.now())
+        .set("rebuiltAt", Instant.now());
+    mongoTemplate.upsert(new Query(Criteria.where("id").is(Counters.DASHBOARD)), update,
+        Counters.class);
+    // the totals now sit on the first stripe
+    mongoTemplate.updateMulti(new Query(Criteria.where("id").regex(OTHER_STRIPES)),
+        new Update()
+            .set("users", 0L)
+            .set("files", 0L)
+            .set("chits", 0L)
+            .set("openBalance", 0L)
+            .set("filledSlots", 0L),
+        Counters.class);
+    cached = null;
+    Counters counters = getCounters();
+    log.info("Rebuilt counters: {} users, {} chits, {} files", counters.getUsers(),
+        counters.getChits(), counters.getFiles());
+    return counters;
+  }
+
+  private void apply(Update update) {
+    try {
+      mongoTemplate.upsert(new Query(Criteria.where("id").is(stripeId())),
+          update.set("updatedAt", Instant.now()), Counters.class);
+    } catch (RuntimeException e) {
+      log.error("Failed to update counters with {}", update.getUpdateObject(), e);
+    }
+    // this instance's own writes show up on its next read; other instances within the ttl
+    cached = null;
+  }
+
+  // A set has to reach every stripe, or the sum would still carry the others
+  private void reset(Update update) {
+    try {
+      mongoTemplate.updateMulti(allStripes(), update.set("updatedAt", Instant.now()),
+          Counters.class);
+    } catch (RuntimeException e) {
+      log.error("Failed to reset counters with {}", update.getUpdateObject(), e);
+    }
+    cached = null;
+  }
+
+  private String stripeId() {
+    int stripe = ThreadLocalRandom.current().nextInt(Math.max(1, counterConfig.getStripes()));
+    return stripe == 0 ? Counters.DASHBOARD : Counters.DASHBOARD + ":" + stripe;
+  }
+
+  private Query allStripes() {
+    return new Query(new Criteria().orOperator(Criteria.where("id").is(Counters.DASHBOARD),
+        Criteria.where("id").regex(OTHER_STRIPES)));
+  }
+
+  private long filledSlots(ChitDBModel chitDBModel) {
+    return (long) chitDBModel.getTotalSlots() - chitDBModel.getFreeSlots();
+  }
+
+  private long total(Document totals, String field) {
+    if (totals == null) {
+      return 0;
+    }
+    Number value = totals.get(field, Number.class);
+    return value != null ? value.longValue() : 0;
+  }
+
+  private long ttlNanos() {
+    return counterConfig.getCacheTtlMs() * 1_000_000L;
+  }
+
+  private record CachedCounters(Counters counters, long readAt) {
+
+  }
+}
@@ -0,0 +1,30 @@
+package com.chit.api.counter;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Entity counts and totals the dashboard polls, moved by $inc on every insert and delete so
+// reading them never scans the collections they describe. Striped across a few documents, the
+// dashboard one and "dashboard:<n>", whose sum is the real count.
+@Getter
+@Setter
+@Document("counters")
+public class Counters {
+
+  public static final String DASHBOARD = "dashboard";
+
+  @Id
+  private String id;
+  private long users;
+  private long chits;
+  private long files;
+  // unbooked amount left across every chit
+  private Money openBalance;
+  private long filledSlots;
+  private Instant updatedAt;
+  private Instant rebuiltAt;
+}
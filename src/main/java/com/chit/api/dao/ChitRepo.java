@@ -1,6 +1,8 @@
 package com.chit.api.dao;
 
 import com.chit.api.dao.model.ChitDBModel;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +11,7 @@ public interface ChitRepo extends MongoRepository<ChitDBModel, String> {
 
   ChitDBModel findByChitname(String name);
 
+  List<ChitDBModel> findByChitnameIn(Collection<String> names);
+
   void deleteByChitname(String chitname);
 }
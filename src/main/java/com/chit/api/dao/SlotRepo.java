@@ -0,0 +1,16 @@
+package com.chit.api.dao;
+
+import com.chit.api.dao.model.Slot;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SlotRepo extends MongoRepository<Slot, String> {
+
+  List<Slot> findByChitIdOrderBySlotId(Long chitId);
+
+  List<Slot> findByUser(String user);
+
+  void deleteByChitId(Long chitId);
+}
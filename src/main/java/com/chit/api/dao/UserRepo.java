@@ -1,8 +1,12 @@
 package com.chit.api.dao;
 
 import com.chit.api.dao.model.UserDBModel;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,5 +16,13 @@ public interface UserRepo extends MongoRepository<UserDBModel, String> {
 
   Optional<UserDBModel> findByNumber(String number);
 
-  void deleteByNumber(String number);
+  long deleteByNumber(String number);
+
+  @Query(value = "{ 'number' : { $in : ?0 } }", fields = "{ 'number' : 1 }")
+  List<UserDBModel> findByNumberIn(Collection<String> numbers);
+
+  // replaces the hash only if it is still the one that was checked, so a password changed in the
+  // meantime is never overwritten
+  @Update("{ '$set' : { 'password' : ?2 } }")
+  long findAndSetPasswordByNumberAndPassword(String number, String password, String rehashed);
 }
\ No newline at end of file
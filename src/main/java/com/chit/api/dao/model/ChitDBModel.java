@@ -1,24 +1,46 @@
 package com.chit.api.dao.model;
 
-import java.util.List;
+import com.chit.api.money.Money;
+import java.time.LocalDate;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+// Searches are ordered by startDate then id. Each index leads with its equality field, then
+// that order, then the range fields, so a search walks one index range in result order and the
+// range filters are checked on index keys before any chit is fetched.
 @Document("chit")
+@CompoundIndexes({
+    @CompoundIndex(name = "search_startDate",
+        def = "{'startDate': 1, '_id': 1, 'amount': 1, 'endDate': 1, 'freeSlots': 1}"),
+    @CompoundIndex(name = "search_tenure", def = "{'tenure': 1, 'startDate': 1, '_id': 1, "
+        + "'amount': 1, 'endDate': 1, 'freeSlots': 1}"),
+    @CompoundIndex(name = "search_installment", def = "{'installment': 1, 'startDate': 1, "
+        + "'_id': 1, 'amount': 1, 'endDate': 1, 'freeSlots': 1}")
+})
 @Getter
 @Setter
 public class ChitDBModel {
 
   public static String CHIT_SEQUENCE = "chit";
   private Long id;
+  @Indexed(unique = true)
   private String chitname;
-  private String amount;
+  private Money amount;
   private String tenure;
-  private String installment;
-  private String startDate;
-  private String endDate;
-  private String balanceAmount;
-  private List<Slot> slots;
+  private Money installment;
+  private LocalDate startDate;
+  // archival scans chits that ended before a cutoff
+  @Indexed
+  private LocalDate endDate;
+  private Money balanceAmount;
+  private int totalSlots;
+  private int freeSlots;
+  @Version
+  private Long version;
 
 }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -17,9 +18,12 @@ public class EmailDBModel {
 
   @Id
   private long id;
+  @Indexed
   private String emailid;
+  @Indexed
   private String name;
   private String message;
+  @Indexed
   private String phoneno;
   private String selectedRequirenment;
 
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -17,6 +18,7 @@ public class FileDBModel {
   @Id
   private long id;
 
+  @Indexed(unique = true)
   private String filename;
 
   private String filepath;
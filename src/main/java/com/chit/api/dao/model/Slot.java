@@ -1,25 +1,59 @@
 package com.chit.api.dao.model;
 
+import com.chit.api.dto.PendingLink;
 import com.chit.api.dto.SubSlot;
+import com.chit.api.money.Money;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
 @Setter
+@Document("slot")
+@CompoundIndexes({
+    @CompoundIndex(name = "chitId_slotId", def = "{'chitId': 1, 'slotId': 1}", unique = true),
+    // multikey index so a member's split holdings are found without a scan
+    @CompoundIndex(name = "subSlots_userNumber", def = "{'subSlots.userNumber': 1}"),
+    // sparse, so the reconcile run only walks slots that carry a pending link
+    @CompoundIndex(name = "pendingLinks_at", def = "{'pendingLinks.at': 1}", sparse = true)
+})
 public class Slot {
 
+  @Id
+  private String id;
+  private Long chitId;
+  // copied from the chit so a member's portfolio is a single read of the slot collection
+  private String chitname;
   private int slotId;
-  private String remainingAmounts;
+  private Money remainingAmounts;
   private Boolean split;
-  private String slotAmount;
+  private Money slotAmount;
+  @Indexed
   private String user;
 
   private List<SubSlot> subSlots;
+  // set once the holder has taken the pot in a monthly auction
+  private Boolean prized;
+  private String prizedPeriod;
+  // id of the last batch link that wrote this slot, used to tell which bulk updates matched
+  private String linkBatchId;
+  // bookings whose chit balance update has not been confirmed yet
+  private List<PendingLink> pendingLinks;
 
-  public Slot(int slotId, String remainingAmounts, String slotAmount) {
+  public Slot(Long chitId, int slotId, Money remainingAmounts, Money slotAmount) {
+    this.id = chitId == null ? null : slotKey(chitId, slotId);
+    this.chitId = chitId;
     this.slotId = slotId;
     this.remainingAmounts = remainingAmounts;
     this.slotAmount = slotAmount;
   }
+
+  public static String slotKey(long chitId, int slotId) {
+    return chitId + ":" + slotId;
+  }
 }
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -17,6 +18,7 @@ public class UserDBModel {
   @Id
   private long id;
 
+  @Indexed(unique = true)
   private String number;
 
   private String password;
@@ -29,4 +31,7 @@ public class UserDBModel {
 
   private boolean isDefault;
 
+  // raised on password change; tokens issued with an older version are refused
+  private long tokenVersion;
+
 }
@@ -0,0 +1,46 @@
+package com.chit.api.date;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.List;
+
+// Chit dates are calendar days. Requests and older documents carry them as text: ISO first, then
+// the day-first forms the branch screens used before dates were typed.
+public final class ChitDates {
+
+  private static final List<DateTimeFormatter> FORMATS = List.of(
+      DateTimeFormatter.ISO_LOCAL_DATE,
+      DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT),
+      DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT),
+      DateTimeFormatter.ofPattern("uuuu/MM/dd").withResolverStyle(ResolverStyle.STRICT));
+
+  private ChitDates() {
+  }
+
+  public static LocalDate parse(String date) {
+    if (date == null) {
+      throw new DateTimeParseException("Date is missing", "", 0);
+    }
+    String trimmed = date.trim();
+    DateTimeParseException failure = null;
+    for (DateTimeFormatter format : FORMATS) {
+      try {
+        return LocalDate.parse(trimmed, format);
+      } catch (DateTimeParseException e) {
+        failure = e;
+      }
+    }
+    throw failure;
+  }
+
+  // null for text that is not a date in any accepted form
+  public static LocalDate parseOrNull(String date) {
+    try {
+      return parse(date);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
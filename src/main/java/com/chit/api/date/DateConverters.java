@@ -0,0 +1,27 @@
+package com.chit.api.date;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+// Dates are stored as BSON dates at UTC midnight. Reads also accept the text dates written
+// before they were typed; text that is not a date reads as null.
+public final class DateConverters {
+
+  private DateConverters() {
+  }
+
+  public static List<Converter<?, ?>> all() {
+    return List.of(new StringToLocalDateConverter());
+  }
+
+  @ReadingConverter
+  public static class StringToLocalDateConverter implements Converter<String, LocalDate> {
+
+    @Override
+    public LocalDate convert(String source) {
+      return ChitDates.parseOrNull(source);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.chit.api.date;
+
+import com.chit.api.archive.ChitArchive;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.lifecycle.ChitLifecycle;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// Rewrites dates still stored as text into BSON dates so that the date indexes can range over
+// them. The accepted text forms are parsed here rather than with $dateFromString; each update is
+// guarded on the text it replaces, and text that is not a date is left for the chit to be fixed.
+@Component
+@Slf4j
+public class DateMigration {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final MongoTemplate mongoTemplate;
+
+  public DateMigration(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Order(2)
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateStringDates() {
+    log.info("Entered migrate string dates method...");
+    convertFields(collection(ChitDBModel.class), "startDate", "endDate");
+    convertFields(collection(ChitLifecycle.class), "startDate", "endDate");
+    convertFields(collection(ChitArchive.class), "endDate");
+  }
+
+  private void convertFields(MongoCollection<Document> collection, String... fields) {
+    for (String field : fields) {
+      List<WriteModel<Document>> updates = new ArrayList<>();
+      long converted = 0;
+      long unreadable = 0;
+      for (Document document : collection.find(Filters.type(field, BsonType.STRING))
+          .projection(Projections.include(field))
+          .batchSize(BATCH_SIZE)) {
+        String text = document.getString(field);
+        LocalDate date = ChitDates.parseOrNull(text);
+        if (date == null) {
+          unreadable++;
+          continue;
+        }
+        updates.add(new UpdateOneModel<>(
+            Filters.and(Filters.eq("_id", document.get("_id")), Filters.eq(field, text)),
+            Updates.set(field, date)));
+        if (updates.size() >= BATCH_SIZE) {
+          converted += collection.bulkWrite(updates).getModifiedCount();
+          updates.clear();
+        }
+      }
+      if (!updates.isEmpty()) {
+        converted += collection.bulkWrite(updates).getModifiedCount();
+      }
+      if (converted > 0) {
+        log.info("Converted {} {}.{} values to dates", converted,
+            collection.getNamespace().getCollectionName(), field);
+      }
+      if (unreadable > 0) {
+        log.warn("{} {}.{} values are not dates and were left as text", unreadable,
+            collection.getNamespace().getCollectionName(), field);
+      }
+    }
+  }
+
+  private MongoCollection<Document> collection(Class<?> type) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type));
+  }
+}
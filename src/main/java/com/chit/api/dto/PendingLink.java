@@ -0,0 +1,31 @@
+package com.chit.api.dto;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+// Stamped on a slot by the booking that wrote it, until the chit balance follows
+@Getter
+@Setter
+public class PendingLink {
+
+  private String linkId;
+  private String userNumber;
+  private Money amount;
+  private Boolean split;
+  private boolean slotClaimed;
+  private Instant at;
+
+  public static PendingLink of(String linkId, String userNumber, Money amount, boolean split,
+      boolean slotClaimed, Instant at) {
+    PendingLink pendingLink = new PendingLink();
+    pendingLink.setLinkId(linkId);
+    pendingLink.setUserNumber(userNumber);
+    pendingLink.setAmount(amount);
+    pendingLink.setSplit(split);
+    pendingLink.setSlotClaimed(slotClaimed);
+    pendingLink.setAt(at);
+    return pendingLink;
+  }
+}
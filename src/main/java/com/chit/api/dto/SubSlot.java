@@ -1,5 +1,6 @@
 package com.chit.api.dto;
 
+import com.chit.api.money.Money;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -8,6 +9,6 @@ import lombok.Setter;
 public class SubSlot {
 
   private int subSlotId;
-  private String slotAmount;
+  private Money slotAmount;
   private String userNumber;
 }
@@ -0,0 +1,15 @@
+package com.chit.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ArchiveEnum {
+
+  ARCHIVE_NOT_FOUND("archived chit not found"),
+  ARCHIVE_READ_FAILED("archived chit could not be read"),
+  ARCHIVE_WRITE_FAILED("chit could not be archived");
+
+  private final String EnumArchiveConstant;
+}
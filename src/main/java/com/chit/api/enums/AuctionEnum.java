@@ -0,0 +1,25 @@
+package com.chit.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum AuctionEnum {
+
+  AUCTION_OPENED("auction opened successfully"),
+  AUCTION_BID_ACCEPTED("bid accepted"),
+  AUCTION_DETAILS("chit name, user number and discount are required"),
+  AUCTION_EXISTS("an auction is already open or was held for this chit and period"),
+  AUCTION_NOT_OPEN("no open auction for this chit"),
+  AUCTION_NOT_FOUND("no auction found for this chit"),
+  AUCTION_CLOSED("auction is closed"),
+  AUCTION_BIDDER_INVALID("user holds no unprized slot in this chit"),
+  AUCTION_SPLIT_HOLDER("holders of a split slot cannot bid, its pot is shared by all its holders"),
+  AUCTION_DISCOUNT_INVALID("discount must be positive and within the allowed cap"),
+  AUCTION_PERIOD_INVALID("period must be in YYYY-MM format"),
+  AUCTION_DURATION_INVALID("duration must be between one minute and the configured maximum"),
+  AUCTION_NO_BIDDERS("no member holds an unprized slot in this chit");
+
+  private final String EnumAuctionConstant;
+}
@@ -23,7 +23,24 @@ public enum ChitEnum {
   CHIT_REQUIRED_AMOUNT("required amount invalid"),
   CHIT_REQUIRED("required amount cannot be greater then remaining amount"),
   CHIT_REMAINING_AMOUNT("required amount cannot be zero or negative"),
-  CHIT_VALID("enter a valid required amount");
+  CHIT_VALID("enter a valid required amount"),
+  CHIT_AMOUNT_INVALID("amount and installment must be valid positive amounts"),
+  CHIT_SLOTS_LIMIT("amount divided by installment gives more slots than a chit may have"),
+  CHIT_DATE_INVALID("startDate and endDate must be dates like 2026-01-31, endDate not before startDate"),
+  CHIT_CONFLICT("chit was updated by another request, please retry"),
+  CHIT_LINKS_REQUIRED("at least one link entry is required"),
+  CHIT_LINKS_LIMIT("too many link entries in one request"),
+  CHIT_IMPORT_FORMAT("import content type must be text/csv or application/x-ndjson"),
+  CHIT_IMPORT_HEADER("csv header must contain chitname, amount, tenure, installment, startDate and endDate"),
+  CHIT_IMPORT_ROW("row could not be parsed"),
+  CHIT_IMPORT_FAILED("failed to read the import stream"),
+  CHIT_IMPORT_SLOTS("slots of the chit could not be written, the chit was not imported"),
+  CHIT_PAGE_LIMIT("limit must be greater than zero"),
+  CHIT_FIELD_INVALID("unknown chit field requested"),
+  CHIT_SEARCH_INVALID("search dates must be like 2026-01-31 and afterId needs afterStartDate"),
+  CHIT_NO_FREE_SLOT("no free slot left in this chit"),
+  CHIT_SLOT_ALLOCATED("slot allocated successfully"),
+  CHIT_REPLAY_FAILED("failed to replay chit events");
 
   private final String EnumChitConstant;
 }
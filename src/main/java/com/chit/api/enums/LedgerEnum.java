@@ -0,0 +1,23 @@
+package com.chit.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum LedgerEnum {
+
+  LEDGER_POSTED("ledger entry posted"),
+  LEDGER_ENTRIES_REQUIRED("at least one ledger entry is required"),
+  LEDGER_ENTRIES_LIMIT("too many ledger entries in one request"),
+  LEDGER_DETAILS("chit name, user number, type and amount are required"),
+  LEDGER_TYPE_INVALID("type must be PAYMENT or ADJUSTMENT"),
+  LEDGER_AMOUNT_INVALID("payments must be positive and adjustments non-zero"),
+  LEDGER_PERIOD_INVALID("period must be in YYYY-MM format"),
+  LEDGER_MEMBER_INVALID("user holds no slot in this chit"),
+  LEDGER_DUPLICATE_REFERENCE("an entry with this reference is already posted"),
+  LEDGER_STATEMENT_DETAILS("chit name or user number is required"),
+  LEDGER_BALANCE_NOT_FOUND("no ledger balance for this member in this chit");
+
+  private final String EnumLedgerConstant;
+}
@@ -0,0 +1,17 @@
+package com.chit.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum PayoutEnum {
+
+  PAYOUT_PERIOD_INVALID("period must be in YYYY-MM format"),
+  PAYOUT_RUNNING("a payout job for this period is already running"),
+  PAYOUT_COMPLETED("payouts for this period are already computed"),
+  PAYOUT_JOB_NOT_FOUND("no payout job for this period"),
+  PAYOUT_NOT_FOUND("no payout computed for this chit and period");
+
+  private final String EnumPayoutConstant;
+}
@@ -0,0 +1,14 @@
+package com.chit.api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ReportEnum {
+
+  REPORT_FORMAT_INVALID("format must be csv or ndjson"),
+  REPORT_PERIOD_INVALID("period must be in YYYY-MM format");
+
+  private final String EnumReportConstant;
+}
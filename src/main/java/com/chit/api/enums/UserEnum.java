@@ -23,7 +23,9 @@ public enum UserEnum {
   USER_PASSWORD_UPDATED("Password Updated successfully"),
   USER_MAIL_SENT("Mail Sent Successfully"),
   USER_EMAIL_EMPTY("name, emailid, message, phoneno and selectedrequest connect be empty"),
-  USER_EMAIL_INVALID("Invalid email address format.");
+  USER_EMAIL_INVALID("Invalid email address format."),
+  USER_HASHING_BUSY("Too many sign-ins in progress, please try again shortly"),
+  USER_TOO_MANY_ATTEMPTS("Too many attempts, please try again later");
 
 
   private final String EnumUserConstant;
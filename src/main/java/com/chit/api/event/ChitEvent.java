@@ -0,0 +1,125 @@
+package com.chit.api.event;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.money.Money;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One mutation of a chit. Only the fields of the event's type are set.
+@Getter
+@Setter
+@Document("chit_event")
+@CompoundIndex(name = "chitId_seq", def = "{'chitId': 1, 'seq': 1}", unique = true)
+public class ChitEvent {
+
+  public static final String CHIT_CREATED = "CHIT_CREATED";
+  public static final String SLOT_LINKED = "SLOT_LINKED";
+  public static final String SLOT_SPLIT = "SLOT_SPLIT";
+  public static final String PAYMENT_POSTED = "PAYMENT_POSTED";
+  public static final String PAYMENT_ADJUSTED = "PAYMENT_ADJUSTED";
+  public static final String AUCTION_WON = "AUCTION_WON";
+  public static final String CHIT_DELETED = "CHIT_DELETED";
+  public static final String CHIT_ARCHIVED = "CHIT_ARCHIVED";
+  public static final String CHIT_OPENED = "CHIT_OPENED";
+  public static final String INSTALLMENT_DUE = "INSTALLMENT_DUE";
+  public static final String CHIT_CLOSED = "CHIT_CLOSED";
+
+  // chitId:seq
+  @Id
+  private String id;
+  private Long chitId;
+  private long seq;
+  private String type;
+  private Instant occurredAt;
+  private String chitname;
+  private Money amount;
+  private Money installment;
+  private String tenure;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private Integer totalSlots;
+  private Integer slotId;
+  private String userNumber;
+  private Boolean slotClaimed;
+  private String period;
+
+  public static String eventKey(long chitId, long seq) {
+    return chitId + ":" + seq;
+  }
+
+  public static ChitEvent created(ChitDBModel chitDBModel) {
+    ChitEvent event = of(chitDBModel.getId(), CHIT_CREATED);
+    event.setChitname(chitDBModel.getChitname());
+    event.setAmount(chitDBModel.getAmount());
+    event.setInstallment(chitDBModel.getInstallment());
+    event.setTenure(chitDBModel.getTenure());
+    event.setStartDate(chitDBModel.getStartDate());
+    event.setEndDate(chitDBModel.getEndDate());
+    event.setTotalSlots(chitDBModel.getTotalSlots());
+    return event;
+  }
+
+  public static ChitEvent linked(long chitId, int slotId, String userNumber, Money amount,
+      boolean split, boolean slotClaimed) {
+    ChitEvent event = of(chitId, split ? SLOT_SPLIT : SLOT_LINKED);
+    event.setSlotId(slotId);
+    event.setUserNumber(userNumber);
+    event.setAmount(amount);
+    event.setSlotClaimed(slotClaimed);
+    return event;
+  }
+
+  public static ChitEvent paid(long chitId, String userNumber, String period, Money amount,
+      boolean adjustment) {
+    ChitEvent event = of(chitId, adjustment ? PAYMENT_ADJUSTED : PAYMENT_POSTED);
+    event.setUserNumber(userNumber);
+    event.setPeriod(period);
+    event.setAmount(amount);
+    return event;
+  }
+
+  public static ChitEvent auctionWon(long chitId, String period, int slotId, String userNumber,
+      Money discount) {
+    ChitEvent event = of(chitId, AUCTION_WON);
+    event.setPeriod(period);
+    event.setSlotId(slotId);
+    event.setUserNumber(userNumber);
+    event.setAmount(discount);
+    return event;
+  }
+
+  public static ChitEvent deleted(long chitId) {
+    return of(chitId, CHIT_DELETED);
+  }
+
+  public static ChitEvent archived(long chitId) {
+    return of(chitId, CHIT_ARCHIVED);
+  }
+
+  public static ChitEvent opened(long chitId) {
+    return of(chitId, CHIT_OPENED);
+  }
+
+  public static ChitEvent installmentDue(long chitId, String period) {
+    ChitEvent event = of(chitId, INSTALLMENT_DUE);
+    event.setPeriod(period);
+    return event;
+  }
+
+  public static ChitEvent closed(long chitId) {
+    return of(chitId, CHIT_CLOSED);
+  }
+
+  private static ChitEvent of(long chitId, String type) {
+    ChitEvent event = new ChitEvent();
+    event.setChitId(chitId);
+    event.setType(type);
+    event.setOccurredAt(Instant.now());
+    return event;
+  }
+}
@@ -0,0 +1,74 @@
+package com.chit.api.event;
+
+import com.chit.api.dao.model.Sequence;
+import com.chit.api.sequence.SequenceService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ChitEventStore {
+
+  private static final String EVENT_SEQUENCE = "chit_event:";
+
+  @Autowired
+  private SequenceService sequenceService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ChitSnapshotter chitSnapshotter;
+
+  public void append(ChitEvent event) {
+    appendAll(List.of(event));
+  }
+
+  // Events are recorded after the chit write they describe. A failure here is logged rather
+  // than thrown because that write has already happened; the replay audit reports the chit.
+  public void appendAll(List<ChitEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    Map<Long, List<ChitEvent>> eventsByChit = events.stream()
+        .collect(Collectors.groupingBy(ChitEvent::getChitId, LinkedHashMap::new,
+            Collectors.toList()));
+    try {
+      // One block of sequence numbers per chit keeps each chit's events in order. The block is
+      // taken before the insert, so a failed insert leaves a gap in the chit's seq; replay only
+      // reads events in seq order and does not need it to be contiguous.
+      eventsByChit.forEach((chitId, chitEvents) -> {
+        long firstSeq = sequenceService.generateSequenceBlock(EVENT_SEQUENCE + chitId,
+            chitEvents.size());
+        for (int i = 0; i < chitEvents.size(); i++) {
+          ChitEvent event = chitEvents.get(i);
+          event.setSeq(firstSeq + i);
+          event.setId(ChitEvent.eventKey(chitId, firstSeq + i));
+        }
+      });
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, ChitEvent.class).insert(events).execute();
+    } catch (RuntimeException e) {
+      log.error("Failed to record {} chit events", events.size(), e);
+      return;
+    }
+    eventsByChit.forEach((chitId, chitEvents) -> chitSnapshotter.appended(chitId,
+        chitEvents.get(0).getSeq(), chitEvents.get(chitEvents.size() - 1).getSeq()));
+  }
+
+  public void clear() {
+    log.info("Entered clear chit events method...");
+    mongoTemplate.remove(new Query(), ChitEvent.class);
+    mongoTemplate.remove(new Query(), ChitSnapshot.class);
+    mongoTemplate.remove(new Query(Criteria.where("id").regex("^" + EVENT_SEQUENCE)),
+        Sequence.class);
+  }
+}
@@ -0,0 +1,175 @@
+package com.chit.api.event;
+
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.EventConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.globalexceptions.ChitApiException;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.response.model.ReplayResponse;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ChitReplayService {
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ChitRepo chitRepo;
+
+  @Autowired
+  private EventConfig eventConfig;
+
+  @Autowired
+  private CounterService counterService;
+
+  @Autowired
+  private ChitCache chitCache;
+
+  // Latest snapshot plus the events after it, read in seq order from the chitId_seq index
+  public ChitState replay(long chitId) {
+    ChitSnapshot snapshot = mongoTemplate.findById(chitId, ChitSnapshot.class);
+    ChitState state = snapshot != null && snapshot.getState() != null ? snapshot.getState()
+        : new ChitState(chitId);
+    state.setChitId(chitId);
+    state.setSeq(snapshot != null ? snapshot.getSeq() : 0);
+    try (Stream<ChitEvent> events = mongoTemplate.stream(
+        new Query(Criteria.where("chitId").is(chitId).and("seq").gt(state.getSeq()))
+            .with(Sort.by("seq")),
+        ChitEvent.class)) {
+      events.forEach(state::apply);
+    }
+    return state;
+  }
+
+  public ChitState replay(String chitname) {
+    log.info("Entered replay chit service method...");
+    ChitDBModel chitDBModel = chitRepo.findByChitname(chitname);
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", chitname);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    return replay(chitDBModel.getId());
+  }
+
+  // Replays every chit with a document or an event across replay-parallelism threads and
+  // compares the result with the stored document; repair writes the replayed balances back.
+  // A repair only lands on the document version that was compared, so a chit written during
+  // the audit is reported as changed rather than overwritten with a stale replay.
+  public ReplayResponse replayAll(boolean repair) {
+    log.info("Entered replay all chits service method...");
+    long started = System.nanoTime();
+    Map<Long, ChitDBModel> documents = new HashMap<>();
+    Query documentQuery = new Query();
+    documentQuery.fields().include("balanceAmount", "freeSlots", "version");
+    try (Stream<ChitDBModel> chits = mongoTemplate.stream(documentQuery, ChitDBModel.class)) {
+      chits.forEach(chitDBModel -> documents.put(chitDBModel.getId(), chitDBModel));
+    }
+    Set<Long> chitIds = new TreeSet<>(documents.keySet());
+    chitIds.addAll(mongoTemplate.findDistinct(new Query(), "chitId", ChitEvent.class,
+        Long.class));
+
+    List<ChitState> mismatched = replayParallel(chitIds).stream()
+        .filter(state -> mismatch(state, documents.get(state.getChitId())))
+        .toList();
+    List<ChitState> repairable = repair ? repairable(mismatched, documents) : List.of();
+    int repaired = repair(repairable, documents);
+    int changed = repairable.size() - repaired;
+    if (repaired > 0) {
+      // repaired balances and free slots bypass the per-write $inc
+      counterService.rebuild();
+    }
+
+    ReplayResponse replayResponse = new ReplayResponse();
+    replayResponse.setChits(chitIds.size());
+    replayResponse.setMismatched(mismatched.size());
+    replayResponse.setRepaired(repaired);
+    replayResponse.setChangedDuringAudit(changed);
+    replayResponse.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    replayResponse.setMismatchedChits(mismatched.stream()
+        .limit(eventConfig.getMaxReportedMismatches())
+        .map(ChitState::getChitId)
+        .toList());
+    log.info("Replayed {} chits in {} ms, {} mismatched, {} repaired, {} changed during audit",
+        chitIds.size(), replayResponse.getDurationMs(), mismatched.size(), repaired, changed);
+    return replayResponse;
+  }
+
+  private List<ChitState> replayParallel(Collection<Long> chitIds) {
+    ForkJoinPool pool = new ForkJoinPool(Math.max(1, eventConfig.getReplayParallelism()));
+    try {
+      return pool.submit(() -> chitIds.parallelStream().map(this::replay).toList()).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ChitApiException(ChitEnum.CHIT_REPLAY_FAILED.getEnumChitConstant(), e);
+    } catch (ExecutionException e) {
+      log.error("Chit replay failed", e.getCause());
+      throw new ChitApiException(ChitEnum.CHIT_REPLAY_FAILED.getEnumChitConstant(),
+          e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private boolean mismatch(ChitState state, ChitDBModel chitDBModel) {
+    if (chitDBModel == null) {
+      return !state.isDeleted() && !state.isArchived();
+    }
+    return state.isDeleted() || state.isArchived() || state.getChitname() == null
+        || !Objects.equals(state.getBalanceAmount(), chitDBModel.getBalanceAmount())
+        || state.getFreeSlots() != chitDBModel.getFreeSlots();
+  }
+
+  // Only documents that still exist are repaired; a chit whose document is gone is reported
+  private List<ChitState> repairable(List<ChitState> mismatched,
+      Map<Long, ChitDBModel> documents) {
+    return mismatched.stream()
+        .filter(state -> documents.containsKey(state.getChitId()))
+        .filter(state -> !state.isDeleted() && !state.isArchived()
+            && state.getChitname() != null)
+        .toList();
+  }
+
+  // Returns the repairs that landed; the rest missed the version guard
+  private int repair(List<ChitState> repairable, Map<Long, ChitDBModel> documents) {
+    if (repairable.isEmpty()) {
+      return 0;
+    }
+    BulkOperations chitOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+        ChitDBModel.class);
+    repairable.forEach(state -> chitOperations.updateOne(
+        new Query(Criteria.where("id").is(state.getChitId())
+            .and("version").is(documents.get(state.getChitId()).getVersion())),
+        new Update()
+            .set("balanceAmount", state.getBalanceAmount())
+            .set("freeSlots", state.getFreeSlots())
+            .inc("version", 1)));
+    int repaired = chitOperations.execute().getMatchedCount();
+    chitCache.invalidateAll(repairable.stream().map(ChitState::getChitId).toList());
+    return repaired;
+  }
+}
@@ -0,0 +1,20 @@
+package com.chit.api.event;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Document("chit_snapshot")
+public class ChitSnapshot {
+
+  // the chit id; only the latest snapshot of a chit is kept
+  @Id
+  private Long id;
+  private long seq;
+  private Instant takenAt;
+  private ChitState state;
+}
@@ -0,0 +1,145 @@
+package com.chit.api.event;
+
+import com.chit.api.config.EventConfig;
+import com.chit.api.dao.model.ChitDBModel;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// Snapshots a chit as soon as it crosses every snapshot-every events, and on a timer for chits
+// with fewer new events, so a replay never has to fold more than a bounded tail.
+@Component
+@Slf4j
+public class ChitSnapshotter {
+
+  private static final int BASELINE_BATCH = 1000;
+
+  private final ChitReplayService chitReplayService;
+  private final MongoTemplate mongoTemplate;
+  private final EventConfig eventConfig;
+  private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService executor;
+
+  public ChitSnapshotter(ChitReplayService chitReplayService, MongoTemplate mongoTemplate,
+      EventConfig eventConfig) {
+    this.chitReplayService = chitReplayService;
+    this.mongoTemplate = mongoTemplate;
+    this.eventConfig = eventConfig;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chit-snapshotter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::snapshotPending, eventConfig.getSnapshotIntervalMs(),
+        eventConfig.getSnapshotIntervalMs(), TimeUnit.MILLISECONDS);
+  }
+
+  public void appended(long chitId, long firstSeq, long lastSeq) {
+    pending.add(chitId);
+    long every = Math.max(1, eventConfig.getSnapshotEvery());
+    if ((firstSeq - 1) / every != lastSeq / every) {
+      executor.execute(() -> snapshot(chitId));
+    }
+  }
+
+  public void snapshot(long chitId) {
+    // cleared first, so events appended while replaying mark the chit again
+    pending.remove(chitId);
+    try {
+      ChitState state = chitReplayService.replay(chitId);
+      if (state.getSeq() > 0) {
+        save(state);
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to snapshot chit {}", chitId, e);
+      pending.add(chitId);
+    }
+  }
+
+  // Chits that existed before events were recorded get a snapshot of their document at seq 0
+  @Order(5)
+  @EventListener(ApplicationReadyEvent.class)
+  public void baselineSnapshots() {
+    log.info("Entered baseline snapshots method...");
+    Set<Long> snapshotted = new HashSet<>(mongoTemplate.findDistinct(new Query(), "id",
+        ChitSnapshot.class, Long.class));
+    List<ChitSnapshot> baselines = new ArrayList<>(BASELINE_BATCH);
+    int written = 0;
+    try (Stream<ChitDBModel> chits = mongoTemplate.stream(new Query(), ChitDBModel.class)) {
+      for (ChitDBModel chitDBModel : (Iterable<ChitDBModel>) chits::iterator) {
+        if (snapshotted.contains(chitDBModel.getId())) {
+          continue;
+        }
+        ChitSnapshot snapshot = new ChitSnapshot();
+        snapshot.setId(chitDBModel.getId());
+        snapshot.setTakenAt(Instant.now());
+        snapshot.setState(ChitState.of(chitDBModel));
+        baselines.add(snapshot);
+        if (baselines.size() >= BASELINE_BATCH) {
+          written += insertBaselines(baselines);
+          baselines.clear();
+        }
+      }
+    }
+    if (!baselines.isEmpty()) {
+      written += insertBaselines(baselines);
+    }
+    log.info("Wrote {} baseline chit snapshots", written);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void snapshotPending() {
+    for (Long chitId : List.copyOf(pending)) {
+      snapshot(chitId);
+    }
+  }
+
+  // Guarded on seq, so a slower snapshot never replaces a newer one
+  private void save(ChitState state) {
+    try {
+      mongoTemplate.upsert(new Query(Criteria.where("id").is(state.getChitId())
+              .and("seq").lt(state.getSeq())),
+          new Update()
+              .set("seq", state.getSeq())
+              .set("takenAt", Instant.now())
+              .set("state", state),
+          ChitSnapshot.class);
+    } catch (DuplicateKeyException e) {
+      log.debug("Newer snapshot of chit {} already stored", state.getChitId());
+    }
+  }
+
+  private int insertBaselines(List<ChitSnapshot> baselines) {
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, ChitSnapshot.class).insert(baselines).execute();
+      return baselines.size();
+    } catch (BulkOperationException e) {
+      // a chit snapshotted meanwhile already has a newer snapshot
+      return baselines.size() - e.getErrors().size();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.chit.api.event;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.money.Money;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+
+// The chit as folded from its events; seq is the last event applied
+@Getter
+@Setter
+public class ChitState {
+
+  private Long chitId;
+  private long seq;
+  private String chitname;
+  private Money amount;
+  private Money installment;
+  private String tenure;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private int totalSlots;
+  private Money balanceAmount = Money.ZERO;
+  private int freeSlots;
+  private Money collected = Money.ZERO;
+  private Money adjusted = Money.ZERO;
+  private int prizedSlots;
+  private String lastAuctionPeriod;
+  private boolean opened;
+  private String lastDuePeriod;
+  private boolean closed;
+  private boolean deleted;
+  // moved to chit_archive; its balances are no longer compared with a chit document
+  private boolean archived;
+
+  public ChitState() {
+  }
+
+  public ChitState(long chitId) {
+    this.chitId = chitId;
+  }
+
+  // Baseline for chits that existed before their events were recorded
+  public static ChitState of(ChitDBModel chitDBModel) {
+    ChitState state = new ChitState(chitDBModel.getId());
+    state.chitname = chitDBModel.getChitname();
+    state.amount = chitDBModel.getAmount();
+    state.installment = chitDBModel.getInstallment();
+    state.tenure = chitDBModel.getTenure();
+    state.startDate = chitDBModel.getStartDate();
+    state.endDate = chitDBModel.getEndDate();
+    state.totalSlots = chitDBModel.getTotalSlots();
+    state.balanceAmount = chitDBModel.getBalanceAmount();
+    state.freeSlots = chitDBModel.getFreeSlots();
+    return state;
+  }
+
+  public void apply(ChitEvent event) {
+    switch (event.getType()) {
+      case ChitEvent.CHIT_CREATED -> {
+        chitname = event.getChitname();
+        amount = event.getAmount();
+        installment = event.getInstallment();
+        tenure = event.getTenure();
+        startDate = event.getStartDate();
+        endDate = event.getEndDate();
+        totalSlots = event.getTotalSlots();
+        balanceAmount = event.getAmount();
+        freeSlots = event.getTotalSlots();
+        collected = Money.ZERO;
+        adjusted = Money.ZERO;
+        prizedSlots = 0;
+        lastAuctionPeriod = null;
+        opened = false;
+        lastDuePeriod = null;
+        closed = false;
+        deleted = false;
+        archived = false;
+      }
+      case ChitEvent.SLOT_LINKED, ChitEvent.SLOT_SPLIT -> {
+        balanceAmount = balanceAmount.minus(event.getAmount());
+        if (Boolean.TRUE.equals(event.getSlotClaimed())) {
+          freeSlots--;
+        }
+      }
+      case ChitEvent.PAYMENT_POSTED -> collected = collected.plus(event.getAmount());
+      case ChitEvent.PAYMENT_ADJUSTED -> adjusted = adjusted.plus(event.getAmount());
+      case ChitEvent.AUCTION_WON -> {
+        prizedSlots++;
+        lastAuctionPeriod = event.getPeriod();
+      }
+      case ChitEvent.CHIT_DELETED -> deleted = true;
+      case ChitEvent.CHIT_ARCHIVED -> archived = true;
+      case ChitEvent.CHIT_OPENED -> opened = true;
+      case ChitEvent.INSTALLMENT_DUE -> lastDuePeriod = event.getPeriod();
+      case ChitEvent.CHIT_CLOSED -> closed = true;
+      default -> {
+        // unknown types come from newer code; they still advance seq
+      }
+    }
+    seq = event.getSeq();
+  }
+}
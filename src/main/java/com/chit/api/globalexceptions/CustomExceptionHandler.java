@@ -1,5 +1,6 @@
 package com.chit.api.globalexceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -35,6 +36,36 @@ public class CustomExceptionHandler {
     return new ResponseEntity<>(resourceExistsException, HttpStatus.CONFLICT);
   }
 
+  @ExceptionHandler(value = {ConflictException.class})
+  public ResponseEntity<Object> handleConflict(ConflictException conflict) {
+    Exception conflictException = new Exception(
+        conflict.getMessage()
+    );
+
+    return new ResponseEntity<>(conflictException, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(value = {ServiceUnavailableException.class})
+  public ResponseEntity<Object> handleServiceUnavailable(
+      ServiceUnavailableException serviceUnavailable) {
+    Exception serviceUnavailableException = new Exception(
+        serviceUnavailable.getMessage()
+    );
+
+    return new ResponseEntity<>(serviceUnavailableException, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(value = {TooManyRequestsException.class})
+  public ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException tooManyRequests) {
+    Exception tooManyRequestsException = new Exception(
+        tooManyRequests.getMessage()
+    );
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooManyRequests.getRetryAfterSeconds()))
+        .body(tooManyRequestsException);
+  }
+
   @ExceptionHandler(value = {ChitApiException.class})
   public ResponseEntity<Object> handleBadRequest(ChitApiException ChitApiExists) {
     Exception chitApiException = new Exception(
@@ -0,0 +1,70 @@
+package com.chit.api.index;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+@Component
+@Slf4j
+public class IndexManager {
+
+  private static final String MODEL_PACKAGE = "com.chit.api";
+
+  private final MongoTemplate mongoTemplate;
+
+  public IndexManager(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  // Index builds on a live collection can take a while, so they run off the startup thread
+  @Order(0)
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildIndexes() {
+    log.info("Entered build indexes method...");
+    Thread indexBuilder = new Thread(this::ensureIndexes, "index-builder");
+    indexBuilder.setDaemon(true);
+    indexBuilder.start();
+  }
+
+  // Creates the indexes declared with @Indexed / @CompoundIndex on every @Document model
+  public void ensureIndexes() {
+    MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(
+        mongoTemplate.getConverter().getMappingContext());
+    for (Class<?> model : documentModels()) {
+      IndexOperations indexOperations = mongoTemplate.indexOps(model);
+      indexResolver.resolveIndexFor(model).forEach(index -> {
+        try {
+          String indexName = indexOperations.ensureIndex(index);
+          log.info("Ensured index {} on {}", indexName, mongoTemplate.getCollectionName(model));
+        } catch (DataAccessException e) {
+          // e.g. existing duplicates block a unique index; the other indexes are still built
+          log.error("Failed to build index {} on {}: {}", index.getIndexKeys(),
+              mongoTemplate.getCollectionName(model), e.getMessage());
+        }
+      });
+    }
+  }
+
+  private List<Class<?>> documentModels() {
+    ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false);
+    scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+    return scanner.findCandidateComponents(MODEL_PACKAGE).stream()
+        .map(BeanDefinition::getBeanClassName)
+        .<Class<?>>map(className -> ClassUtils.resolveClassName(className,
+            IndexManager.class.getClassLoader()))
+        .toList();
+  }
+}
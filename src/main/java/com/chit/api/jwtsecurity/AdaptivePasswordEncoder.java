@@ -0,0 +1,157 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.PasswordConfig;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Hashes with the configured algorithm at a cost calibrated on this hardware, and checks hashes
+// of any algorithm and cost. Every hash carries its algorithm as an {id} prefix and its cost in
+// the hash itself ($2a$12$... or $argon2id$v=19$m=..,t=..,p=..$...); hashes stored before the
+// prefix are bcrypt. upgradeEncoding tells a caller that still has the password to rehash it.
+//
+// Instances on different hardware can calibrate a step apart, so a hash up to twice the policy
+// cost is left alone; otherwise a user signing in through each instance in turn would be
+// rehashed on every sign-in.
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+  public static final String BCRYPT = "bcrypt";
+  public static final String ARGON2 = "argon2";
+
+  private static final String BCRYPT_PREFIX = "{" + BCRYPT + "}";
+  private static final String ARGON2_PREFIX = "{" + ARGON2 + "}";
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+  private static final Pattern ARGON2_COST = Pattern.compile(
+      "^\\$argon2id\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+  private static final int SALT_LENGTH = 16;
+  private static final int HASH_LENGTH = 32;
+  // the fastest of a few hashes, so JIT warm-up does not inflate the estimate
+  private static final int CALIBRATION_HASHES = 3;
+
+  private final String algorithm;
+  private final int bcryptStrength;
+  private final int argon2MemoryKb;
+  private final int argon2Iterations;
+  private final PasswordEncoder encoder;
+  // both read the cost from the hash they check, so one of each checks any cost
+  private final PasswordEncoder bcryptVerifier = new BCryptPasswordEncoder();
+  private final PasswordEncoder argon2Verifier;
+
+  public AdaptivePasswordEncoder(String algorithm, int bcryptStrength, int argon2MemoryKb,
+      int argon2Iterations, int argon2Parallelism) {
+    this.algorithm = algorithm;
+    this.bcryptStrength = bcryptStrength;
+    this.argon2MemoryKb = argon2MemoryKb;
+    this.argon2Iterations = argon2Iterations;
+    this.argon2Verifier = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, argon2Parallelism,
+        argon2MemoryKb, argon2Iterations);
+    if (BCRYPT.equals(algorithm)) {
+      this.encoder = new BCryptPasswordEncoder(bcryptStrength);
+    } else if (ARGON2.equals(algorithm)) {
+      this.encoder = argon2Verifier;
+    } else {
+      throw new IllegalArgumentException("Unknown password algorithm: " + algorithm);
+    }
+  }
+
+  public static AdaptivePasswordEncoder calibrated(PasswordConfig passwordConfig) {
+    String algorithm = passwordConfig.getAlgorithm();
+    int bcryptStrength = passwordConfig.getBcryptStrength();
+    int argon2Iterations = passwordConfig.getArgon2Iterations();
+    if (passwordConfig.isCalibrate()) {
+      long targetNanos = passwordConfig.getTargetMs() * 1_000_000;
+      if (ARGON2.equals(algorithm)) {
+        // time grows linearly with the iterations
+        long oneIteration = fastestHash(new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH,
+            passwordConfig.getArgon2Parallelism(), passwordConfig.getArgon2MemoryKb(), 1));
+        argon2Iterations = (int) Math.max(passwordConfig.getMinArgon2Iterations(),
+            Math.min(passwordConfig.getMaxArgon2Iterations(), targetNanos / oneIteration));
+      } else {
+        // each strength step doubles the time
+        bcryptStrength = passwordConfig.getMinBcryptStrength();
+        long estimate = fastestHash(new BCryptPasswordEncoder(bcryptStrength));
+        while (bcryptStrength < passwordConfig.getMaxBcryptStrength()
+            && estimate * 2 <= targetNanos) {
+          bcryptStrength++;
+          estimate *= 2;
+        }
+      }
+    }
+    AdaptivePasswordEncoder adaptivePasswordEncoder = new AdaptivePasswordEncoder(algorithm,
+        bcryptStrength, passwordConfig.getArgon2MemoryKb(), argon2Iterations,
+        passwordConfig.getArgon2Parallelism());
+    if (ARGON2.equals(algorithm)) {
+      log.info("Hashing passwords with argon2id, {} KiB and {} iterations",
+          passwordConfig.getArgon2MemoryKb(), argon2Iterations);
+    } else {
+      log.info("Hashing passwords with bcrypt at strength {}", bcryptStrength);
+    }
+    return adaptivePasswordEncoder;
+  }
+
+  private static long fastestHash(PasswordEncoder passwordEncoder) {
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < CALIBRATION_HASHES; i++) {
+      long started = System.nanoTime();
+      passwordEncoder.encode("calibration");
+      fastest = Math.min(fastest, System.nanoTime() - started);
+    }
+    return Math.max(1, fastest);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return (BCRYPT.equals(algorithm) ? BCRYPT_PREFIX : ARGON2_PREFIX)
+        + encoder.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    if (encodedPassword.startsWith(ARGON2_PREFIX)) {
+      return argon2Verifier.matches(rawPassword,
+          encodedPassword.substring(ARGON2_PREFIX.length()));
+    }
+    if (encodedPassword.startsWith(BCRYPT_PREFIX)) {
+      return bcryptVerifier.matches(rawPassword,
+          encodedPassword.substring(BCRYPT_PREFIX.length()));
+    }
+    return bcryptVerifier.matches(rawPassword, encodedPassword);
+  }
+
+  // true when the hash is of another algorithm, below the policy cost, or over twice it
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    if (BCRYPT.equals(algorithm)) {
+      if (!encodedPassword.startsWith(BCRYPT_PREFIX)) {
+        return true;
+      }
+      Matcher cost = BCRYPT_COST.matcher(encodedPassword.substring(BCRYPT_PREFIX.length()));
+      if (!cost.find()) {
+        return true;
+      }
+      int strength = Integer.parseInt(cost.group(1));
+      return strength < bcryptStrength || strength > bcryptStrength + 1;
+    }
+    if (!encodedPassword.startsWith(ARGON2_PREFIX)) {
+      return true;
+    }
+    Matcher cost = ARGON2_COST.matcher(encodedPassword.substring(ARGON2_PREFIX.length()));
+    if (!cost.find()) {
+      return true;
+    }
+    long memoryKb = Long.parseLong(cost.group(1));
+    long work = memoryKb * Long.parseLong(cost.group(2));
+    long policyWork = (long) argon2MemoryKb * argon2Iterations;
+    return memoryKb < argon2MemoryKb || work < policyWork || work > policyWork * 2;
+  }
+}
@@ -1,17 +1,24 @@
 package com.chit.api.jwtsecurity;
 
+import com.chit.api.config.AuthConfig;
+import com.chit.api.config.SecurityConfig;
 import com.chit.api.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -19,29 +26,41 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+  private static final List<RequestMatcher> PUBLIC_PATHS = Arrays.stream(
+      SecurityConfig.PUBLIC_PATHS).<RequestMatcher>map(AntPathRequestMatcher::new).toList();
+
   @Autowired
   private UserService userService;
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private JwtVerifier jwtVerifier;
+
+  @Autowired
+  private AuthConfig authConfig;
+
+  @Autowired
+  private TokenRevocations tokenRevocations;
+
+  // public paths are permitted whatever the token, so it is not even parsed
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return PUBLIC_PATHS.stream().anyMatch(matcher -> matcher.matches(request));
+  }
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
       FilterChain chain) throws ServletException, IOException {
-    log.info("Entered do filter internal method...");
     final String authorizationHeader = request.getHeader("Authorization");
 
-    String number = null;
     String jwt = null;
-
     if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
       jwt = authorizationHeader.substring(7);
-      number = jwtUtil.extractUsername(jwt);
     }
 
-    if (number != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userService.loadUserByUsername(number);
-      if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+    if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+      UserDetails userDetails = authConfig.isStateless() ? userFromClaims(jwt)
+          : userFromDatabase(jwt);
+      if (userDetails != null) {
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
             new UsernamePasswordAuthenticationToken(userDetails, null,
                 userDetails.getAuthorities());
@@ -52,4 +71,38 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
     chain.doFilter(request, response);
   }
-}
\ No newline at end of file
+
+  // Everything the principal needs is in the signed claims; only revocation is checked, and that
+  // in memory
+  private UserDetails userFromClaims(String jwt) {
+    VerifiedToken verifiedToken = verify(jwt);
+    if (verifiedToken == null) {
+      return null;
+    }
+    String number = verifiedToken.subject();
+    if (number == null || tokenRevocations.isRevoked(number, verifiedToken.tokenVersion())) {
+      log.warn("Rejected revoked token of user {}", number);
+      return null;
+    }
+    return new TokenUser(number, verifiedToken.usertype(), verifiedToken.tokenVersion(),
+        verifiedToken.authorities());
+  }
+
+  private UserDetails userFromDatabase(String jwt) {
+    VerifiedToken verifiedToken = verify(jwt);
+    if (verifiedToken == null || verifiedToken.subject() == null) {
+      return null;
+    }
+    UserDetails userDetails = this.userService.loadUserByUsername(verifiedToken.subject());
+    return verifiedToken.subject().equals(userDetails.getUsername()) ? userDetails : null;
+  }
+
+  private VerifiedToken verify(String jwt) {
+    try {
+      return jwtVerifier.verify(jwt);
+    } catch (JwtException | IllegalArgumentException e) {
+      log.warn("Rejected token: {}", e.getMessage());
+      return null;
+    }
+  }
+}
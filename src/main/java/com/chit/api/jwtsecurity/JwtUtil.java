@@ -1,10 +1,16 @@
 package com.chit.api.jwtsecurity;
 
+import com.chit.api.dao.model.UserDBModel;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import java.security.Key;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
+import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -13,58 +19,57 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class JwtUtil {
 
-  private final String secret;
+  public static final String USER_TYPE = "usertype";
+  public static final String AUTHORITIES = "authorities";
+  public static final String TOKEN_VERSION = "ver";
+  // the only authority users are granted
+  public static final String USER_AUTHORITY = "USER";
+
   private final long expiration;
+  // the secret is decoded and the parser built once; both are immutable and thread-safe
+  private final Key signingKey;
+  private final JwtParser jwtParser;
 
   public JwtUtil(@Value("${jwt.secret}") String secret,
       @Value("${jwt.expiration}") long expiration) {
-    this.secret = secret;
     this.expiration = expiration;
+    this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(secret),
+        SignatureAlgorithm.HS256.getJcaName());
+    this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
   }
 
   public String extractUsername(String token) {
-    log.info("Entered extract username method...");
     return extractClaim(token, Claims::getSubject);
   }
 
   public Date extractExpiration(String token) {
-    log.info("Entered extract expiration method...");
     return extractClaim(token, Claims::getExpiration);
   }
 
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    log.info("Entered extract claim method...");
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
-  }
-
-  private Claims extractAllClaims(String token) {
-    log.info("Entered extract all claims method...");
-    return Jwts.parserBuilder()
-        .setSigningKey(secret)
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+    return claimsResolver.apply(parseClaims(token));
   }
 
-  private Boolean isTokenExpired(String token) {
-    log.info("Entered is token expired method...");
-    return extractExpiration(token).before(new Date());
+  // Verifies the signature and expiry; throws JwtException when either fails
+  public Claims parseClaims(String token) {
+    return jwtParser.parseClaimsJws(token).getBody();
   }
 
-  public String generateToken(String username) {
+  public String generateToken(UserDBModel userDBModel) {
     log.info("Entered generate token method...");
     return Jwts.builder()
-        .setSubject(username)
+        .setSubject(userDBModel.getNumber())
+        .claim(USER_TYPE, userDBModel.getUsertype())
+        .claim(AUTHORITIES, List.of(USER_AUTHORITY))
+        .claim(TOKEN_VERSION, userDBModel.getTokenVersion())
         .setIssuedAt(new Date(System.currentTimeMillis()))
         .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
-        .signWith(SignatureAlgorithm.HS256, secret)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
+  // one parse; an expired token already fails it, so expiry needs no second look
   public Boolean validateToken(String token, String username) {
-    log.info("Entered validate token method...");
-    final String extractedUsername = extractUsername(token);
-    return (extractedUsername.equals(username) && !isTokenExpired(token));
+    return username.equals(parseClaims(token).getSubject());
   }
 }
@@ -0,0 +1,87 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.AuthConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.stereotype.Component;
+
+// Verifies a bearer token with one parse and remembers the result until the token expires, so a
+// client sending the same token on every request pays for the HMAC and JSON parse once. Entries
+// are keyed by a SHA-256 digest of the token rather than the token itself, and each one expires
+// at its token's exp, so a cached token is never accepted after the parser would refuse it.
+// Tokens that fail verification are not cached. Revocation is not cached either; callers still
+// check it on every request.
+@Component
+public class JwtVerifier {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  private final JwtUtil jwtUtil;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  public JwtVerifier(JwtUtil jwtUtil, AuthConfig authConfig, MeterRegistry meterRegistry) {
+    this.jwtUtil = jwtUtil;
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(authConfig.getVerifiedTokenCacheSize())
+        .expireAfter(new UntilTokenExpiry())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+  }
+
+  // throws JwtException or IllegalArgumentException when the token is not valid
+  public VerifiedToken verify(String token) {
+    String digest = digest(token);
+    VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+    if (verifiedToken != null) {
+      return verifiedToken;
+    }
+    verifiedToken = VerifiedToken.of(jwtUtil.parseClaims(token));
+    // a token without an expiry would stay valid for ever; it is verified every time instead
+    if (verifiedToken.expiresAt() != null) {
+      verifiedTokens.put(digest, verifiedToken);
+    }
+    return verifiedToken;
+  }
+
+  // UTF-8 so that tokens differing only in non-ASCII characters never share a digest
+  private String digest(String token) {
+    return Base64.getEncoder().withoutPadding().encodeToString(
+        SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), verifiedToken.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String digest, VerifiedToken verifiedToken, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(digest, verifiedToken, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String digest, VerifiedToken verifiedToken, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
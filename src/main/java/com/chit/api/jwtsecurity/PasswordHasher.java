@@ -0,0 +1,89 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.HashingConfig;
+import com.chit.api.enums.UserEnum;
+import com.chit.api.globalexceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// Runs every password hash on a pool of one thread per core with a bounded queue. A burst of
+// sign-ins then uses at most the cores it is given, and the request threads waiting on it are
+// limited to the queue: once that is full, or a hash waits longer than wait-ms, the request is
+// refused with 503 instead of holding a Tomcat thread that other endpoints need.
+@Component
+@Slf4j
+public class PasswordHasher {
+
+  private final PasswordEncoder passwordEncoder;
+  private final long waitMs;
+  private final ThreadPoolExecutor executor;
+
+  public PasswordHasher(PasswordEncoder passwordEncoder, HashingConfig hashingConfig) {
+    this.passwordEncoder = passwordEncoder;
+    this.waitMs = hashingConfig.getWaitMs();
+    int threads = hashingConfig.getThreads() > 0 ? hashingConfig.getThreads()
+        : Runtime.getRuntime().availableProcessors();
+    AtomicInteger created = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(hashingConfig.getQueueCapacity()), runnable -> {
+          Thread thread = new Thread(runnable, "chit-hashing-" + created.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  public boolean matches(String password, String encodedPassword) {
+    return hash(() -> passwordEncoder.matches(password, encodedPassword));
+  }
+
+  public String encode(String password) {
+    return hash(() -> passwordEncoder.encode(password));
+  }
+
+  // only reads the algorithm and cost off the hash, so it does not need the pool
+  public boolean needsRehash(String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T hash(Callable<T> hashing) {
+    Future<T> future;
+    try {
+      future = executor.submit(hashing);
+    } catch (RejectedExecutionException e) {
+      log.warn("Refused a password hash, {} already queued", executor.getQueue().size());
+      throw new ServiceUnavailableException(UserEnum.USER_HASHING_BUSY.getEnumUserConstant(), e);
+    }
+    try {
+      return future.get(waitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      log.warn("Refused a password hash that waited over {} ms", waitMs);
+      throw new ServiceUnavailableException(UserEnum.USER_HASHING_BUSY.getEnumUserConstant(), e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(UserEnum.USER_HASHING_BUSY.getEnumUserConstant(), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
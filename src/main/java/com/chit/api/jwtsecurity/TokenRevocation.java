@@ -0,0 +1,25 @@
+package com.chit.api.jwtsecurity;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Tokens of a user below minVersion are refused. Kept only as long as such a token could still
+// be unexpired.
+@Getter
+@Setter
+@Document("token_revocation")
+public class TokenRevocation {
+
+  // user number
+  @Id
+  private String id;
+  private long minVersion;
+  @Indexed
+  private Instant revokedAt;
+  @Indexed(expireAfterSeconds = 0)
+  private Instant expiresAt;
+}
@@ -0,0 +1,152 @@
+package com.chit.api.jwtsecurity;
+
+import com.chit.api.config.AuthConfig;
+import com.chit.api.dao.model.UserDBModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// Every revocation still inside a token lifetime, held in memory so that checking a token never
+// reads the database. Revocations made here apply at once; those made by other instances are
+// picked up from the revokedAt index every revocation-refresh-ms.
+@Component
+@Slf4j
+public class TokenRevocations {
+
+  private static final int BATCH_SIZE = 1000;
+  // tolerated clock difference between instances for the revokedAt watermark
+  private static final long CLOCK_SKEW_MS = 60000;
+
+  private final MongoTemplate mongoTemplate;
+  private final long tokenLifetimeMs;
+  private final Map<String, Revoked> revoked = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor;
+  private volatile Instant refreshedFrom = Instant.EPOCH;
+
+  public TokenRevocations(MongoTemplate mongoTemplate, AuthConfig authConfig,
+      @Value("${jwt.expiration}") long expiration) {
+    this.mongoTemplate = mongoTemplate;
+    this.tokenLifetimeMs = expiration * 1000;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chit-token-revocations");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::refreshOnSchedule, authConfig.getRevocationRefreshMs(),
+        authConfig.getRevocationRefreshMs(), TimeUnit.MILLISECONDS);
+  }
+
+  // loaded before the server takes requests, so no revoked token is let through at startup
+  @PostConstruct
+  public void load() {
+    refresh();
+    log.info("Loaded {} token revocations", revoked.size());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  public boolean isRevoked(String number, long tokenVersion) {
+    Revoked revocation = revoked.get(number);
+    return revocation != null && tokenVersion < revocation.minVersion();
+  }
+
+  // The version a new user with this number starts at, so that tokens of an earlier user with
+  // the same number stay revoked
+  public long minVersion(String number) {
+    TokenRevocation tokenRevocation = mongoTemplate.findById(number, TokenRevocation.class);
+    return tokenRevocation != null ? tokenRevocation.getMinVersion() : 0;
+  }
+
+  public void revoke(String number, long minVersion) {
+    Instant now = Instant.now();
+    mongoTemplate.upsert(new Query(Criteria.where("id").is(number)),
+        revocationUpdate(minVersion, now), TokenRevocation.class);
+    remember(number, minVersion, now.plusMillis(tokenLifetimeMs));
+  }
+
+  // Revokes the tokens of every user, before they are all deleted
+  public void revokeAll() {
+    Instant now = Instant.now();
+    Query query = new Query();
+    query.fields().include("number", "tokenVersion");
+    BulkOperations revocations = mongoTemplate.bulkOps(BulkMode.UNORDERED, TokenRevocation.class);
+    int batched = 0;
+    long total = 0;
+    try (Stream<UserDBModel> users = mongoTemplate.stream(query, UserDBModel.class)) {
+      for (UserDBModel user : (Iterable<UserDBModel>) users::iterator) {
+        long minVersion = user.getTokenVersion() + 1;
+        revocations.upsert(new Query(Criteria.where("id").is(user.getNumber())),
+            revocationUpdate(minVersion, now));
+        remember(user.getNumber(), minVersion, now.plusMillis(tokenLifetimeMs));
+        if (++batched == BATCH_SIZE) {
+          revocations.execute();
+          revocations = mongoTemplate.bulkOps(BulkMode.UNORDERED, TokenRevocation.class);
+          total += batched;
+          batched = 0;
+        }
+      }
+    }
+    if (batched > 0) {
+      revocations.execute();
+      total += batched;
+    }
+    log.info("Revoked the tokens of {} users", total);
+  }
+
+  private Update revocationUpdate(long minVersion, Instant now) {
+    return new Update()
+        .max("minVersion", minVersion)
+        .set("revokedAt", now)
+        .set("expiresAt", now.plusMillis(tokenLifetimeMs));
+  }
+
+  private void refreshOnSchedule() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      log.error("Failed to refresh token revocations", e);
+    }
+  }
+
+  private void refresh() {
+    Instant started = Instant.now();
+    Query query = new Query(Criteria.where("revokedAt").gte(refreshedFrom));
+    try (Stream<TokenRevocation> revocations = mongoTemplate.stream(query,
+        TokenRevocation.class)) {
+      revocations.forEach(revocation -> remember(revocation.getId(),
+          revocation.getMinVersion(), revocation.getExpiresAt()));
+    }
+    // once every token below minVersion has expired the entry no longer refuses anything
+    revoked.values().removeIf(revocation -> revocation.expiresAt().isBefore(started));
+    refreshedFrom = started.minusMillis(CLOCK_SKEW_MS);
+  }
+
+  private void remember(String number, long minVersion, Instant expiresAt) {
+    revoked.merge(number, new Revoked(minVersion, expiresAt), (current, added) ->
+        new Revoked(Math.max(current.minVersion(), added.minVersion()),
+            current.expiresAt().isAfter(added.expiresAt()) ? current.expiresAt()
+                : added.expiresAt()));
+  }
+
+  private record Revoked(long minVersion, Instant expiresAt) {
+
+  }
+}
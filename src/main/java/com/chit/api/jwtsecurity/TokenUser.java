@@ -0,0 +1,21 @@
+package com.chit.api.jwtsecurity;
+
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+// The principal of a request authenticated from token claims alone; it carries no password
+@Getter
+public class TokenUser extends User {
+
+  private final String usertype;
+  private final long tokenVersion;
+
+  public TokenUser(String number, String usertype, long tokenVersion,
+      Collection<? extends GrantedAuthority> authorities) {
+    super(number, "", authorities);
+    this.usertype = usertype;
+    this.tokenVersion = tokenVersion;
+  }
+}
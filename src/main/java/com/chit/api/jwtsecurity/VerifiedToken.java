@@ -0,0 +1,28 @@
+package com.chit.api.jwtsecurity;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+// The claims of a token whose signature and expiry have been checked, read out once so that a
+// cached token can be shared by concurrent requests. Tokens issued before claims were added count
+// as version 0 with the user authority.
+public record VerifiedToken(String subject, String usertype, long tokenVersion,
+    List<GrantedAuthority> authorities, Instant expiresAt) {
+
+  public static VerifiedToken of(Claims claims) {
+    Number tokenVersion = claims.get(JwtUtil.TOKEN_VERSION, Number.class);
+    List<?> authorities = claims.get(JwtUtil.AUTHORITIES, List.class);
+    Date expiration = claims.getExpiration();
+    return new VerifiedToken(claims.getSubject(), claims.get(JwtUtil.USER_TYPE, String.class),
+        tokenVersion != null ? tokenVersion.longValue() : 0,
+        List.copyOf(authorities != null
+            ? AuthorityUtils.createAuthorityList(authorities.stream().map(String::valueOf)
+                .toArray(String[]::new))
+            : AuthorityUtils.createAuthorityList(JwtUtil.USER_AUTHORITY)),
+        expiration != null ? expiration.toInstant() : null);
+  }
+}
@@ -0,0 +1,39 @@
+package com.chit.api.ledger;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Entries are only ever inserted; a wrong posting is corrected with an ADJUSTMENT
+@Getter
+@Setter
+@Document("ledger")
+@CompoundIndexes({
+    @CompoundIndex(name = "chitId_userNumber_period",
+        def = "{'chitId': 1, 'userNumber': 1, 'period': 1}"),
+    @CompoundIndex(name = "userNumber_period", def = "{'userNumber': 1, 'period': 1}"),
+    @CompoundIndex(name = "chitId_period", def = "{'chitId': 1, 'period': 1}")
+})
+public class LedgerEntry {
+
+  public static final String PAYMENT = "PAYMENT";
+  public static final String ADJUSTMENT = "ADJUSTMENT";
+
+  @Id
+  private String id;
+  private Long chitId;
+  private String chitname;
+  private String userNumber;
+  private String period;
+  private String type;
+  private Money amount;
+  private Instant postedAt;
+  @Indexed(unique = true, sparse = true)
+  private String reference;
+}
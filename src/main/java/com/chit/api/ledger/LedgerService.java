@@ -0,0 +1,413 @@
+package com.chit.api.ledger;
+
+import com.chit.api.archive.ArchiveService;
+import com.chit.api.archive.ArchivedChit;
+import com.chit.api.config.LedgerConfig;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.SubSlot;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.enums.LedgerEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.money.Money;
+import com.chit.api.request.model.LedgerEntryRequest;
+import com.chit.api.response.model.LedgerPostResponse;
+import com.chit.api.response.model.LedgerPostResult;
+import com.chit.api.response.model.StatementResponse;
+import com.chit.api.service.SlotService;
+import com.mongodb.bulk.BulkWriteError;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class LedgerService {
+
+  private static final int DUPLICATE_KEY = 11000;
+
+  @Autowired
+  private ChitRepo chitRepo;
+
+  @Autowired
+  private SlotService slotService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private LedgerConfig ledgerConfig;
+
+  @Autowired
+  private ChitEventStore chitEventStore;
+
+  @Autowired
+  private ArchiveService archiveService;
+
+  // One unordered insert for the whole batch followed by one unordered $inc per touched balance
+  public LedgerPostResponse postEntries(List<LedgerEntryRequest> entryRequests) {
+    log.info("Entered post ledger entries service method...");
+    if (entryRequests == null || entryRequests.isEmpty()) {
+      log.error("No ledger entries in the request");
+      throw new BadRequestException(LedgerEnum.LEDGER_ENTRIES_REQUIRED.getEnumLedgerConstant());
+    }
+    if (entryRequests.size() > ledgerConfig.getMaxBatchEntries()) {
+      log.error("Too many ledger entries in one request: {}", entryRequests.size());
+      throw new BadRequestException(LedgerEnum.LEDGER_ENTRIES_LIMIT.getEnumLedgerConstant());
+    }
+    Map<String, ChitDBModel> chits = chitRepo.findByChitnameIn(entryRequests.stream()
+            .filter(Objects::nonNull)
+            .map(LedgerEntryRequest::getChitName)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(ChitDBModel::getChitname, Function.identity()));
+    Set<String> members = memberKeys(chits.values(), entryRequests);
+
+    Instant now = Instant.now();
+    LedgerPostResult[] results = new LedgerPostResult[entryRequests.size()];
+    List<LedgerEntry> entries = new ArrayList<>(entryRequests.size());
+    List<Integer> entryIndexes = new ArrayList<>(entryRequests.size());
+    for (int i = 0; i < entryRequests.size(); i++) {
+      LedgerEntryRequest entryRequest = entryRequests.get(i);
+      try {
+        entries.add(newEntry(entryRequest, chits, members, now));
+        entryIndexes.add(i);
+      } catch (BadRequestException | ResourceNotFoundException e) {
+        results[i] = result(i, entryRequest, null, LedgerPostResult.FAILED, e.getMessage());
+      }
+    }
+
+    List<LedgerEntry> appended = new ArrayList<>(entries.size());
+    if (!entries.isEmpty()) {
+      Map<Integer, String> failures = append(entries);
+      for (int i = 0; i < entries.size(); i++) {
+        int index = entryIndexes.get(i);
+        LedgerEntry entry = entries.get(i);
+        if (failures.containsKey(i)) {
+          results[index] = result(index, entryRequests.get(index), null,
+              LedgerPostResult.FAILED, failures.get(i));
+        } else {
+          appended.add(entry);
+          results[index] = result(index, entryRequests.get(index), entry.getId(),
+              LedgerPostResult.POSTED, LedgerEnum.LEDGER_POSTED.getEnumLedgerConstant());
+        }
+      }
+      materialize(appended, now);
+      chitEventStore.appendAll(appended.stream()
+          .map(entry -> ChitEvent.paid(entry.getChitId(), entry.getUserNumber(),
+              entry.getPeriod(), entry.getAmount(),
+              LedgerEntry.ADJUSTMENT.equals(entry.getType())))
+          .toList());
+    }
+
+    LedgerPostResponse ledgerPostResponse = new LedgerPostResponse();
+    ledgerPostResponse.setPosted(appended.size());
+    ledgerPostResponse.setFailed(entryRequests.size() - appended.size());
+    ledgerPostResponse.setResults(Arrays.asList(results));
+    log.info("Posted {} of {} ledger entries", appended.size(), entryRequests.size());
+    return ledgerPostResponse;
+  }
+
+  public MemberBalance getBalance(String chitName, String userNumber) {
+    log.info("Entered get member balance service method...");
+    ChitDBModel chitDBModel = chitRepo.findByChitname(chitName);
+    MemberBalance memberBalance = chitDBModel != null
+        ? mongoTemplate.findById(MemberBalance.balanceKey(chitDBModel.getId(), userNumber),
+            MemberBalance.class)
+        : archivedChit(chitName).getBalances().stream()
+            .filter(balance -> userNumber.equals(balance.getUserNumber()))
+            .findFirst()
+            .orElse(null);
+    if (memberBalance == null) {
+      log.error("No ledger balance for user {} in chit {}", userNumber, chitName);
+      throw new ResourceNotFoundException(
+          LedgerEnum.LEDGER_BALANCE_NOT_FOUND.getEnumLedgerConstant());
+    }
+    return memberBalance;
+  }
+
+  // A range scan over the chit/member/period indexes, oldest period first
+  public StatementResponse getStatement(String chitName, String userNumber, String from,
+      String to) {
+    log.info("Entered get statement service method...");
+    if ((chitName == null || chitName.isEmpty()) && (userNumber == null || userNumber.isEmpty())) {
+      log.error("Statement requested without chit name or user number");
+      throw new BadRequestException(LedgerEnum.LEDGER_STATEMENT_DETAILS.getEnumLedgerConstant());
+    }
+    String fromPeriod = from != null ? parsePeriod(from) : null;
+    String toPeriod = to != null ? parsePeriod(to) : null;
+    int limit = ledgerConfig.getMaxStatementEntries();
+    Criteria criteria = new Criteria();
+    if (chitName != null && !chitName.isEmpty()) {
+      ChitDBModel chitDBModel = chitRepo.findByChitname(chitName);
+      if (chitDBModel == null) {
+        // an archived chit's entries are filtered from its archive in the same order
+        List<LedgerEntry> archivedEntries = archivedChit(chitName).getLedger().stream()
+            .filter(entry -> userNumber == null || userNumber.isEmpty()
+                || userNumber.equals(entry.getUserNumber()))
+            .filter(entry -> fromPeriod == null || entry.getPeriod().compareTo(fromPeriod) >= 0)
+            .filter(entry -> toPeriod == null || entry.getPeriod().compareTo(toPeriod) <= 0)
+            .sorted(Comparator.comparing(LedgerEntry::getPeriod).thenComparing(LedgerEntry::getId))
+            .limit(limit + 1L)
+            .toList();
+        return statement(chitName, userNumber, fromPeriod, toPeriod, archivedEntries, limit);
+      }
+      criteria.and("chitId").is(chitDBModel.getId());
+    }
+    if (userNumber != null && !userNumber.isEmpty()) {
+      criteria.and("userNumber").is(userNumber);
+    }
+    if (fromPeriod != null && toPeriod != null) {
+      criteria.and("period").gte(fromPeriod).lte(toPeriod);
+    } else if (fromPeriod != null) {
+      criteria.and("period").gte(fromPeriod);
+    } else if (toPeriod != null) {
+      criteria.and("period").lte(toPeriod);
+    }
+    List<LedgerEntry> entries = mongoTemplate.find(new Query(criteria)
+            .with(Sort.by("period", "id"))
+            .limit(limit + 1),
+        LedgerEntry.class);
+    return statement(chitName, userNumber, fromPeriod, toPeriod, entries, limit);
+  }
+
+  private StatementResponse statement(String chitName, String userNumber, String fromPeriod,
+      String toPeriod, List<LedgerEntry> entries, int limit) {
+    StatementResponse statementResponse = new StatementResponse();
+    statementResponse.setChitName(chitName);
+    statementResponse.setUserNumber(userNumber);
+    statementResponse.setFrom(fromPeriod);
+    statementResponse.setTo(toPeriod);
+    statementResponse.setTruncated(entries.size() > limit);
+    statementResponse.setEntries(entries.size() > limit ? entries.subList(0, limit) : entries);
+    return statementResponse;
+  }
+
+  // Recomputes a chit's balances from its ledger, for use after a posting died between the
+  // append and the $inc. Postings made to the chit while this runs can be lost from the view.
+  public int rebuildBalances(String chitName) {
+    log.info("Entered rebuild balances service method...");
+    ChitDBModel chitDBModel = chit(chitName);
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("chitId").is(chitDBModel.getId())),
+        Aggregation.group("userNumber")
+            .sum(ConditionalOperators.when(Criteria.where("type").is(LedgerEntry.PAYMENT))
+                .thenValueOf("amount").otherwise(0L)).as("paid")
+            .sum(ConditionalOperators.when(Criteria.where("type").is(LedgerEntry.ADJUSTMENT))
+                .thenValueOf("amount").otherwise(0L)).as("adjusted")
+            .count().as("entries")
+            .max("period").as("lastPeriod"));
+    List<Document> totals = mongoTemplate.aggregate(aggregation,
+        mongoTemplate.getCollectionName(LedgerEntry.class), Document.class).getMappedResults();
+    if (totals.isEmpty()) {
+      return 0;
+    }
+    Instant now = Instant.now();
+    BulkOperations balanceOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+        MemberBalance.class);
+    totals.forEach(total -> balanceOperations.upsert(
+        new Query(Criteria.where("id").is(
+            MemberBalance.balanceKey(chitDBModel.getId(), total.getString("_id")))),
+        new Update()
+            .set("chitId", chitDBModel.getId())
+            .set("chitname", chitDBModel.getChitname())
+            .set("userNumber", total.getString("_id"))
+            .set("paid", total.get("paid", Number.class).longValue())
+            .set("adjusted", total.get("adjusted", Number.class).longValue())
+            .set("entries", total.get("entries", Number.class).longValue())
+            .set("lastPeriod", total.getString("lastPeriod"))
+            .set("updatedAt", now)));
+    balanceOperations.execute();
+    log.info("Rebuilt {} member balances of chit {}", totals.size(), chitName);
+    return totals.size();
+  }
+
+  private LedgerEntry newEntry(LedgerEntryRequest entryRequest, Map<String, ChitDBModel> chits,
+      Set<String> members, Instant now) {
+    if (entryRequest == null || entryRequest.getChitName() == null
+        || entryRequest.getUserNumber() == null || entryRequest.getType() == null
+        || entryRequest.getAmount() == null) {
+      throw new BadRequestException(LedgerEnum.LEDGER_DETAILS.getEnumLedgerConstant());
+    }
+    String type = entryRequest.getType().toUpperCase();
+    if (!LedgerEntry.PAYMENT.equals(type) && !LedgerEntry.ADJUSTMENT.equals(type)) {
+      throw new BadRequestException(LedgerEnum.LEDGER_TYPE_INVALID.getEnumLedgerConstant());
+    }
+    Money amount = entryRequest.getAmount();
+    if (LedgerEntry.PAYMENT.equals(type) ? !amount.isPositive() : amount.isZero()) {
+      throw new BadRequestException(LedgerEnum.LEDGER_AMOUNT_INVALID.getEnumLedgerConstant());
+    }
+    ChitDBModel chitDBModel = chits.get(entryRequest.getChitName());
+    if (chitDBModel == null) {
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    if (!members.contains(
+        MemberBalance.balanceKey(chitDBModel.getId(), entryRequest.getUserNumber()))) {
+      throw new BadRequestException(LedgerEnum.LEDGER_MEMBER_INVALID.getEnumLedgerConstant());
+    }
+    LedgerEntry entry = new LedgerEntry();
+    entry.setId(new ObjectId().toHexString());
+    entry.setChitId(chitDBModel.getId());
+    entry.setChitname(chitDBModel.getChitname());
+    entry.setUserNumber(entryRequest.getUserNumber());
+    entry.setPeriod(entryRequest.getPeriod() != null ? parsePeriod(entryRequest.getPeriod())
+        : YearMonth.now().toString());
+    entry.setType(type);
+    entry.setAmount(amount);
+    entry.setPostedAt(now);
+    entry.setReference(entryRequest.getReference());
+    return entry;
+  }
+
+  // Failed positions of the batch with their messages; a reused reference is a duplicate key
+  private Map<Integer, String> append(List<LedgerEntry> entries) {
+    Map<Integer, String> failures = new HashMap<>();
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, LedgerEntry.class).insert(entries).execute();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        failures.put(error.getIndex(), error.getCode() == DUPLICATE_KEY
+            ? LedgerEnum.LEDGER_DUPLICATE_REFERENCE.getEnumLedgerConstant()
+            : error.getMessage());
+      }
+    }
+    return failures;
+  }
+
+  private void materialize(List<LedgerEntry> appended, Instant now) {
+    if (appended.isEmpty()) {
+      return;
+    }
+    Map<String, List<LedgerEntry>> byBalance = appended.stream()
+        .collect(Collectors.groupingBy(
+            entry -> MemberBalance.balanceKey(entry.getChitId(), entry.getUserNumber())));
+    BulkOperations balanceOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+        MemberBalance.class);
+    byBalance.forEach((balanceKey, balanceEntries) -> {
+      LedgerEntry first = balanceEntries.get(0);
+      long paid = 0;
+      long adjusted = 0;
+      String lastPeriod = first.getPeriod();
+      for (LedgerEntry entry : balanceEntries) {
+        if (LedgerEntry.PAYMENT.equals(entry.getType())) {
+          paid += entry.getAmount().getPaise();
+        } else {
+          adjusted += entry.getAmount().getPaise();
+        }
+        if (entry.getPeriod().compareTo(lastPeriod) > 0) {
+          lastPeriod = entry.getPeriod();
+        }
+      }
+      balanceOperations.upsert(new Query(Criteria.where("id").is(balanceKey)),
+          new Update()
+              .inc("paid", paid)
+              .inc("adjusted", adjusted)
+              .inc("entries", balanceEntries.size())
+              .max("lastPeriod", lastPeriod)
+              .set("updatedAt", now)
+              .setOnInsert("chitId", first.getChitId())
+              .setOnInsert("chitname", first.getChitname())
+              .setOnInsert("userNumber", first.getUserNumber()));
+    });
+    balanceOperations.execute();
+  }
+
+  // chitId:userNumber for every requested member that holds a slot in the requested chit
+  private Set<String> memberKeys(Collection<ChitDBModel> chits,
+      List<LedgerEntryRequest> entryRequests) {
+    Set<String> members = new HashSet<>();
+    if (chits.isEmpty()) {
+      return members;
+    }
+    Set<String> userNumbers = entryRequests.stream()
+        .filter(Objects::nonNull)
+        .map(LedgerEntryRequest::getUserNumber)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    List<Slot> slots = slotService.findMembers(
+        chits.stream().map(ChitDBModel::getId).toList(), userNumbers);
+    for (Slot slot : slots) {
+      if (slot.getUser() != null) {
+        members.add(MemberBalance.balanceKey(slot.getChitId(), slot.getUser()));
+      }
+      if (slot.getSubSlots() != null) {
+        for (SubSlot subSlot : slot.getSubSlots()) {
+          if (subSlot.getUserNumber() != null) {
+            members.add(MemberBalance.balanceKey(slot.getChitId(), subSlot.getUserNumber()));
+          }
+        }
+      }
+    }
+    return members;
+  }
+
+  private ArchivedChit archivedChit(String chitName) {
+    ArchivedChit archivedChit = archiveService.findArchived(chitName);
+    if (archivedChit == null) {
+      log.error("Chit with the given name does not exist:{}", chitName);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    return archivedChit;
+  }
+
+  private ChitDBModel chit(String chitName) {
+    ChitDBModel chitDBModel = chitRepo.findByChitname(chitName);
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", chitName);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    return chitDBModel;
+  }
+
+  private String parsePeriod(String period) {
+    try {
+      return YearMonth.parse(period).toString();
+    } catch (DateTimeParseException e) {
+      log.error("Invalid ledger period: {}", period);
+      throw new BadRequestException(LedgerEnum.LEDGER_PERIOD_INVALID.getEnumLedgerConstant());
+    }
+  }
+
+  private LedgerPostResult result(int index, LedgerEntryRequest entryRequest, String entryId,
+      String status, String message) {
+    LedgerPostResult ledgerPostResult = new LedgerPostResult();
+    ledgerPostResult.setIndex(index);
+    ledgerPostResult.setEntryId(entryId);
+    ledgerPostResult.setReference(entryRequest != null ? entryRequest.getReference() : null);
+    ledgerPostResult.setStatus(status);
+    ledgerPostResult.setMessage(message);
+    return ledgerPostResult;
+  }
+}
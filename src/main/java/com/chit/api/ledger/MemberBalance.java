@@ -0,0 +1,34 @@
+package com.chit.api.ledger;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Running totals of a member's ledger entries in one chit, moved by $inc on every posting
+@Getter
+@Setter
+@Document("member_balance")
+public class MemberBalance {
+
+  // chitId:userNumber
+  @Id
+  private String id;
+  @Indexed
+  private Long chitId;
+  private String chitname;
+  @Indexed
+  private String userNumber;
+  private Money paid;
+  private Money adjusted;
+  private long entries;
+  private String lastPeriod;
+  private Instant updatedAt;
+
+  public static String balanceKey(long chitId, String userNumber) {
+    return chitId + ":" + userNumber;
+  }
+}
@@ -0,0 +1,39 @@
+package com.chit.api.lifecycle;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Where a chit is in its lifecycle and when its next transition is due; the scheduler only ever
+// reads these through the nextAt and updatedAt indexes
+@Getter
+@Setter
+@Document("chit_lifecycle")
+public class ChitLifecycle {
+
+  public static final String SCHEDULED = "SCHEDULED";
+  public static final String OPEN = "OPEN";
+  public static final String CLOSED = "CLOSED";
+
+  // chitId
+  @Id
+  private Long id;
+  @Indexed
+  private String chitname;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private String status;
+  private String nextEvent;
+  private String nextPeriod;
+  @Indexed(sparse = true)
+  private Instant nextAt;
+  private String lastEvent;
+  private String lastPeriod;
+  private Instant lastFiredAt;
+  @Indexed
+  private Instant updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.chit.api.lifecycle;
+
+import java.time.Instant;
+
+// Published once per transition, cluster-wide, for anything that reacts to a chit opening,
+// falling due or closing
+public record ChitLifecycleEvent(long chitId, String chitname, String event, String period,
+                                 Instant at) {
+
+}
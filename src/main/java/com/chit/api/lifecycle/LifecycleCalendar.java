@@ -0,0 +1,56 @@
+package com.chit.api.lifecycle;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+// The deadlines of a chit: it opens at the start of startDate, an installment falls due on the
+// same day of every month from startDate up to endDate, and it closes when endDate is over.
+public final class LifecycleCalendar {
+
+  public static final String OPEN = "OPEN";
+  public static final String DUE = "DUE";
+  public static final String CLOSE = "CLOSE";
+
+  private LifecycleCalendar() {
+  }
+
+  public static Deadline first(LocalDate startDate, LocalDate endDate, ZoneId zone) {
+    return new Deadline(OPEN, null, startDate.atStartOfDay(zone).toInstant());
+  }
+
+  // null once the chit has closed
+  public static Deadline next(LocalDate startDate, LocalDate endDate, ZoneId zone,
+      String event, String period) {
+    if (CLOSE.equals(event)) {
+      return null;
+    }
+    long month = OPEN.equals(event) ? 0
+        : ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.parse(period)) + 1;
+    LocalDate dueDate = startDate.plusMonths(month);
+    if (!dueDate.isAfter(endDate)) {
+      return new Deadline(DUE, YearMonth.from(dueDate).toString(),
+          dueDate.atStartOfDay(zone).toInstant());
+    }
+    return new Deadline(CLOSE, null, endDate.plusDays(1).atStartOfDay(zone).toInstant());
+  }
+
+  // The deadline a chit registered at now should wait on: its latest deadline already passed,
+  // so that transition still fires once, or the first one when nothing has passed yet
+  public static Deadline current(LocalDate startDate, LocalDate endDate, ZoneId zone,
+      Instant now) {
+    Deadline deadline = first(startDate, endDate, zone);
+    Deadline next = next(startDate, endDate, zone, deadline.event(), deadline.period());
+    while (next != null && !next.at().isAfter(now)) {
+      deadline = next;
+      next = next(startDate, endDate, zone, deadline.event(), deadline.period());
+    }
+    return deadline;
+  }
+
+  public record Deadline(String event, String period, Instant at) {
+
+  }
+}
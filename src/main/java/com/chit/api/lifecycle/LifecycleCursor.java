@@ -0,0 +1,22 @@
+package com.chit.api.lifecycle;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// How far the scheduler has loaded and fired, so a restart reloads one indexed window
+@Getter
+@Setter
+@Document("lifecycle_cursor")
+public class LifecycleCursor {
+
+  public static final String LIFECYCLE = "lifecycle";
+
+  @Id
+  private String id;
+  private Instant loadedUntil;
+  private Instant reloadedAt;
+  private Instant firedUntil;
+}
@@ -0,0 +1,393 @@
+package com.chit.api.lifecycle;
+
+import com.chit.api.config.LifecycleConfig;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.lifecycle.LifecycleCalendar.Deadline;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+// Holds the deadlines due within horizon-ms in a timer wheel driven by one ticker thread. The
+// window is topped up every reload-ms from the nextAt index, plus whatever other instances
+// registered since the last reload from the updatedAt index, so the chit collection is never
+// polled. A transition is applied by an update guarded on the deadline it fired for, so each one
+// happens once however many instances hold the same timer.
+@Service
+@Slf4j
+public class LifecycleScheduler {
+
+  private static final int BACKFILL_BATCH = 1000;
+  private static final long RETRY_MS = 30000;
+  // tolerated clock difference between instances for the updatedAt watermark
+  private static final long CLOCK_SKEW_MS = 60000;
+
+  private final MongoTemplate mongoTemplate;
+  private final LifecycleConfig lifecycleConfig;
+  private final ChitEventStore chitEventStore;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MeterRegistry meterRegistry;
+  private final ZoneId zone;
+  // chitId -> nextAt held in the wheel; a timer that no longer matches it is stale and dropped
+  private final Map<Long, Long> scheduled = new ConcurrentHashMap<>();
+  private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean reloading = new AtomicBoolean();
+  private final ScheduledExecutorService ticker;
+  private final ExecutorService firing;
+  private TimerWheel<Timer> wheel;
+  private volatile Instant loadedUntil = Instant.EPOCH;
+  private volatile Instant reloadedAt;
+  private volatile Instant firedUntil;
+  private volatile long nextReloadMs;
+
+  public LifecycleScheduler(MongoTemplate mongoTemplate, LifecycleConfig lifecycleConfig,
+      ChitEventStore chitEventStore, ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.lifecycleConfig = lifecycleConfig;
+    this.chitEventStore = chitEventStore;
+    this.eventPublisher = eventPublisher;
+    this.meterRegistry = meterRegistry;
+    this.zone = ZoneId.of(lifecycleConfig.getZone());
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chit-lifecycle");
+      thread.setDaemon(true);
+      return thread;
+    });
+    AtomicInteger threads = new AtomicInteger();
+    this.firing = Executors.newFixedThreadPool(Math.max(1, lifecycleConfig.getFiringThreads()),
+        runnable -> {
+          Thread thread = new Thread(runnable, "chit-lifecycle-fire-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    meterRegistry.gauge("chit.lifecycle.scheduled", scheduled, Map::size);
+  }
+
+  @Order(7)
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    log.info("Entered start lifecycle scheduler method...");
+    backfill();
+    LifecycleCursor cursor = mongoTemplate.findById(LifecycleCursor.LIFECYCLE,
+        LifecycleCursor.class);
+    Instant started = Instant.now();
+    Instant until = started.plusMillis(lifecycleConfig.getHorizonMs());
+    if (cursor != null && cursor.getLoadedUntil() != null
+        && cursor.getLoadedUntil().isAfter(until)) {
+      until = cursor.getLoadedUntil();
+    }
+    wheel = new TimerWheel<>(lifecycleConfig.getTickMs(), lifecycleConfig.getWheelLevels(),
+        started.toEpochMilli());
+    loadedUntil = until;
+    int loaded = load(Criteria.where("nextAt").lt(until));
+    reloadedAt = started.minusMillis(CLOCK_SKEW_MS);
+    nextReloadMs = started.toEpochMilli() + lifecycleConfig.getReloadMs();
+    saveCursor();
+    log.info("Loaded {} chit deadlines due before {}", loaded, until);
+    ticker.scheduleAtFixedRate(this::tick, lifecycleConfig.getTickMs(),
+        lifecycleConfig.getTickMs(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+    firing.shutdownNow();
+  }
+
+  public void register(ChitDBModel chitDBModel) {
+    registerAll(List.of(chitDBModel));
+  }
+
+  public void registerAll(Collection<ChitDBModel> chits) {
+    Instant now = Instant.now();
+    List<ChitLifecycle> lifecycles = chits.stream()
+        .map(chit -> lifecycle(chit, now))
+        .filter(Objects::nonNull)
+        .toList();
+    if (lifecycles.isEmpty()) {
+      return;
+    }
+    try {
+      mongoTemplate.insertAll(lifecycles);
+    } catch (RuntimeException e) {
+      // the startup backfill registers whatever was missed here
+      log.error("Failed to register the lifecycle of {} chits", lifecycles.size(), e);
+      return;
+    }
+    lifecycles.stream()
+        .filter(lifecycle -> lifecycle.getNextAt() != null)
+        .forEach(lifecycle -> offer(lifecycle.getId(), lifecycle.getNextAt().toEpochMilli()));
+  }
+
+  public void remove(long chitId) {
+    scheduled.remove(chitId);
+    mongoTemplate.remove(new Query(Criteria.where("id").is(chitId)), ChitLifecycle.class);
+  }
+
+  public void clear() {
+    scheduled.clear();
+    mongoTemplate.remove(new Query(), ChitLifecycle.class);
+  }
+
+  public ChitLifecycle getLifecycle(String chitname) {
+    return mongoTemplate.findOne(new Query(Criteria.where("chitname").is(chitname)),
+        ChitLifecycle.class);
+  }
+
+  private void tick() {
+    try {
+      Timer timer;
+      while ((timer = pending.poll()) != null) {
+        wheel.schedule(timer.fireAtMs(), timer);
+      }
+      long now = System.currentTimeMillis();
+      for (Timer due : wheel.advance(now)) {
+        if (scheduled.remove(due.chitId(), due.nextAtMs())) {
+          firing.execute(() -> fire(due));
+        }
+      }
+      firedUntil = Instant.ofEpochMilli(now);
+      if (now >= nextReloadMs && reloading.compareAndSet(false, true)) {
+        firing.execute(this::reload);
+      }
+    } catch (RuntimeException e) {
+      // an exception would cancel the fixed-rate schedule
+      log.error("Lifecycle tick failed", e);
+    }
+  }
+
+  private void fire(Timer timer) {
+    try {
+      ChitLifecycle lifecycle = mongoTemplate.findById(timer.chitId(), ChitLifecycle.class);
+      if (lifecycle == null || lifecycle.getNextAt() == null
+          || lifecycle.getNextAt().toEpochMilli() != timer.nextAtMs()) {
+        // deleted, or the transition was already applied elsewhere
+        return;
+      }
+      Deadline next = LifecycleCalendar.next(lifecycle.getStartDate(), lifecycle.getEndDate(),
+          zone, lifecycle.getNextEvent(), lifecycle.getNextPeriod());
+      Instant now = Instant.now();
+      Update update = new Update()
+          .set("status", LifecycleCalendar.CLOSE.equals(lifecycle.getNextEvent())
+              ? ChitLifecycle.CLOSED : ChitLifecycle.OPEN)
+          .set("lastEvent", lifecycle.getNextEvent())
+          .set("lastPeriod", lifecycle.getNextPeriod())
+          .set("lastFiredAt", now)
+          .set("updatedAt", now);
+      if (next != null) {
+        update.set("nextEvent", next.event()).set("nextPeriod", next.period())
+            .set("nextAt", next.at());
+      } else {
+        update.unset("nextEvent").unset("nextPeriod").unset("nextAt");
+      }
+      UpdateResult updateResult = mongoTemplate.updateFirst(
+          new Query(Criteria.where("id").is(lifecycle.getId())
+              .and("nextAt").is(lifecycle.getNextAt())
+              .and("nextEvent").is(lifecycle.getNextEvent())),
+          update, ChitLifecycle.class);
+      if (updateResult.getModifiedCount() == 0) {
+        return;
+      }
+      chitEventStore.append(chitEvent(lifecycle));
+      eventPublisher.publishEvent(new ChitLifecycleEvent(lifecycle.getId(),
+          lifecycle.getChitname(), lifecycle.getNextEvent(), lifecycle.getNextPeriod(),
+          lifecycle.getNextAt()));
+      Counter.builder("chit.lifecycle.transitions")
+          .tag("event", lifecycle.getNextEvent())
+          .register(meterRegistry)
+          .increment();
+      log.info("Chit {} transition {} {} applied", lifecycle.getChitname(),
+          lifecycle.getNextEvent(), lifecycle.getNextPeriod() != null
+              ? lifecycle.getNextPeriod() : "");
+      if (next != null) {
+        offer(lifecycle.getId(), next.at().toEpochMilli());
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to fire the lifecycle deadline of chit {}, retrying", timer.chitId(), e);
+      if (scheduled.putIfAbsent(timer.chitId(), timer.nextAtMs()) == null) {
+        pending.add(new Timer(timer.chitId(), timer.nextAtMs(),
+            System.currentTimeMillis() + RETRY_MS));
+      }
+    }
+  }
+
+  // Widens the window to now + horizon: deadlines that just entered it, and lifecycles that
+  // were registered or moved since the last reload by any instance
+  private void reload() {
+    Instant previousUntil = loadedUntil;
+    Instant started = Instant.now();
+    Instant until = started.plusMillis(lifecycleConfig.getHorizonMs());
+    try {
+      // widened first, so a chit registered while this runs is offered directly
+      loadedUntil = until.isAfter(previousUntil) ? until : previousUntil;
+      int loaded = load(new Criteria().andOperator(
+          Criteria.where("nextAt").lt(loadedUntil),
+          new Criteria().orOperator(
+              Criteria.where("nextAt").gte(previousUntil),
+              Criteria.where("updatedAt").gte(reloadedAt))));
+      reloadedAt = started.minusMillis(CLOCK_SKEW_MS);
+      saveCursor();
+      log.info("Reloaded {} chit deadlines, {} scheduled", loaded, scheduled.size());
+    } catch (RuntimeException e) {
+      loadedUntil = previousUntil;
+      log.error("Failed to reload chit deadlines", e);
+    } finally {
+      nextReloadMs = System.currentTimeMillis() + lifecycleConfig.getReloadMs();
+      reloading.set(false);
+    }
+  }
+
+  private int load(Criteria criteria) {
+    Query query = new Query(criteria);
+    query.fields().include("nextAt");
+    int loaded = 0;
+    try (Stream<ChitLifecycle> lifecycles = mongoTemplate.stream(query, ChitLifecycle.class)) {
+      for (ChitLifecycle lifecycle : (Iterable<ChitLifecycle>) lifecycles::iterator) {
+        if (lifecycle.getNextAt() != null
+            && enqueue(lifecycle.getId(), lifecycle.getNextAt().toEpochMilli())) {
+          loaded++;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  private void offer(long chitId, long nextAtMs) {
+    if (nextAtMs < loadedUntil.toEpochMilli()) {
+      enqueue(chitId, nextAtMs);
+    }
+  }
+
+  private boolean enqueue(long chitId, long nextAtMs) {
+    Long previous = scheduled.put(chitId, nextAtMs);
+    if (previous != null && previous == nextAtMs) {
+      return false;
+    }
+    pending.add(new Timer(chitId, nextAtMs, nextAtMs));
+    return true;
+  }
+
+  private void saveCursor() {
+    try {
+      mongoTemplate.upsert(new Query(Criteria.where("id").is(LifecycleCursor.LIFECYCLE)),
+          new Update()
+              .max("loadedUntil", loadedUntil)
+              .set("reloadedAt", reloadedAt)
+              .set("firedUntil", firedUntil),
+          LifecycleCursor.class);
+    } catch (RuntimeException e) {
+      log.error("Failed to save the lifecycle cursor", e);
+    }
+  }
+
+  // Chits that existed before lifecycles were recorded, or whose registration failed
+  private void backfill() {
+    if (mongoTemplate.estimatedCount(ChitLifecycle.class)
+        >= mongoTemplate.estimatedCount(ChitDBModel.class)) {
+      return;
+    }
+    Set<Long> tracked = new HashSet<>(mongoTemplate.findDistinct(new Query(), "id",
+        ChitLifecycle.class, Long.class));
+    Query query = new Query();
+    query.fields().include("chitname", "startDate", "endDate");
+    Instant now = Instant.now();
+    List<ChitLifecycle> batch = new ArrayList<>(BACKFILL_BATCH);
+    int written = 0;
+    try (Stream<ChitDBModel> chits = mongoTemplate.stream(query, ChitDBModel.class)) {
+      for (ChitDBModel chitDBModel : (Iterable<ChitDBModel>) chits::iterator) {
+        ChitLifecycle lifecycle = tracked.contains(chitDBModel.getId()) ? null
+            : lifecycle(chitDBModel, now);
+        if (lifecycle != null) {
+          batch.add(lifecycle);
+        }
+        if (batch.size() >= BACKFILL_BATCH) {
+          mongoTemplate.insertAll(batch);
+          written += batch.size();
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      mongoTemplate.insertAll(batch);
+      written += batch.size();
+    }
+    log.info("Registered the lifecycle of {} existing chits", written);
+  }
+
+  // null when the chit's dates could not be read; a chit that closed before the horizon is
+  // recorded as closed without firing anything
+  private ChitLifecycle lifecycle(ChitDBModel chitDBModel, Instant now) {
+    LocalDate startDate = chitDBModel.getStartDate();
+    LocalDate endDate = chitDBModel.getEndDate();
+    if (startDate == null || endDate == null) {
+      log.warn("Chit {} has unreadable dates, not scheduling it", chitDBModel.getChitname());
+      return null;
+    }
+    Deadline deadline = LifecycleCalendar.current(startDate, endDate, zone, now);
+    ChitLifecycle lifecycle = new ChitLifecycle();
+    lifecycle.setId(chitDBModel.getId());
+    lifecycle.setChitname(chitDBModel.getChitname());
+    lifecycle.setStartDate(chitDBModel.getStartDate());
+    lifecycle.setEndDate(chitDBModel.getEndDate());
+    lifecycle.setUpdatedAt(now);
+    if (LifecycleCalendar.CLOSE.equals(deadline.event())
+        && deadline.at().isBefore(now.minusMillis(lifecycleConfig.getHorizonMs()))) {
+      lifecycle.setStatus(ChitLifecycle.CLOSED);
+      lifecycle.setLastEvent(LifecycleCalendar.CLOSE);
+      return lifecycle;
+    }
+    lifecycle.setStatus(LifecycleCalendar.OPEN.equals(deadline.event())
+        ? ChitLifecycle.SCHEDULED : ChitLifecycle.OPEN);
+    lifecycle.setNextEvent(deadline.event());
+    lifecycle.setNextPeriod(deadline.period());
+    lifecycle.setNextAt(deadline.at());
+    return lifecycle;
+  }
+
+  private ChitEvent chitEvent(ChitLifecycle lifecycle) {
+    return switch (lifecycle.getNextEvent()) {
+      case LifecycleCalendar.OPEN -> ChitEvent.opened(lifecycle.getId());
+      case LifecycleCalendar.DUE -> ChitEvent.installmentDue(lifecycle.getId(),
+          lifecycle.getNextPeriod());
+      default -> ChitEvent.closed(lifecycle.getId());
+    };
+  }
+
+  // fireAtMs is nextAtMs except when a failed firing is retried later
+  private record Timer(long chitId, long nextAtMs, long fireAtMs) {
+
+  }
+}
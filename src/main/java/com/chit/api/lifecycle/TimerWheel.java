@@ -0,0 +1,124 @@
+package com.chit.api.lifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: levels of 64 slots, level n counting in 64^n ticks. Scheduling and
+// expiry are O(1) per timer; a timer is only moved when its slot on a higher level comes round,
+// and then one level down. Not thread-safe: it is owned by the thread that calls advance.
+public class TimerWheel<T> {
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int MASK = SLOTS - 1;
+
+  private final long tickMs;
+  private final int levels;
+  private final List<List<Timer<T>>> slots;
+  private final List<Timer<T>> overdue = new ArrayList<>();
+  // beyond the top level; placed again each time the top level enters a new slot
+  private final List<Timer<T>> parked = new ArrayList<>();
+  private long currentTick;
+  private int size;
+
+  public TimerWheel(long tickMs, int levels, long startMs) {
+    if (tickMs <= 0 || levels < 1 || levels > 10) {
+      throw new IllegalArgumentException("tickMs must be positive and levels between 1 and 10");
+    }
+    this.tickMs = tickMs;
+    this.levels = levels;
+    this.slots = new ArrayList<>(levels * SLOTS);
+    for (int i = 0; i < levels * SLOTS; i++) {
+      slots.add(new ArrayList<>());
+    }
+    this.currentTick = startMs / tickMs;
+  }
+
+  public void schedule(long deadlineMs, T value) {
+    place(new Timer<>(Math.floorDiv(deadlineMs, tickMs), value));
+    size++;
+  }
+
+  // Everything due up to nowMs, in tick order; timers already past when scheduled come first
+  public List<T> advance(long nowMs) {
+    long targetTick = nowMs / tickMs;
+    List<T> expired = new ArrayList<>();
+    drain(overdue, expired);
+    if (size == 0) {
+      currentTick = Math.max(currentTick, targetTick);
+      return expired;
+    }
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      drain(slot(0, (int) (currentTick & MASK)), expired);
+      drain(overdue, expired);
+      if (size == 0) {
+        currentTick = targetTick;
+      }
+    }
+    return expired;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void place(Timer<T> timer) {
+    long delta = timer.deadlineTick - currentTick;
+    if (delta <= 0) {
+      overdue.add(timer);
+      return;
+    }
+    for (int level = 0; level < levels; level++) {
+      if (delta < 1L << (SLOT_BITS * (level + 1))) {
+        slot(level, (int) ((timer.deadlineTick >>> (SLOT_BITS * level)) & MASK)).add(timer);
+        return;
+      }
+    }
+    parked.add(timer);
+  }
+
+  // On entering a new block of a level, the matching slot of the level above is redistributed;
+  // parked timers and higher levels first so they can land in the slot redistributed next
+  private void cascade() {
+    int carried = 0;
+    while (carried + 1 < levels && (currentTick >>> (SLOT_BITS * (carried + 1)) << (SLOT_BITS
+        * (carried + 1))) == currentTick) {
+      carried++;
+    }
+    if (carried == levels - 1 && !parked.isEmpty()) {
+      List<Timer<T>> moved = new ArrayList<>(parked);
+      parked.clear();
+      moved.forEach(this::place);
+    }
+    for (int level = carried; level >= 1; level--) {
+      List<Timer<T>> slot = slot(level, (int) ((currentTick >>> (SLOT_BITS * level)) & MASK));
+      if (slot.isEmpty()) {
+        continue;
+      }
+      List<Timer<T>> moved = new ArrayList<>(slot);
+      slot.clear();
+      moved.forEach(this::place);
+    }
+  }
+
+  private void drain(List<Timer<T>> timers, List<T> expired) {
+    if (timers.isEmpty()) {
+      return;
+    }
+    for (Timer<T> timer : timers) {
+      expired.add(timer.value);
+    }
+    size -= timers.size();
+    timers.clear();
+  }
+
+  private List<Timer<T>> slot(int level, int index) {
+    return slots.get(level * SLOTS + index);
+  }
+
+  private record Timer<T>(long deadlineTick, T value) {
+
+  }
+}
@@ -0,0 +1,116 @@
+package com.chit.api.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.math.BigDecimal;
+
+// Amounts are held as a long count of paise. Rupee strings such as "10000" or "10000.50" are
+// only parsed or produced at the edges (requests, JSON and legacy documents).
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+
+  public static final Money ZERO = new Money(0);
+  private static final int MINOR_DIGITS = 2;
+  private static final long PAISE_PER_RUPEE = 100;
+
+  private final long paise;
+
+  private Money(long paise) {
+    this.paise = paise;
+  }
+
+  public static Money ofPaise(long paise) {
+    return paise == 0 ? ZERO : new Money(paise);
+  }
+
+  public static Money ofRupees(long rupees) {
+    return ofPaise(Math.multiplyExact(rupees, PAISE_PER_RUPEE));
+  }
+
+  public static Money ofRupees(BigDecimal rupees) {
+    try {
+      return ofPaise(rupees.movePointRight(MINOR_DIGITS).longValueExact());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount out of range or finer than a paisa: " + rupees, e);
+    }
+  }
+
+  public static Money parse(String rupees) {
+    if (rupees == null || rupees.isBlank()) {
+      throw new IllegalArgumentException("Amount cannot be empty");
+    }
+    try {
+      return ofRupees(new BigDecimal(rupees.trim()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid amount: " + rupees, e);
+    }
+  }
+
+  public long getPaise() {
+    return paise;
+  }
+
+  public BigDecimal toRupees() {
+    return BigDecimal.valueOf(paise, MINOR_DIGITS);
+  }
+
+  public Money plus(Money other) {
+    return ofPaise(Math.addExact(paise, other.paise));
+  }
+
+  public Money minus(Money other) {
+    return ofPaise(Math.subtractExact(paise, other.paise));
+  }
+
+  public Money times(long factor) {
+    return ofPaise(Math.multiplyExact(paise, factor));
+  }
+
+  public Money negate() {
+    return ofPaise(Math.negateExact(paise));
+  }
+
+  public long divideToIntegral(Money divisor) {
+    return paise / divisor.paise;
+  }
+
+  public Money remainder(Money divisor) {
+    return ofPaise(paise % divisor.paise);
+  }
+
+  public boolean isZero() {
+    return paise == 0;
+  }
+
+  public boolean isPositive() {
+    return paise > 0;
+  }
+
+  public boolean isNegative() {
+    return paise < 0;
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(paise, other.paise);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Money money && money.paise == paise;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(paise);
+  }
+
+  @Override
+  public String toString() {
+    if (paise % PAISE_PER_RUPEE == 0) {
+      return Long.toString(paise / PAISE_PER_RUPEE);
+    }
+    return toRupees().toPlainString();
+  }
+}
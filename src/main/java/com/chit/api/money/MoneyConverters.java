@@ -0,0 +1,66 @@
+package com.chit.api.money;
+
+import java.util.List;
+import org.bson.types.Decimal128;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+// Money is stored as Int64 paise. Reads also accept Int32 paise, Decimal128 rupees and the
+// rupee strings written before amounts were typed.
+public final class MoneyConverters {
+
+  private MoneyConverters() {
+  }
+
+  public static List<Converter<?, ?>> all() {
+    return List.of(new MoneyToLongConverter(), new LongToMoneyConverter(),
+        new IntegerToMoneyConverter(), new Decimal128ToMoneyConverter(),
+        new StringToMoneyConverter());
+  }
+
+  @WritingConverter
+  public static class MoneyToLongConverter implements Converter<Money, Long> {
+
+    @Override
+    public Long convert(Money source) {
+      return source.getPaise();
+    }
+  }
+
+  @ReadingConverter
+  public static class LongToMoneyConverter implements Converter<Long, Money> {
+
+    @Override
+    public Money convert(Long source) {
+      return Money.ofPaise(source);
+    }
+  }
+
+  @ReadingConverter
+  public static class IntegerToMoneyConverter implements Converter<Integer, Money> {
+
+    @Override
+    public Money convert(Integer source) {
+      return Money.ofPaise(source);
+    }
+  }
+
+  @ReadingConverter
+  public static class Decimal128ToMoneyConverter implements Converter<Decimal128, Money> {
+
+    @Override
+    public Money convert(Decimal128 source) {
+      return Money.ofRupees(source.bigDecimalValue());
+    }
+  }
+
+  @ReadingConverter
+  public static class StringToMoneyConverter implements Converter<String, Money> {
+
+    @Override
+    public Money convert(String source) {
+      return Money.parse(source);
+    }
+  }
+}
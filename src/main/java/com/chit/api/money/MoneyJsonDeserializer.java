@@ -0,0 +1,33 @@
+package com.chit.api.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+  public MoneyJsonDeserializer() {
+    super(Money.class);
+  }
+
+  @Override
+  public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+    JsonToken token = parser.currentToken();
+    try {
+      if (token == JsonToken.VALUE_NUMBER_INT) {
+        return Money.ofRupees(parser.getLongValue());
+      }
+      if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+        return Money.ofRupees(parser.getDecimalValue());
+      }
+      if (token == JsonToken.VALUE_STRING) {
+        return Money.parse(parser.getText());
+      }
+    } catch (IllegalArgumentException | ArithmeticException e) {
+      return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+    }
+    return (Money) context.handleUnexpectedToken(Money.class, parser);
+  }
+}
@@ -0,0 +1,20 @@
+package com.chit.api.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+// Written as a rupee string, which is how every amount went over the wire before Money existed.
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+  public MoneyJsonSerializer() {
+    super(Money.class);
+  }
+
+  @Override
+  public void serialize(Money value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    gen.writeString(value.toString());
+  }
+}
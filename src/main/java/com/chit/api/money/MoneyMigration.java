@@ -0,0 +1,75 @@
+package com.chit.api.money;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.result.UpdateResult;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// Rewrites amounts still stored as rupee strings into Int64 paise, server side, so that guards
+// and range queries compare numbers. Documents already converted are not matched again.
+@Component
+@Slf4j
+public class MoneyMigration {
+
+  private final MongoTemplate mongoTemplate;
+
+  public MoneyMigration(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Order(2)
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateStringAmounts() {
+    log.info("Entered migrate string amounts method...");
+    convertFields(collection(ChitDBModel.class), "amount", "installment", "balanceAmount");
+    convertFields(collection(Slot.class), "remainingAmounts", "slotAmount");
+    convertSubSlotAmounts(collection(Slot.class));
+  }
+
+  private void convertFields(MongoCollection<Document> collection, String... fields) {
+    for (String field : fields) {
+      UpdateResult result = collection.updateMany(Filters.type(field, BsonType.STRING),
+          List.of(new Document("$set", new Document(field, toPaise("$" + field)))));
+      if (result.getModifiedCount() > 0) {
+        log.info("Converted {} {}.{} values to paise", result.getModifiedCount(),
+            collection.getNamespace().getCollectionName(), field);
+      }
+    }
+  }
+
+  private void convertSubSlotAmounts(MongoCollection<Document> collection) {
+    Document convertedAmount = new Document("$cond", List.of(
+        new Document("$eq", List.of(new Document("$type", "$$this.slotAmount"), "string")),
+        toPaise("$$this.slotAmount"),
+        "$$this.slotAmount"));
+    Document mappedSubSlots = new Document("$map", new Document("input", "$subSlots")
+        .append("in", new Document("$mergeObjects",
+            List.of("$$this", new Document("slotAmount", convertedAmount)))));
+    UpdateResult result = collection.updateMany(
+        Filters.type("subSlots.slotAmount", BsonType.STRING),
+        List.of(new Document("$set", new Document("subSlots", mappedSubSlots))));
+    if (result.getModifiedCount() > 0) {
+      log.info("Converted sub-slot amounts of {} slots to paise", result.getModifiedCount());
+    }
+  }
+
+  private MongoCollection<Document> collection(Class<?> type) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type));
+  }
+
+  private static Document toPaise(String rupeeExpression) {
+    Document paise = new Document("$multiply",
+        List.of(new Document("$toDecimal", rupeeExpression), 100));
+    return new Document("$toLong", new Document("$round", List.of(paise, 0)));
+  }
+}
@@ -0,0 +1,39 @@
+package com.chit.api.payout;
+
+import com.chit.api.money.Money;
+import java.time.Instant;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Document("chit_payout")
+@CompoundIndex(name = "lines_userNumber_period", def = "{'lines.userNumber': 1, 'period': 1}")
+public class ChitPayout {
+
+  // chitId:period, so re-running a period replaces its result
+  @Id
+  private String id;
+  private Long chitId;
+  private String chitname;
+  private String period;
+  private Instant computedAt;
+  private Money amount;
+  private Money discount;
+  private Money commission;
+  private Money dividendPool;
+  private Money dividendPerSlot;
+  private Money foremanShare;
+  private String winnerUserNumber;
+  private Integer winnerSlot;
+  private Money prizeAmount;
+  private List<PayoutLine> lines;
+
+  public static String payoutKey(long chitId, String period) {
+    return chitId + ":" + period;
+  }
+}
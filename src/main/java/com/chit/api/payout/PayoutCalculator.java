@@ -0,0 +1,110 @@
+package com.chit.api.payout;
+
+import com.chit.api.auction.AuctionDBModel;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.SubSlot;
+import com.chit.api.money.Money;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The month-end split of one chit: the foreman's commission comes out of the winning discount,
+// the rest is shared equally by every slot, and vacant slots' shares stay with the foreman.
+public final class PayoutCalculator {
+
+  private PayoutCalculator() {
+  }
+
+  public static ChitPayout compute(ChitDBModel chitDBModel, List<Slot> bookedSlots,
+      AuctionDBModel auction, String period, int commissionPercent) {
+    long amount = chitDBModel.getAmount().getPaise();
+    long installment = chitDBModel.getInstallment().getPaise();
+    boolean won = auction != null && auction.getWinnerUserNumber() != null
+        && auction.getWinningDiscount() != null;
+    long discount = won ? auction.getWinningDiscount().getPaise() : 0;
+    long commission = Math.min(discount, proportion(amount, commissionPercent, 100));
+    long dividendPool = discount - commission;
+    int totalSlots = chitDBModel.getTotalSlots();
+    long dividendPerSlot = totalSlots > 0 ? dividendPool / totalSlots : 0;
+
+    List<PayoutLine> lines = new ArrayList<>();
+    long distributed = 0;
+    for (Slot slot : bookedSlots) {
+      distributed += dividendPerSlot;
+      lines.addAll(slotLines(slot, installment, dividendPerSlot));
+    }
+
+    ChitPayout chitPayout = new ChitPayout();
+    chitPayout.setId(ChitPayout.payoutKey(chitDBModel.getId(), period));
+    chitPayout.setChitId(chitDBModel.getId());
+    chitPayout.setChitname(chitDBModel.getChitname());
+    chitPayout.setPeriod(period);
+    chitPayout.setComputedAt(Instant.now());
+    chitPayout.setAmount(chitDBModel.getAmount());
+    chitPayout.setDiscount(Money.ofPaise(discount));
+    chitPayout.setCommission(Money.ofPaise(commission));
+    chitPayout.setDividendPool(Money.ofPaise(dividendPool));
+    chitPayout.setDividendPerSlot(Money.ofPaise(dividendPerSlot));
+    chitPayout.setForemanShare(Money.ofPaise(commission + dividendPool - distributed));
+    if (won) {
+      chitPayout.setWinnerUserNumber(auction.getWinnerUserNumber());
+      chitPayout.setWinnerSlot(auction.getWinnerSlot());
+      chitPayout.setPrizeAmount(Money.ofPaise(amount - discount));
+    }
+    chitPayout.setLines(lines);
+    return chitPayout;
+  }
+
+  // A split slot's installment and dividend are shared by each member's part of the slot
+  private static List<PayoutLine> slotLines(Slot slot, long installment, long dividend) {
+    if (!Boolean.TRUE.equals(slot.getSplit()) || slot.getSubSlots() == null
+        || slot.getSubSlots().isEmpty()) {
+      return List.of(line(slot.getUser(), slot.getSlotId(), installment, dividend));
+    }
+    Map<String, Long> shares = new LinkedHashMap<>();
+    for (SubSlot subSlot : slot.getSubSlots()) {
+      shares.merge(subSlot.getUserNumber(), subSlot.getSlotAmount().getPaise(), Long::sum);
+    }
+    long totalShare = shares.values().stream().mapToLong(Long::longValue).sum();
+    List<PayoutLine> lines = new ArrayList<>();
+    long installmentLeft = installment;
+    long dividendLeft = dividend;
+    for (Map.Entry<String, Long> share : shares.entrySet()) {
+      long memberInstallment = proportion(installment, share.getValue(), totalShare);
+      long memberDividend = proportion(dividend, share.getValue(), totalShare);
+      installmentLeft -= memberInstallment;
+      dividendLeft -= memberDividend;
+      lines.add(line(share.getKey(), slot.getSlotId(), memberInstallment, memberDividend));
+    }
+    // rounding leftovers go to the first member of the slot
+    PayoutLine first = lines.get(0);
+    lines.set(0, line(first.getUserNumber(), slot.getSlotId(),
+        first.getInstallment().getPaise() + installmentLeft,
+        first.getDividend().getPaise() + dividendLeft));
+    return lines;
+  }
+
+  private static PayoutLine line(String userNumber, int slotId, long installment,
+      long dividend) {
+    PayoutLine payoutLine = new PayoutLine();
+    payoutLine.setUserNumber(userNumber);
+    payoutLine.setSlotId(slotId);
+    payoutLine.setInstallment(Money.ofPaise(installment));
+    payoutLine.setDividend(Money.ofPaise(dividend));
+    payoutLine.setNetInstallment(Money.ofPaise(installment - dividend));
+    return payoutLine;
+  }
+
+  // value * numerator / denominator without overflowing the intermediate product
+  private static long proportion(long value, long numerator, long denominator) {
+    if (denominator == 0) {
+      return 0;
+    }
+    return BigInteger.valueOf(value).multiply(BigInteger.valueOf(numerator))
+        .divide(BigInteger.valueOf(denominator)).longValueExact();
+  }
+}
@@ -0,0 +1,35 @@
+package com.chit.api.payout;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Document("payout_job")
+public class PayoutJob {
+
+  public static final String RUNNING = "RUNNING";
+  public static final String COMPLETED = "COMPLETED";
+  public static final String FAILED = "FAILED";
+
+  // the period
+  @Id
+  private String id;
+  private String status;
+  private Instant startedAt;
+  private Instant heartbeatAt;
+  private Instant finishedAt;
+  private long totalChits;
+  private long processedChits;
+  private long failedChits;
+  // chits at or before the checkpoint whose payout could not be computed; a rerun retries them
+  private List<Long> failedChitIds = new ArrayList<>();
+  // every active chit with an id up to here has its payout written
+  private long checkpoint;
+  private String error;
+}
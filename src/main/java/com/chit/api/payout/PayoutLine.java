@@ -0,0 +1,16 @@
+package com.chit.api.payout;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PayoutLine {
+
+  private String userNumber;
+  private int slotId;
+  private Money installment;
+  private Money dividend;
+  private Money netInstallment;
+}
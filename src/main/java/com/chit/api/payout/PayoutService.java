@@ -0,0 +1,356 @@
+package com.chit.api.payout;
+
+import com.chit.api.auction.AuctionDBModel;
+import com.chit.api.config.PayoutConfig;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.enums.PayoutEnum;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ConflictException;
+import com.chit.api.globalexceptions.ResourceExistsException;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.request.model.PayoutRequest;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class PayoutService {
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ChitRepo chitRepo;
+
+  @Autowired
+  private PayoutConfig payoutConfig;
+
+  private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "payout-job");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Claims the period and runs the job in the background; a failed or abandoned run of the
+  // same period resumes after its checkpoint
+  public PayoutJob startJob(PayoutRequest payoutRequest) {
+    log.info("Entered start payout job service method...");
+    String period = parsePeriod(payoutRequest.getPeriod());
+    PayoutJob payoutJob = claim(period);
+    jobRunner.execute(() -> run(payoutJob));
+    log.info("Started payout job for {} from checkpoint {}", period, payoutJob.getCheckpoint());
+    return payoutJob;
+  }
+
+  public PayoutJob getJob(String period) {
+    log.info("Entered get payout job service method...");
+    PayoutJob payoutJob = mongoTemplate.findById(parsePeriod(period), PayoutJob.class);
+    if (payoutJob == null) {
+      log.error("No payout job for period {}", period);
+      throw new ResourceNotFoundException(PayoutEnum.PAYOUT_JOB_NOT_FOUND.getEnumPayoutConstant());
+    }
+    return payoutJob;
+  }
+
+  public ChitPayout getPayout(String chitname, String period) {
+    log.info("Entered get payout service method...");
+    ChitDBModel chitDBModel = chitRepo.findByChitname(chitname);
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", chitname);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    ChitPayout chitPayout = mongoTemplate.findById(
+        ChitPayout.payoutKey(chitDBModel.getId(), parsePeriod(period)), ChitPayout.class);
+    if (chitPayout == null) {
+      log.error("No payout for chit {} in period {}", chitname, period);
+      throw new ResourceNotFoundException(PayoutEnum.PAYOUT_NOT_FOUND.getEnumPayoutConstant());
+    }
+    return chitPayout;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    jobRunner.shutdownNow();
+  }
+
+  // Only one node runs a period at a time: a RUNNING job is taken over once its heartbeat is
+  // older than stale-after-ms, and a COMPLETED one is never run again. A job only completes
+  // once every chit has its payout, so a FAILED one is always run again
+  private PayoutJob claim(String period) {
+    Instant now = Instant.now();
+    Query claimQuery = new Query(Criteria.where("id").is(period).andOperator(
+        Criteria.where("status").ne(PayoutJob.COMPLETED),
+        new Criteria().orOperator(
+            Criteria.where("status").ne(PayoutJob.RUNNING),
+            Criteria.where("heartbeatAt").lt(now.minusMillis(payoutConfig.getStaleAfterMs())))));
+    Update claimUpdate = new Update()
+        .set("status", PayoutJob.RUNNING)
+        .set("heartbeatAt", now)
+        .unset("error")
+        .setOnInsert("startedAt", now)
+        .setOnInsert("checkpoint", 0L)
+        .setOnInsert("processedChits", 0L)
+        .setOnInsert("failedChits", 0L);
+    try {
+      return mongoTemplate.findAndModify(claimQuery, claimUpdate,
+          FindAndModifyOptions.options().returnNew(true).upsert(true), PayoutJob.class);
+    } catch (DuplicateKeyException e) {
+      PayoutJob existing = mongoTemplate.findById(period, PayoutJob.class);
+      if (existing != null && PayoutJob.COMPLETED.equals(existing.getStatus())) {
+        log.error("Payouts for {} are already computed", period);
+        throw new ResourceExistsException(PayoutEnum.PAYOUT_COMPLETED.getEnumPayoutConstant());
+      }
+      log.error("Payout job for {} is already running", period);
+      throw new ConflictException(PayoutEnum.PAYOUT_RUNNING.getEnumPayoutConstant());
+    }
+  }
+
+  // Active chits are read in id order and cut into batches; up to parallelism batches are
+  // computed and written at once while the cursor keeps reading
+  private void run(PayoutJob payoutJob) {
+    String period = payoutJob.getId();
+    int parallelism = Math.max(1, payoutConfig.getParallelism());
+    if (payoutJob.getCheckpoint() == 0) {
+      long totalChits = mongoTemplate.count(activeChits(0), ChitDBModel.class);
+      payoutJob.setTotalChits(totalChits);
+      mongoTemplate.updateFirst(new Query(Criteria.where("id").is(period)),
+          new Update().set("totalChits", totalChits), PayoutJob.class);
+    }
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    List<Long> failedChitIds;
+    try {
+      failedChitIds = retryFailed(payoutJob);
+    } catch (RuntimeException e) {
+      finish(period, e, payoutJob.getFailedChits());
+      return;
+    }
+    Checkpoint checkpoint = new Checkpoint(payoutJob, failedChitIds);
+    AtomicInteger workerCount = new AtomicInteger();
+    ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "payout-worker-" + workerCount.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    Semaphore inFlight = new Semaphore(parallelism * 2);
+    try (Stream<ChitDBModel> chits = mongoTemplate.stream(
+        activeChits(payoutJob.getCheckpoint()).with(Sort.by("id")), ChitDBModel.class)) {
+      Iterator<ChitDBModel> iterator = chits.iterator();
+      List<ChitDBModel> batch = new ArrayList<>(payoutConfig.getBatchSize());
+      long batchNumber = 0;
+      while (iterator.hasNext() && failure.get() == null) {
+        batch.add(iterator.next());
+        if (batch.size() >= payoutConfig.getBatchSize() || !iterator.hasNext()) {
+          inFlight.acquire();
+          List<ChitDBModel> chitBatch = batch;
+          long number = batchNumber++;
+          batch = new ArrayList<>(payoutConfig.getBatchSize());
+          workers.execute(() -> {
+            try {
+              List<Long> failed = writeBatch(chitBatch, period);
+              checkpoint.complete(number, chitBatch.get(chitBatch.size() - 1).getId(),
+                  chitBatch.size(), failed);
+            } catch (RuntimeException e) {
+              failure.compareAndSet(null, e);
+            } finally {
+              inFlight.release();
+            }
+          });
+        }
+      }
+      workers.shutdown();
+      // batches still running are interrupted below, so their chits are not computed
+      if (!workers.awaitTermination(1, TimeUnit.HOURS)) {
+        failure.compareAndSet(null,
+            new IllegalStateException("payout job timed out with batches still running"));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure.compareAndSet(null, new IllegalStateException("payout job interrupted", e));
+    } catch (RuntimeException e) {
+      failure.compareAndSet(null, e);
+    } finally {
+      workers.shutdownNow();
+    }
+    finish(period, failure.get(), checkpoint.failedChits());
+  }
+
+  // Recomputes the chits an earlier run failed on; the ones that fail again stay on the job.
+  // Chits no longer active have no payout to compute and are dropped.
+  private List<Long> retryFailed(PayoutJob payoutJob) {
+    List<Long> failedChitIds = Optional.ofNullable(payoutJob.getFailedChitIds())
+        .orElse(List.of());
+    if (failedChitIds.isEmpty()) {
+      return List.of();
+    }
+    List<ChitDBModel> chits = mongoTemplate.find(activeChits(0)
+            .addCriteria(Criteria.where("id").in(failedChitIds)).with(Sort.by("id")),
+        ChitDBModel.class);
+    List<Long> stillFailed = chits.isEmpty() ? List.of()
+        : writeBatch(chits, payoutJob.getId());
+    mongoTemplate.updateFirst(new Query(Criteria.where("id").is(payoutJob.getId())),
+        new Update()
+            .set("failedChitIds", stillFailed)
+            .set("failedChits", stillFailed.size())
+            .set("heartbeatAt", Instant.now()),
+        PayoutJob.class);
+    log.info("Payout job for {} retried {} failed chits, {} still failing",
+        payoutJob.getId(), failedChitIds.size(), stillFailed.size());
+    return stillFailed;
+  }
+
+  // Returns the ids of the chits whose payout could not be computed
+  private List<Long> writeBatch(List<ChitDBModel> chits, String period) {
+    List<Long> chitIds = chits.stream().map(ChitDBModel::getId).toList();
+    Query slotQuery = new Query(Criteria.where("chitId").in(chitIds).and("user").ne(null))
+        .with(Sort.by("chitId", "slotId"));
+    slotQuery.fields().include("chitId", "slotId", "user", "split", "subSlots");
+    Map<Long, List<Slot>> slotsByChit = mongoTemplate.find(slotQuery, Slot.class).stream()
+        .collect(Collectors.groupingBy(Slot::getChitId));
+    Map<Long, AuctionDBModel> auctionsByChit = mongoTemplate.find(
+            new Query(Criteria.where("chitId").in(chitIds).and("period").is(period)
+                .and("status").is(AuctionDBModel.CLOSED)),
+            AuctionDBModel.class).stream()
+        .collect(Collectors.toMap(AuctionDBModel::getChitId, Function.identity()));
+
+    BulkOperations payoutOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED,
+        ChitPayout.class);
+    List<Long> failed = new ArrayList<>();
+    for (ChitDBModel chitDBModel : chits) {
+      try {
+        ChitPayout chitPayout = PayoutCalculator.compute(chitDBModel,
+            slotsByChit.getOrDefault(chitDBModel.getId(), List.of()),
+            auctionsByChit.get(chitDBModel.getId()), period, payoutConfig.getCommissionPercent());
+        payoutOperations.replaceOne(new Query(Criteria.where("id").is(chitPayout.getId())),
+            chitPayout, FindAndReplaceOptions.options().upsert());
+      } catch (RuntimeException e) {
+        log.error("Failed to compute payout of chit {} for {}", chitDBModel.getId(), period, e);
+        failed.add(chitDBModel.getId());
+      }
+    }
+    if (failed.size() < chits.size()) {
+      payoutOperations.execute();
+    }
+    return failed;
+  }
+
+  // A run that computed every chit but some is FAILED too, so those chits are retried
+  private void finish(String period, RuntimeException failure, long failedChits) {
+    Update update = new Update()
+        .set("heartbeatAt", Instant.now())
+        .set("finishedAt", Instant.now());
+    if (failure != null) {
+      update.set("status", PayoutJob.FAILED).set("error", failure.getMessage());
+      log.error("Payout job for {} failed", period, failure);
+    } else if (failedChits > 0) {
+      update.set("status", PayoutJob.FAILED)
+          .set("error", failedChits + " chits could not be computed");
+      log.error("Payout job for {} failed on {} chits", period, failedChits);
+    } else {
+      update.set("status", PayoutJob.COMPLETED);
+      log.info("Payout job for {} completed", period);
+    }
+    mongoTemplate.updateFirst(new Query(Criteria.where("id").is(period)), update,
+        PayoutJob.class);
+  }
+
+  // Chits with at least one booked slot, after the given id
+  private Query activeChits(long afterId) {
+    return new Query(Criteria.where("id").gt(afterId)
+        .andOperator(Criteria.expr(
+            ComparisonOperators.valueOf("freeSlots").lessThan("totalSlots"))));
+  }
+
+  private String parsePeriod(String period) {
+    if (period == null || period.isEmpty()) {
+      return YearMonth.now().toString();
+    }
+    try {
+      return YearMonth.parse(period).toString();
+    } catch (DateTimeParseException e) {
+      log.error("Invalid payout period: {}", period);
+      throw new BadRequestException(PayoutEnum.PAYOUT_PERIOD_INVALID.getEnumPayoutConstant());
+    }
+  }
+
+  // Batches finish out of order; the checkpoint only moves past a batch once every batch
+  // before it is written, so a resumed run never skips a chit
+  private class Checkpoint {
+
+    private final String period;
+    private final Map<Long, FinishedBatch> finished = new TreeMap<>();
+    private final List<Long> failedChitIds;
+    private long nextBatch;
+    private long processedChits;
+
+    Checkpoint(PayoutJob payoutJob, List<Long> failedChitIds) {
+      this.period = payoutJob.getId();
+      this.processedChits = payoutJob.getProcessedChits();
+      this.failedChitIds = new ArrayList<>(failedChitIds);
+    }
+
+    synchronized long failedChits() {
+      return failedChitIds.size();
+    }
+
+    synchronized void complete(long batchNumber, long lastChitId, int chits, List<Long> failed) {
+      finished.put(batchNumber, new FinishedBatch(lastChitId, chits, failed));
+      Long lastContiguousChitId = null;
+      while (finished.containsKey(nextBatch)) {
+        FinishedBatch batch = finished.remove(nextBatch++);
+        lastContiguousChitId = batch.lastChitId();
+        processedChits += batch.chits();
+        failedChitIds.addAll(batch.failedChitIds());
+      }
+      if (lastContiguousChitId == null) {
+        return;
+      }
+      mongoTemplate.updateFirst(new Query(Criteria.where("id").is(period)),
+          new Update()
+              .set("checkpoint", lastContiguousChitId)
+              .set("processedChits", processedChits)
+              .set("failedChits", failedChitIds.size())
+              .set("failedChitIds", failedChitIds)
+              .set("heartbeatAt", Instant.now()),
+          PayoutJob.class);
+      log.info("Payout job for {} processed {} chits up to chit {}", period, processedChits,
+          lastContiguousChitId);
+    }
+  }
+
+  private record FinishedBatch(long lastChitId, int chits, List<Long> failedChitIds) {
+  }
+}
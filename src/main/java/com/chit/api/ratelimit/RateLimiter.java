@@ -0,0 +1,101 @@
+package com.chit.api.ratelimit;
+
+import com.chit.api.config.RateLimitConfig;
+import com.chit.api.config.RateLimitConfig.Policy;
+import com.chit.api.enums.UserEnum;
+import com.chit.api.globalexceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Throttles the endpoints that hash a password, per user number and per client address, so a
+// burst of attempts against one number or from one client cannot take every core. Each key is
+// a token bucket kept as a single theoretical arrival time (GCRA) in an AtomicLong, taken with
+// one compare-and-set and no lock. A bucket idle for as long as it takes to refill is full
+// again, so dropping it loses nothing; the buckets expire then, and beyond max-keys per
+// endpoint and key type the least used are dropped.
+@Component
+@Slf4j
+public class RateLimiter {
+
+  public static final String LOGIN = "login";
+  public static final String UPDATE_PASSWORD = "update-password";
+
+  private final boolean enabled;
+  private final Map<String, Buckets> byNumber = new HashMap<>();
+  private final Map<String, Buckets> byClient = new HashMap<>();
+
+  public RateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
+    this.enabled = rateLimitConfig.isEnabled();
+    for (String endpoint : new String[]{LOGIN, UPDATE_PASSWORD}) {
+      Policy policy = rateLimitConfig.getPolicies().getOrDefault(endpoint, new Policy());
+      byNumber.put(endpoint, new Buckets(policy.getNumberCapacity(),
+          policy.getNumberPerMinute(), rateLimitConfig.getMaxKeys(),
+          meterRegistry.counter("chit.rate.limited", "endpoint", endpoint, "key", "number")));
+      byClient.put(endpoint, new Buckets(policy.getClientCapacity(),
+          policy.getClientPerMinute(), rateLimitConfig.getMaxKeys(),
+          meterRegistry.counter("chit.rate.limited", "endpoint", endpoint, "key", "client")));
+    }
+  }
+
+  // Takes one attempt from the client's bucket and the number's; throws with the seconds until
+  // the next attempt would be let through when either is empty
+  public void check(String endpoint, String number, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+    if (clientAddress != null) {
+      byClient.get(endpoint).take(clientAddress, endpoint);
+    }
+    if (number != null) {
+      byNumber.get(endpoint).take(number, endpoint);
+    }
+  }
+
+  private static class Buckets {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> arrivals;
+    private final Counter rejected;
+
+    private Buckets(int capacity, int perMinute, long maxKeys, Counter rejected) {
+      this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+      this.burstNanos = intervalNanos * capacity;
+      this.arrivals = Caffeine.newBuilder()
+          .maximumSize(maxKeys)
+          .expireAfterAccess(Duration.ofNanos(burstNanos))
+          .build();
+      this.rejected = rejected;
+    }
+
+    private void take(String key, String endpoint) {
+      // MIN_VALUE is a bucket that has been full for ever
+      AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+      long now = System.nanoTime();
+      while (true) {
+        long current = arrival.get();
+        long next = Math.max(current, now) + intervalNanos;
+        long waitNanos = next - now - burstNanos;
+        if (waitNanos > 0) {
+          rejected.increment();
+          log.debug("Rate limited {} for {}", endpoint, key);
+          throw new TooManyRequestsException(
+              UserEnum.USER_TOO_MANY_ATTEMPTS.getEnumUserConstant(),
+              Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+        if (arrival.compareAndSet(current, next)) {
+          return;
+        }
+      }
+    }
+  }
+}
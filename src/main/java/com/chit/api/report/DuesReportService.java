@@ -0,0 +1,221 @@
+package com.chit.api.report;
+
+import com.chit.api.config.ReportConfig;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.enums.ReportEnum;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.ledger.LedgerEntry;
+import com.chit.api.money.Money;
+import com.chit.api.response.model.DuesRow;
+import com.chit.api.service.ChitImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class DuesReportService {
+
+  public static final String CSV = "csv";
+  public static final String NDJSON = "ndjson";
+
+  private static final String CSV_HEADER =
+      "userNumber,chitId,chitname,holdings,due,paid,outstanding";
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ReportConfig reportConfig;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  public String contentType(String format) {
+    if (format == null || NDJSON.equalsIgnoreCase(format)) {
+      return ChitImportService.NDJSON;
+    }
+    if (CSV.equalsIgnoreCase(format)) {
+      return ChitImportService.CSV;
+    }
+    log.error("Invalid report format: {}", format);
+    throw new BadRequestException(ReportEnum.REPORT_FORMAT_INVALID.getEnumReportConstant());
+  }
+
+  public String reportPeriod(String period) {
+    if (period == null || period.isEmpty()) {
+      return YearMonth.now().toString();
+    }
+    try {
+      return YearMonth.parse(period).toString();
+    } catch (DateTimeParseException e) {
+      log.error("Invalid report period: {}", period);
+      throw new BadRequestException(ReportEnum.REPORT_PERIOD_INVALID.getEnumReportConstant());
+    }
+  }
+
+  // The whole report is computed by Mongo and read through a batched cursor, so the app server
+  // holds one cursor batch at a time however many members owe
+  public void writeDues(String period, String userNumber, String contentType,
+      OutputStream outputStream) throws IOException {
+    log.info("Entered write dues report service method...");
+    Aggregation aggregation = Aggregation.newAggregation(duesPipeline(period, userNumber))
+        .withOptions(AggregationOptions.builder()
+            .allowDiskUse(true)
+            .cursorBatchSize(reportConfig.getCursorBatchSize())
+            .build());
+    long rows = 0;
+    try (Stream<Document> dues = mongoTemplate.aggregateStream(aggregation,
+        mongoTemplate.getCollectionName(Slot.class), Document.class)) {
+      Iterator<Document> iterator = dues.iterator();
+      if (ChitImportService.CSV.equals(contentType)) {
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (iterator.hasNext()) {
+          writeCsvRow(writer, duesRow(iterator.next()));
+          rows++;
+        }
+        writer.flush();
+      } else {
+        try (SequenceWriter sequenceWriter = objectMapper.writer()
+            .withRootValueSeparator("\n")
+            .writeValues(outputStream)) {
+          while (iterator.hasNext()) {
+            sequenceWriter.write(duesRow(iterator.next()));
+            rows++;
+          }
+        }
+      }
+    }
+    log.info("Wrote {} dues rows for period {}", rows, period);
+  }
+
+  // Every whole slot or sub-slot holding is one installment due for the period; payments and
+  // adjustments posted to the ledger for that period come off it
+  private List<AggregationOperation> duesPipeline(String period, String userNumber) {
+    List<AggregationOperation> pipeline = new ArrayList<>();
+    Document bookedSlots = new Document("user", new Document("$ne", null));
+    if (userNumber != null && !userNumber.isEmpty()) {
+      bookedSlots.append("$or", List.of(new Document("user", userNumber),
+          new Document("subSlots.userNumber", userNumber)));
+    }
+    pipeline.add(stage("$match", bookedSlots));
+    pipeline.add(stage("$project", new Document("chitId", 1)
+        .append("chitname", 1)
+        .append("holders", new Document("$cond", List.of(
+            new Document("$and", List.of(
+                new Document("$eq", List.of("$split", true)),
+                new Document("$gt", List.of(
+                    new Document("$size", new Document("$ifNull", List.of("$subSlots",
+                        List.of()))), 0)))),
+            new Document("$map", new Document("input", "$subSlots")
+                .append("as", "subSlot")
+                .append("in", new Document("userNumber", "$$subSlot.userNumber")
+                    .append("amount", "$$subSlot.slotAmount"))),
+            List.of(new Document("userNumber", "$user").append("amount", "$slotAmount")))))));
+    pipeline.add(stage("$unwind", "$holders"));
+    if (userNumber != null && !userNumber.isEmpty()) {
+      pipeline.add(stage("$match", new Document("holders.userNumber", userNumber)));
+    }
+    pipeline.add(stage("$group", new Document("_id", new Document("userNumber",
+        "$holders.userNumber").append("chitId", "$chitId"))
+        .append("chitname", new Document("$first", "$chitname"))
+        .append("holdings", new Document("$sum", 1))
+        .append("due", new Document("$sum", "$holders.amount"))));
+    // equality-only $expr match, answered from the chitId_userNumber_period ledger index
+    pipeline.add(stage("$lookup", new Document("from",
+        mongoTemplate.getCollectionName(LedgerEntry.class))
+        .append("let", new Document("chitId", "$_id.chitId")
+            .append("userNumber", "$_id.userNumber"))
+        .append("pipeline", List.of(
+            new Document("$match", new Document("$expr", new Document("$and", List.of(
+                new Document("$eq", List.of("$chitId", "$$chitId")),
+                new Document("$eq", List.of("$userNumber", "$$userNumber")),
+                new Document("$eq", List.of("$period", period)))))),
+            new Document("$group", new Document("_id", null)
+                .append("paid", new Document("$sum", "$amount")))))
+        .append("as", "payments")));
+    pipeline.add(stage("$project", new Document("_id", 0)
+        .append("userNumber", "$_id.userNumber")
+        .append("chitId", "$_id.chitId")
+        .append("chitname", 1)
+        .append("holdings", 1)
+        .append("due", 1)
+        .append("paid", new Document("$ifNull", List.of(
+            new Document("$first", "$payments.paid"), 0L)))));
+    pipeline.add(stage("$addFields", new Document("outstanding",
+        new Document("$subtract", List.of("$due", "$paid")))));
+    pipeline.add(stage("$match", new Document("outstanding", new Document("$gt", 0))));
+    pipeline.add(stage("$sort", new Document("userNumber", 1).append("chitId", 1)));
+    return pipeline;
+  }
+
+  private AggregationOperation stage(String operator, Object specification) {
+    return context -> new Document(operator, specification);
+  }
+
+  private DuesRow duesRow(Document document) {
+    DuesRow duesRow = new DuesRow();
+    duesRow.setUserNumber(document.getString("userNumber"));
+    duesRow.setChitId(document.get("chitId", Number.class).longValue());
+    duesRow.setChitname(document.getString("chitname"));
+    duesRow.setHoldings(document.get("holdings", Number.class).intValue());
+    duesRow.setDue(paise(document, "due"));
+    duesRow.setPaid(paise(document, "paid"));
+    duesRow.setOutstanding(paise(document, "outstanding"));
+    return duesRow;
+  }
+
+  private Money paise(Document document, String field) {
+    Number value = document.get(field, Number.class);
+    return Money.ofPaise(value != null ? value.longValue() : 0);
+  }
+
+  private void writeCsvRow(Writer writer, DuesRow duesRow) throws IOException {
+    writer.write(csvValue(duesRow.getUserNumber()));
+    writer.write(',');
+    writer.write(String.valueOf(duesRow.getChitId()));
+    writer.write(',');
+    writer.write(csvValue(duesRow.getChitname()));
+    writer.write(',');
+    writer.write(String.valueOf(duesRow.getHoldings()));
+    writer.write(',');
+    writer.write(duesRow.getDue().toString());
+    writer.write(',');
+    writer.write(duesRow.getPaid().toString());
+    writer.write(',');
+    writer.write(duesRow.getOutstanding().toString());
+    writer.write('\n');
+  }
+
+  private String csvValue(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,12 @@
+package com.chit.api.request.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AllocateSlotRequest {
+
+  private String userNumber;
+  private String chitName;
+}
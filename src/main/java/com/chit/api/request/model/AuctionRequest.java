@@ -0,0 +1,13 @@
+package com.chit.api.request.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AuctionRequest {
+
+  private String chitName;
+  private String period;
+  private Integer durationMinutes;
+}
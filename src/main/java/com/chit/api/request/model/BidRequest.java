@@ -0,0 +1,14 @@
+package com.chit.api.request.model;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BidRequest {
+
+  private String chitName;
+  private String userNumber;
+  private Money discount;
+}
@@ -0,0 +1,26 @@
+package com.chit.api.request.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChitSearchRequest {
+
+  private String namePrefix;
+  private String minAmount;
+  private String maxAmount;
+  private String tenure;
+  private String installment;
+  private String startFrom;
+  private String startTo;
+  private String endFrom;
+  private String endTo;
+  private Boolean hasFreeSlots;
+  // startDate and id of the last chit of the previous page
+  private String afterStartDate;
+  private Long afterId;
+  private Integer limit;
+  private List<String> fields;
+}
@@ -0,0 +1,17 @@
+package com.chit.api.request.model;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LedgerEntryRequest {
+
+  private String chitName;
+  private String userNumber;
+  private String period;
+  private String type;
+  private Money amount;
+  private String reference;
+}
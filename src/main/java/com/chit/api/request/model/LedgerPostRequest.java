@@ -0,0 +1,12 @@
+package com.chit.api.request.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LedgerPostRequest {
+
+  private List<LedgerEntryRequest> entries;
+}
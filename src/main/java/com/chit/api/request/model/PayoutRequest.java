@@ -0,0 +1,11 @@
+package com.chit.api.request.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PayoutRequest {
+
+  private String period;
+}
@@ -0,0 +1,15 @@
+package com.chit.api.response.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AllocateSlotResponse {
+
+  private long id;
+  private int slot;
+  private String message;
+}
@@ -0,0 +1,15 @@
+package com.chit.api.response.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ArchiveResponse {
+
+  private int candidates;
+  private int archived;
+  private int skipped;
+  private int purged;
+  private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.chit.api.response.model;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BidResponse {
+
+  private boolean leading;
+  private Money leadingDiscount;
+  private long bidCount;
+  private String message;
+}
@@ -0,0 +1,15 @@
+package com.chit.api.response.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChitImportError {
+
+  private long line;
+  private String chitname;
+  private String message;
+}
@@ -0,0 +1,17 @@
+package com.chit.api.response.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChitImportResponse {
+
+  private long rows;
+  private long imported;
+  private long failed;
+  private boolean errorsTruncated;
+  private List<ChitImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.chit.api.response.model;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DuesRow {
+
+  private String userNumber;
+  private Long chitId;
+  private String chitname;
+  private int holdings;
+  private Money due;
+  private Money paid;
+  private Money outstanding;
+}
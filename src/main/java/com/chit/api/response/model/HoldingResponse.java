@@ -0,0 +1,18 @@
+package com.chit.api.response.model;
+
+import com.chit.api.money.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class HoldingResponse {
+
+  private long chitId;
+  private String chitname;
+  private int slot;
+  private boolean split;
+  private Money slotAmount;
+  private Money committedAmount;
+  private Money remainingAmount;
+}
@@ -0,0 +1,14 @@
+package com.chit.api.response.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LedgerPostResponse {
+
+  private int posted;
+  private int failed;
+  private List<LedgerPostResult> results;
+}
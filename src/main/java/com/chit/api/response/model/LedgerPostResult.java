@@ -0,0 +1,20 @@
+package com.chit.api.response.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LedgerPostResult {
+
+  public static final String POSTED = "POSTED";
+  public static final String FAILED = "FAILED";
+
+  private int index;
+  private String entryId;
+  private String reference;
+  private String status;
+  private String message;
+}
@@ -0,0 +1,22 @@
+package com.chit.api.response.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkUserResult {
+
+  public static final String LINKED = "LINKED";
+  public static final String FAILED = "FAILED";
+
+  private int index;
+  private String chitName;
+  private int slot;
+  private String userNumber;
+  private Long chitId;
+  private String status;
+  private String message;
+}
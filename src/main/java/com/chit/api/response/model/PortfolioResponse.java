@@ -0,0 +1,17 @@
+package com.chit.api.response.model;
+
+import com.chit.api.money.Money;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PortfolioResponse {
+
+  private String userNumber;
+  private int chits;
+  private Money totalCommitted;
+  private Money totalRemaining;
+  private List<HoldingResponse> holdings;
+}
@@ -0,0 +1,18 @@
+package com.chit.api.response.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReplayResponse {
+
+  private int chits;
+  private int mismatched;
+  private int repaired;
+  // mismatched chits written between the audit read and the repair, left for the next audit
+  private int changedDuringAudit;
+  private long durationMs;
+  private List<Long> mismatchedChits;
+}
@@ -0,0 +1,18 @@
+package com.chit.api.response.model;
+
+import com.chit.api.ledger.LedgerEntry;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StatementResponse {
+
+  private String chitName;
+  private String userNumber;
+  private String from;
+  private String to;
+  private boolean truncated;
+  private List<LedgerEntry> entries;
+}
@@ -31,4 +31,14 @@ public class SequenceService {
     return !Objects.isNull(counter) ? counter.getSeq() : 1;
 
   }
+
+  // Reserves size consecutive ids in one round trip and returns the first of them
+  public long generateSequenceBlock(String seqName, int size) {
+    log.info("Entered generate sequence block method...");
+    Sequence counter = mongoOperations.findAndModify(query(where("id").is(seqName)),
+        new Update().inc("seq", size),
+        options().returnNew(true).upsert(true), Sequence.class);
+    long lastId = !Objects.isNull(counter) ? counter.getSeq() : size;
+    return lastId - size + 1;
+  }
 }
@@ -0,0 +1,343 @@
+package com.chit.api.service;
+
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.archive.ArchiveService;
+import com.chit.api.config.ChitImportConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ChitApiException;
+import com.chit.api.lifecycle.LifecycleScheduler;
+import com.chit.api.request.model.ChitRequest;
+import com.chit.api.response.model.ChitImportError;
+import com.chit.api.response.model.ChitImportResponse;
+import com.chit.api.sequence.SequenceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class ChitImportService {
+
+  public static final String CSV = "text/csv";
+  public static final String NDJSON = "application/x-ndjson";
+
+  private static final List<String> CSV_COLUMNS = List.of("chitname", "amount", "tenure",
+      "installment", "startDate", "endDate");
+  private static final int DUPLICATE_KEY = 11000;
+
+  @Autowired
+  private ChitService chitService;
+
+  @Autowired
+  private ChitRepo chitRepo;
+
+  @Autowired
+  private SlotService slotService;
+
+  @Autowired
+  private SequenceService sequenceService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ChitImportConfig chitImportConfig;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FreeSlotIndex freeSlotIndex;
+
+  @Autowired
+  private ChitEventStore chitEventStore;
+
+  @Autowired
+  private CounterService counterService;
+
+  @Autowired
+  private ArchiveService archiveService;
+
+  @Autowired
+  private LifecycleScheduler lifecycleScheduler;
+
+  // Reads the upload one line at a time, so only the current batch is ever held in memory
+  public ChitImportResponse importChits(InputStream inputStream, String contentType) {
+    log.info("Entered import chits service method...");
+    MediaType mediaType = importMediaType(contentType);
+    Charset charset = mediaType.getCharset() != null ? mediaType.getCharset()
+        : StandardCharsets.UTF_8;
+    ChitImportResponse chitImportResponse = new ChitImportResponse();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, charset))) {
+      long lineNumber = 0;
+      Function<String, ChitRequest> rowParser;
+      if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+        rowParser = csvRowParser(reader.readLine());
+        lineNumber++;
+      } else {
+        rowParser = jsonRowParser();
+      }
+      List<ImportRow> batch = new ArrayList<>(chitImportConfig.getBatchSize());
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        chitImportResponse.setRows(chitImportResponse.getRows() + 1);
+        String chitname = null;
+        try {
+          ChitRequest chitRequest = rowParser.apply(line);
+          chitname = chitRequest.getChitname();
+          batch.add(new ImportRow(lineNumber, chitService.newChit(chitRequest)));
+        } catch (BadRequestException e) {
+          reject(chitImportResponse, lineNumber, chitname, e.getMessage());
+        }
+        if (batch.size() >= chitImportConfig.getBatchSize()) {
+          writeBatch(batch, chitImportResponse);
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        writeBatch(batch, chitImportResponse);
+      }
+    } catch (IOException e) {
+      log.error("Failed to read the import stream", e);
+      throw new ChitApiException(ChitEnum.CHIT_IMPORT_FAILED.getEnumChitConstant(), e);
+    }
+    log.info("Imported {} of {} chits, {} rows failed", chitImportResponse.getImported(),
+        chitImportResponse.getRows(), chitImportResponse.getFailed());
+    return chitImportResponse;
+  }
+
+  private MediaType importMediaType(String contentType) {
+    try {
+      MediaType mediaType = MediaType.parseMediaType(contentType);
+      if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV))
+          || mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+        return mediaType;
+      }
+    } catch (IllegalArgumentException e) {
+      log.error("Invalid import content type: {}", contentType);
+    }
+    throw new BadRequestException(ChitEnum.CHIT_IMPORT_FORMAT.getEnumChitConstant());
+  }
+
+  private void writeBatch(List<ImportRow> batch, ChitImportResponse chitImportResponse) {
+    // Duplicates within the batch and against stored and archived chits, with one $in query each
+    Set<String> batchChitnames = batch.stream()
+        .map(row -> row.chit().getChitname())
+        .collect(Collectors.toSet());
+    Set<String> existingNames = chitRepo.findByChitnameIn(batchChitnames)
+        .stream()
+        .map(ChitDBModel::getChitname)
+        .collect(Collectors.toCollection(HashSet::new));
+    existingNames.addAll(archiveService.archivedNames(batchChitnames));
+    Set<String> batchNames = new HashSet<>();
+    List<ImportRow> accepted = new ArrayList<>(batch.size());
+    for (ImportRow row : batch) {
+      String chitname = row.chit().getChitname();
+      if (existingNames.contains(chitname) || !batchNames.add(chitname)) {
+        reject(chitImportResponse, row.line(), chitname,
+            ChitEnum.CHIT_EXISTS.getEnumChitConstant());
+      } else {
+        accepted.add(row);
+      }
+    }
+    if (accepted.isEmpty()) {
+      return;
+    }
+
+    long firstId = sequenceService.generateSequenceBlock(ChitDBModel.CHIT_SEQUENCE,
+        accepted.size());
+    List<ChitDBModel> chits = IntStream.range(0, accepted.size())
+        .mapToObj(i -> {
+          ChitDBModel chit = accepted.get(i).chit();
+          chit.setId(firstId + i);
+          chit.setVersion(0L);
+          return chit;
+        })
+        .toList();
+    Set<Integer> failedIndexes = new HashSet<>();
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, ChitDBModel.class).insert(chits).execute();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        ImportRow row = accepted.get(error.getIndex());
+        failedIndexes.add(error.getIndex());
+        reject(chitImportResponse, row.line(), row.chit().getChitname(),
+            error.getCode() == DUPLICATE_KEY ? ChitEnum.CHIT_EXISTS.getEnumChitConstant()
+                : error.getMessage());
+      }
+    }
+    List<ChitDBModel> inserted = IntStream.range(0, chits.size())
+        .filter(i -> !failedIndexes.contains(i))
+        .mapToObj(chits::get)
+        .toList();
+    Set<Long> slotFailures = slotService.createSlots(inserted);
+    if (!slotFailures.isEmpty()) {
+      // slot writes are idempotent, so the rerun only writes the slots still missing
+      Set<Long> retried = slotFailures;
+      slotFailures = slotService.createSlots(inserted.stream()
+          .filter(chit -> retried.contains(chit.getId()))
+          .toList());
+    }
+    if (!slotFailures.isEmpty()) {
+      inserted = discardChits(accepted, inserted, slotFailures, chitImportResponse);
+    }
+    inserted.forEach(chit -> freeSlotIndex.register(chit.getId(), chit.getTotalSlots()));
+    chitEventStore.appendAll(inserted.stream().map(ChitEvent::created).toList());
+    counterService.chitsAdded(inserted);
+    lifecycleScheduler.registerAll(inserted);
+    chitImportResponse.setImported(chitImportResponse.getImported() + inserted.size());
+  }
+
+  // A chit whose slots could not be written is removed with the slots it got, and its row is
+  // rejected, so no chit is left without its slots
+  private List<ChitDBModel> discardChits(List<ImportRow> accepted, List<ChitDBModel> inserted,
+      Set<Long> failedChits, ChitImportResponse chitImportResponse) {
+    log.error("Slots of chit ids {} could not be written, discarding them", failedChits);
+    slotService.deleteSlots(failedChits);
+    mongoTemplate.remove(new Query(Criteria.where("id").in(failedChits)), ChitDBModel.class);
+    accepted.stream()
+        .filter(row -> failedChits.contains(row.chit().getId()))
+        .forEach(row -> reject(chitImportResponse, row.line(), row.chit().getChitname(),
+            ChitEnum.CHIT_IMPORT_SLOTS.getEnumChitConstant()));
+    return inserted.stream()
+        .filter(chit -> !failedChits.contains(chit.getId()))
+        .toList();
+  }
+
+  private void reject(ChitImportResponse chitImportResponse, long line, String chitname,
+      String message) {
+    chitImportResponse.setFailed(chitImportResponse.getFailed() + 1);
+    if (chitImportResponse.getErrors().size() >= chitImportConfig.getMaxErrors()) {
+      chitImportResponse.setErrorsTruncated(true);
+      return;
+    }
+    ChitImportError chitImportError = new ChitImportError();
+    chitImportError.setLine(line);
+    chitImportError.setChitname(chitname);
+    chitImportError.setMessage(message);
+    chitImportResponse.getErrors().add(chitImportError);
+  }
+
+  private Function<String, ChitRequest> jsonRowParser() {
+    ObjectReader reader = objectMapper.readerFor(ChitRequest.class);
+    return line -> {
+      ChitRequest chitRequest;
+      try {
+        chitRequest = reader.readValue(line);
+      } catch (JsonProcessingException e) {
+        throw new BadRequestException(ChitEnum.CHIT_IMPORT_ROW.getEnumChitConstant());
+      }
+      // a line of just null reads as no request at all
+      if (chitRequest == null) {
+        throw new BadRequestException(ChitEnum.CHIT_IMPORT_ROW.getEnumChitConstant());
+      }
+      return chitRequest;
+    };
+  }
+
+  private Function<String, ChitRequest> csvRowParser(String header) {
+    if (header == null) {
+      return line -> new ChitRequest();
+    }
+    List<String> columns = splitCsv(header.replace("\uFEFF", "")).stream()
+        .map(String::trim)
+        .toList();
+    int[] positions = CSV_COLUMNS.stream()
+        .mapToInt(column -> IntStream.range(0, columns.size())
+            .filter(i -> columns.get(i).equalsIgnoreCase(column))
+            .findFirst()
+            .orElse(-1))
+        .toArray();
+    if (IntStream.of(positions).anyMatch(position -> position < 0)) {
+      log.error("CSV header is missing chit columns: {}", header);
+      throw new BadRequestException(ChitEnum.CHIT_IMPORT_HEADER.getEnumChitConstant());
+    }
+    return line -> {
+      List<String> values = splitCsv(line);
+      ChitRequest chitRequest = new ChitRequest();
+      chitRequest.setChitname(csvValue(values, positions[0]));
+      chitRequest.setAmount(csvValue(values, positions[1]));
+      chitRequest.setTenure(csvValue(values, positions[2]));
+      chitRequest.setInstallment(csvValue(values, positions[3]));
+      chitRequest.setStartDate(csvValue(values, positions[4]));
+      chitRequest.setEndDate(csvValue(values, positions[5]));
+      return chitRequest;
+    };
+  }
+
+  private String csvValue(List<String> values, int position) {
+    if (position >= values.size() || values.get(position).isBlank()) {
+      return null;
+    }
+    return values.get(position).trim();
+  }
+
+  // RFC 4180 fields on a single line: commas inside quotes and "" as an escaped quote
+  private static List<String> splitCsv(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    if (quoted) {
+      throw new BadRequestException(ChitEnum.CHIT_IMPORT_ROW.getEnumChitConstant());
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private record ImportRow(long line, ChitDBModel chit) {
+
+  }
+}
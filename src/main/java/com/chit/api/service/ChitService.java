@@ -1,31 +1,92 @@
 package com.chit.api.service;
 
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.archive.ArchiveService;
+import com.chit.api.archive.ArchivedChit;
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ChitQueryConfig;
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.counter.CounterService;
 import com.chit.api.dao.ChitRepo;
 import com.chit.api.dao.UserRepo;
 import com.chit.api.dao.model.ChitDBModel;
 import com.chit.api.dao.model.Slot;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.date.ChitDates;
+import com.chit.api.dto.PendingLink;
 import com.chit.api.dto.SubSlot;
 import com.chit.api.enums.ChitEnum;
 import com.chit.api.enums.UserEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
 import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ConflictException;
 import com.chit.api.globalexceptions.ResourceExistsException;
 import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.lifecycle.LifecycleScheduler;
+import com.chit.api.money.Money;
+import com.chit.api.request.model.AllocateSlotRequest;
 import com.chit.api.request.model.ChitRequest;
+import com.chit.api.request.model.ChitSearchRequest;
 import com.chit.api.request.model.LinkUserRequest;
+import com.chit.api.response.model.HoldingResponse;
+import com.chit.api.response.model.LinkUserResult;
+import com.chit.api.response.model.PortfolioResponse;
 import com.chit.api.sequence.SequenceService;
+import com.chit.api.versioning.VersionedWriteService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 @Component
 @Slf4j
 public class ChitService {
 
+  // lower bound of a search without startFrom; every typed startDate is after it
+  private static final LocalDate EARLIEST_START = LocalDate.of(1900, 1, 1);
+  private static final String SLOTS_FIELD = "slots";
+  // the fields a slot had while it was embedded in the chit document
+  private static final List<String> EMBEDDED_SLOT_FIELDS = List.of("slotId", "remainingAmounts",
+      "split", "slotAmount", "user", "subSlots");
+
   @Autowired
   private ChitRepo chitRepo;
 
@@ -35,8 +96,75 @@ public class ChitService {
   @Autowired
   private UserRepo userRepo;
 
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private VersionedWriteService versionedWriteService;
+
+  @Autowired
+  private SlotService slotService;
+
+  @Autowired
+  private ChitWriteConfig chitWriteConfig;
+
+  @Autowired
+  private ChitQueryConfig chitQueryConfig;
+
+  @Autowired
+  private FreeSlotIndex freeSlotIndex;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private ChitEventStore chitEventStore;
+
+  @Autowired
+  private CounterService counterService;
+
+  @Autowired
+  private ChitCache chitCache;
+
+  @Autowired
+  private ArchiveService archiveService;
+
+  @Autowired
+  private LifecycleScheduler lifecycleScheduler;
+
+  @Autowired
+  private LinkReconciler linkReconciler;
+
   public long addChit(ChitRequest chitRequest) {
     log.info("Entered add chit service method...");
+    ChitDBModel chitDBModel = newChit(chitRequest);
+    // archived chits keep their names; the unique index only covers the hot collection
+    if (archiveService.isArchived(chitDBModel.getChitname())) {
+      log.error("Chit with the given name is archived: {}", chitDBModel.getChitname());
+      throw new ResourceExistsException(ChitEnum.CHIT_EXISTS.getEnumChitConstant());
+    }
+    chitDBModel.setId(sequenceService.generateSequence(ChitDBModel.CHIT_SEQUENCE));
+    ChitDBModel chitDBModelSaved;
+    try {
+      chitDBModelSaved = versionedWriteService.execute("add", chitDBModel.getChitname(),
+          () -> chitRepo.save(chitDBModel));
+    } catch (DuplicateKeyException e) {
+      log.error("Chit with the given name already exists: {}", chitDBModel.getChitname());
+      throw new ResourceExistsException(ChitEnum.CHIT_EXISTS.getEnumChitConstant());
+    }
+    slotService.createSlots(chitDBModelSaved.getId(), chitDBModelSaved.getChitname(),
+        chitDBModelSaved.getTotalSlots(), chitDBModelSaved.getInstallment());
+    freeSlotIndex.register(chitDBModelSaved.getId(), chitDBModelSaved.getTotalSlots());
+    chitEventStore.append(ChitEvent.created(chitDBModelSaved));
+    counterService.chitsAdded(List.of(chitDBModelSaved));
+    chitCache.invalidate(chitDBModelSaved);
+    lifecycleScheduler.register(chitDBModelSaved);
+    log.info("chit added successfully with id:{}", chitDBModelSaved.getId());
+    return chitDBModelSaved.getId();
+  }
+
+  // Validates the request and builds the chit without an id, shared with the bulk import
+  ChitDBModel newChit(ChitRequest chitRequest) {
     if (chitRequest.getChitname() == null ||
         chitRequest.getTenure() == null ||
         chitRequest.getInstallment() == null ||
@@ -47,35 +175,327 @@ public class ChitService {
       log.error("ChitRequest validation failed: one or more required fields are missing or null");
       throw new BadRequestException(ChitEnum.CHIT_DETAILS.getEnumChitConstant());
     }
+    Money amount = parseAmount(chitRequest.getAmount());
+    Money installment = parseAmount(chitRequest.getInstallment());
+    LocalDate startDate = parseDate(chitRequest.getStartDate());
+    LocalDate endDate = parseDate(chitRequest.getEndDate());
+    if (endDate.isBefore(startDate)) {
+      log.error("Chit ends before it starts: {} to {}", startDate, endDate);
+      throw new BadRequestException(ChitEnum.CHIT_DATE_INVALID.getEnumChitConstant());
+    }
+    // every slot is a document and a bit in the free-slot index, so the count is capped
+    long slotCount = amount.divideToIntegral(installment);
+    if (slotCount > chitWriteConfig.getMaxSlots()) {
+      log.error("Too many slots for amount {} and installment {}", amount, installment);
+      throw new BadRequestException(ChitEnum.CHIT_SLOTS_LIMIT.getEnumChitConstant());
+    }
+    int maxSlots = (int) slotCount;
     ChitDBModel chitDBModel = new ChitDBModel();
-    chitDBModel.setId(sequenceService.generateSequence(ChitDBModel.CHIT_SEQUENCE));
     chitDBModel.setChitname(chitRequest.getChitname());
-    chitDBModel.setAmount(chitRequest.getAmount());
+    chitDBModel.setAmount(amount);
     chitDBModel.setTenure(chitRequest.getTenure());
-    chitDBModel.setInstallment(chitRequest.getInstallment());
-    chitDBModel.setStartDate(chitRequest.getStartDate());
-    chitDBModel.setEndDate(chitRequest.getEndDate());
-    chitDBModel.setBalanceAmount(chitRequest.getAmount());
-
-    int maxSlots =
-        Integer.parseInt(chitRequest.getAmount()) / Integer.parseInt(chitRequest.getInstallment());
-    List<Slot> slotList = IntStream.range(1, maxSlots + 1)
-        .mapToObj(i -> new Slot(i, chitRequest.getInstallment(), chitRequest.getInstallment()))
-        .collect(Collectors.toCollection(ArrayList::new));
-    chitDBModel.setSlots(slotList);
-    ChitDBModel chitDBModelSaved = chitRepo.save(chitDBModel);
-    log.info("chit added successfully with id:{}", chitDBModelSaved.getId());
-    return chitDBModelSaved.getId();
+    chitDBModel.setInstallment(installment);
+    chitDBModel.setStartDate(startDate);
+    chitDBModel.setEndDate(endDate);
+    chitDBModel.setBalanceAmount(amount);
+    chitDBModel.setTotalSlots(maxSlots);
+    chitDBModel.setFreeSlots(maxSlots);
+    return chitDBModel;
   }
 
-  public List<ChitDBModel> getAllChits() {
-    log.info("Entered get all chits service method...");
-    return chitRepo.findAll();
+  private Money parseAmount(String amount) {
+    try {
+      Money money = Money.parse(amount);
+      if (money.isPositive()) {
+        return money;
+      }
+    } catch (IllegalArgumentException e) {
+      log.error("Invalid amount: {}", amount);
+    }
+    throw new BadRequestException(ChitEnum.CHIT_AMOUNT_INVALID.getEnumChitConstant());
+  }
+
+  private LocalDate parseDate(String date) {
+    try {
+      return ChitDates.parse(date);
+    } catch (DateTimeParseException e) {
+      log.error("Invalid chit date: {}", date);
+      throw new BadRequestException(ChitEnum.CHIT_DATE_INVALID.getEnumChitConstant());
+    }
+  }
+
+  // Keyset page on _id: the next page starts after the last id of this one
+  public Query chitPageQuery(Long afterId, Integer limit, List<String> fields) {
+    log.info("Entered chit page query service method...");
+    int pageSize = pageSize(limit);
+    Query query = new Query(afterId != null ? Criteria.where("id").gt(afterId) : new Criteria())
+        .with(Sort.by(Sort.Direction.ASC, "id"))
+        .limit(pageSize)
+        .cursorBatchSize(pageSize);
+    includeFields(query, fields, true);
+    if (afterId == null && !mongoTemplate.exists(new Query(), ChitDBModel.class)) {
+      log.info("No chits found");
+      throw new ResourceNotFoundException(ChitEnum.CHIT_EMPTY.getEnumChitConstant());
+    }
+    return query;
+  }
+
+  // Slots left the chit document, but getChits clients still read them from there. A page that
+  // asks for no fields, or for "slots", gets them back in the old embedded shape, read from the
+  // slot collection in the same chitId order as the page; null when the page does not want them.
+  public Query chitPageSlotsQuery(Long afterId, List<String> fields) {
+    if (fields != null && !fields.isEmpty() && !fields.contains(SLOTS_FIELD)) {
+      return null;
+    }
+    Query query = new Query(afterId != null ? Criteria.where("chitId").gt(afterId)
+        : new Criteria())
+        .with(Sort.by(Sort.Direction.ASC, "chitId", "slotId"))
+        .cursorBatchSize(chitQueryConfig.getMaxPageSize());
+    Stream.concat(Stream.of("chitId"), EMBEDDED_SLOT_FIELDS.stream())
+        .forEach(field -> query.fields().include(field));
+    return query;
+  }
+
+  // Keyset page ordered by startDate then id, walking one of the chit search indexes. The next
+  // page starts after the startDate and id of the last chit of this one, so startDate is always
+  // returned. Chits whose dates were never readable have no startDate and are not searched.
+  public Query chitSearchQuery(ChitSearchRequest chitSearchRequest) {
+    log.info("Entered chit search query service method...");
+    int pageSize = pageSize(chitSearchRequest.getLimit());
+    LocalDate afterStartDate = searchDate(chitSearchRequest.getAfterStartDate());
+    if (chitSearchRequest.getAfterId() != null && afterStartDate == null) {
+      log.error("afterId given without afterStartDate");
+      throw new BadRequestException(ChitEnum.CHIT_SEARCH_INVALID.getEnumChitConstant());
+    }
+    LocalDate startFrom = searchDate(chitSearchRequest.getStartFrom());
+    if (startFrom == null || afterStartDate != null && afterStartDate.isAfter(startFrom)) {
+      startFrom = afterStartDate != null ? afterStartDate : EARLIEST_START;
+    }
+    List<Criteria> criteria = new ArrayList<>();
+    Criteria startDate = Criteria.where("startDate").gte(startFrom);
+    LocalDate startTo = searchDate(chitSearchRequest.getStartTo());
+    if (startTo != null) {
+      startDate.lte(startTo);
+    }
+    criteria.add(startDate);
+    if (afterStartDate != null) {
+      // the lower bound above already skips earlier dates; this only drops the ties already seen
+      criteria.add(new Criteria().norOperator(Criteria.where("startDate").is(afterStartDate)
+          .and("id").lte(chitSearchRequest.getAfterId() != null
+              ? chitSearchRequest.getAfterId() : Long.MAX_VALUE)));
+    }
+    LocalDate endFrom = searchDate(chitSearchRequest.getEndFrom());
+    LocalDate endTo = searchDate(chitSearchRequest.getEndTo());
+    if (endFrom != null || endTo != null) {
+      Criteria endDate = Criteria.where("endDate");
+      if (endFrom != null) {
+        endDate.gte(endFrom);
+      }
+      if (endTo != null) {
+        endDate.lte(endTo);
+      }
+      criteria.add(endDate);
+    }
+    if (hasText(chitSearchRequest.getMinAmount()) || hasText(chitSearchRequest.getMaxAmount())) {
+      Criteria amount = Criteria.where("amount");
+      if (hasText(chitSearchRequest.getMinAmount())) {
+        amount.gte(parseAmount(chitSearchRequest.getMinAmount()));
+      }
+      if (hasText(chitSearchRequest.getMaxAmount())) {
+        amount.lte(parseAmount(chitSearchRequest.getMaxAmount()));
+      }
+      criteria.add(amount);
+    }
+    if (hasText(chitSearchRequest.getTenure())) {
+      criteria.add(Criteria.where("tenure").is(chitSearchRequest.getTenure()));
+    }
+    if (hasText(chitSearchRequest.getInstallment())) {
+      criteria.add(Criteria.where("installment")
+          .is(parseAmount(chitSearchRequest.getInstallment())));
+    }
+    if (chitSearchRequest.getHasFreeSlots() != null) {
+      criteria.add(chitSearchRequest.getHasFreeSlots() ? Criteria.where("freeSlots").gt(0)
+          : Criteria.where("freeSlots").is(0));
+    }
+    if (hasText(chitSearchRequest.getNamePrefix())) {
+      // anchored and escaped, so Mongo can bound it on the chitname index when that is narrower
+      criteria.add(Criteria.where("chitname").regex("^"
+          + chitSearchRequest.getNamePrefix().replaceAll("\\W", "\\\\$0")));
+    }
+    Query query = new Query(new Criteria().andOperator(criteria))
+        .with(Sort.by(Sort.Direction.ASC, "startDate", "id"))
+        .limit(pageSize)
+        .cursorBatchSize(pageSize);
+    List<String> fields = chitSearchRequest.getFields();
+    if (fields != null && !fields.isEmpty() && !fields.contains("startDate")) {
+      chitSearchRequest.setFields(Stream.concat(fields.stream(), Stream.of("startDate"))
+          .toList());
+    }
+    includeFields(query, chitSearchRequest.getFields(), false);
+    return query;
+  }
+
+  private int pageSize(Integer limit) {
+    if (limit != null && limit <= 0) {
+      log.error("Invalid page limit: {}", limit);
+      throw new BadRequestException(ChitEnum.CHIT_PAGE_LIMIT.getEnumChitConstant());
+    }
+    return Math.min(limit != null ? limit : chitQueryConfig.getDefaultPageSize(),
+        chitQueryConfig.getMaxPageSize());
+  }
+
+  private void includeFields(Query query, List<String> fields, boolean slotsAllowed) {
+    if (fields == null || fields.isEmpty()) {
+      return;
+    }
+    MongoPersistentEntity<?> chitEntity = mongoTemplate.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(ChitDBModel.class);
+    for (String field : fields) {
+      if (slotsAllowed && SLOTS_FIELD.equals(field)) {
+        continue;
+      }
+      if (chitEntity.getPersistentProperty(field) == null) {
+        log.error("Unknown chit field requested: {}", field);
+        throw new BadRequestException(ChitEnum.CHIT_FIELD_INVALID.getEnumChitConstant());
+      }
+      query.fields().include(field);
+    }
+  }
+
+  private LocalDate searchDate(String date) {
+    if (!hasText(date)) {
+      return null;
+    }
+    try {
+      return ChitDates.parse(date);
+    } catch (DateTimeParseException e) {
+      log.error("Invalid search date: {}", date);
+      throw new BadRequestException(ChitEnum.CHIT_SEARCH_INVALID.getEnumChitConstant());
+    }
+  }
+
+  private boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+
+  // Writes the page as a JSON array straight from the cursor, one chit in memory at a time.
+  // With a slots query, both cursors walk in chitId order and each chit takes the slots that
+  // match its id, so only one chit's slots are held at a time.
+  public void writeChits(Query query, Query slotsQuery, List<String> fields,
+      OutputStream outputStream) throws IOException {
+    log.info("Entered write chits service method...");
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        Stream<ChitDBModel> chits = mongoTemplate.stream(query, ChitDBModel.class);
+        Stream<Slot> slots = slotsQuery != null ? mongoTemplate.stream(slotsQuery, Slot.class)
+            : Stream.empty()) {
+      generator.writeStartArray();
+      Iterator<ChitDBModel> iterator = chits.iterator();
+      Iterator<Slot> slotIterator = slots.iterator();
+      Slot nextSlot = slotIterator.hasNext() ? slotIterator.next() : null;
+      while (iterator.hasNext()) {
+        ChitDBModel chitDBModel = iterator.next();
+        ObjectNode chit = objectMapper.valueToTree(chitDBModel);
+        if (slotsQuery != null) {
+          ArrayNode chitSlots = chit.putArray(SLOTS_FIELD);
+          // slots of chits outside the page, or deleted under it, are skipped
+          while (nextSlot != null && nextSlot.getChitId() <= chitDBModel.getId()) {
+            if (nextSlot.getChitId().equals(chitDBModel.getId())) {
+              ObjectNode slot = objectMapper.valueToTree(nextSlot);
+              slot.retain(EMBEDDED_SLOT_FIELDS);
+              chitSlots.add(slot);
+            }
+            nextSlot = slotIterator.hasNext() ? slotIterator.next() : null;
+          }
+        }
+        if (fields != null && !fields.isEmpty()) {
+          chit.retain(Stream.concat(Stream.of("id"), fields.stream()).toList());
+        }
+        generator.writeTree(chit);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  public List<Slot> getSlots(String chitname) {
+    log.info("Entered get slots service method...");
+    ChitDBModel chitDBModel = chitCache.findByChitname(chitname);
+    List<Slot> slots;
+    if (chitDBModel != null) {
+      slots = slotService.getSlots(chitDBModel.getId());
+    } else {
+      ArchivedChit archivedChit = archiveService.findArchived(chitname);
+      if (archivedChit == null) {
+        log.error("Chit not found with the provided name: {}", chitname);
+        throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+      }
+      slots = archivedChit.getSlots();
+    }
+    if (slots.isEmpty()) {
+      log.error("No slots found for chit: {}", chitname);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_SLOTS_NOT_FOUND.getEnumChitConstant());
+    }
+    return slots;
+  }
+
+  public PortfolioResponse getPortfolio(String userNumber) {
+    log.info("Entered get portfolio service method...");
+    if (userNumber == null || userNumber.isEmpty()) {
+      log.error("User number is empty");
+      throw new BadRequestException(UserEnum.USER_NUMBER.getEnumUserConstant());
+    }
+    List<Slot> slots = slotService.findHoldings(userNumber);
+    // Slots written before the chit name was denormalized fall back to one lookup by id
+    Set<Long> unnamedChits = slots.stream()
+        .filter(slot -> slot.getChitname() == null)
+        .map(Slot::getChitId)
+        .collect(Collectors.toSet());
+    Map<Long, String> chitNames = new HashMap<>();
+    if (!unnamedChits.isEmpty()) {
+      Query chitQuery = new Query(Criteria.where("id").in(unnamedChits));
+      chitQuery.fields().include("chitname");
+      mongoTemplate.find(chitQuery, ChitDBModel.class)
+          .forEach(chit -> chitNames.put(chit.getId(), chit.getChitname()));
+    }
+    List<HoldingResponse> holdings = slots.stream()
+        .map(slot -> holding(slot, userNumber,
+            slot.getChitname() != null ? slot.getChitname() : chitNames.get(slot.getChitId())))
+        .toList();
+    PortfolioResponse portfolioResponse = new PortfolioResponse();
+    portfolioResponse.setUserNumber(userNumber);
+    portfolioResponse.setHoldings(holdings);
+    portfolioResponse.setChits((int) holdings.stream().map(HoldingResponse::getChitId).distinct()
+        .count());
+    portfolioResponse.setTotalCommitted(holdings.stream().map(HoldingResponse::getCommittedAmount)
+        .reduce(Money.ZERO, Money::plus));
+    portfolioResponse.setTotalRemaining(holdings.stream().map(HoldingResponse::getRemainingAmount)
+        .reduce(Money.ZERO, Money::plus));
+    log.info("Found {} holdings for user number: {}", holdings.size(), userNumber);
+    return portfolioResponse;
+  }
+
+  private HoldingResponse holding(Slot slot, String userNumber, String chitname) {
+    boolean split = Boolean.TRUE.equals(slot.getSplit());
+    // A whole slot is committed by its holder; a split slot only by the member's sub-slots
+    Money committedAmount = split
+        ? Optional.ofNullable(slot.getSubSlots()).orElse(List.of()).stream()
+            .filter(subSlot -> userNumber.equals(subSlot.getUserNumber()))
+            .map(SubSlot::getSlotAmount)
+            .reduce(Money.ZERO, Money::plus)
+        : slot.getSlotAmount().minus(slot.getRemainingAmounts());
+    HoldingResponse holdingResponse = new HoldingResponse();
+    holdingResponse.setChitId(slot.getChitId());
+    holdingResponse.setChitname(chitname);
+    holdingResponse.setSlot(slot.getSlotId());
+    holdingResponse.setSplit(split);
+    holdingResponse.setSlotAmount(slot.getSlotAmount());
+    holdingResponse.setCommittedAmount(committedAmount);
+    holdingResponse.setRemainingAmount(slot.getRemainingAmounts());
+    return holdingResponse;
   }
 
   public long count() {
     log.info("Entered count chits service method...");
-    return chitRepo.count();
+    return counterService.chits();
   }
 
   public void getChitByName(String name) {
@@ -84,8 +504,9 @@ public class ChitService {
       log.error("User name is empty or null");
       throw new BadRequestException(ChitEnum.CHIT_NAME_REQUIRED.getEnumChitConstant());
     }
-    ChitDBModel chitDBModel = chitRepo.findByChitname(name);
-    if (chitDBModel != null && chitDBModel.getChitname().equals(name)) {
+    ChitDBModel chitDBModel = chitCache.findByChitname(name);
+    if ((chitDBModel != null && chitDBModel.getChitname().equals(name))
+        || archiveService.isArchived(name)) {
       log.error("Chit with the given name already exists.");
       throw new BadRequestException(ChitEnum.CHIT_EXISTS.getEnumChitConstant());
     }
@@ -95,6 +516,13 @@ public class ChitService {
   public void deleteChit() {
     log.info("Entered delete all chits service method...");
     chitRepo.deleteAll();
+    slotService.deleteAllSlots();
+    freeSlotIndex.clear();
+    chitEventStore.clear();
+    counterService.chitsCleared();
+    chitCache.clear();
+    archiveService.clear();
+    lifecycleScheduler.clear();
     log.info("Deleted all chits service method");
   }
 
@@ -104,24 +532,275 @@ public class ChitService {
       log.error("Chit name is empty");
       throw new BadRequestException(ChitEnum.CHIT_NAME_REQUIRED.getEnumChitConstant());
     }
-    ChitDBModel chitDBModel = chitRepo.findByChitname(chitname);
-    if (chitDBModel == null) {
-      log.error("Chit not found with the provided name: {}", chitname);
-      throw new ResourceExistsException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
-    } else {
+    versionedWriteService.execute("delete", chitname, () -> {
+      // read past the cache: the remove below is guarded on the current version
+      ChitDBModel chitDBModel = chitRepo.findByChitname(chitname);
+      if (chitDBModel == null && archiveService.delete(chitname)) {
+        return;
+      }
+      if (chitDBModel == null) {
+        log.error("Chit not found with the provided name: {}", chitname);
+        throw new ResourceExistsException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+      }
+      // remove() matches on the version that was read, so a chit booked in between survives
+      DeleteResult deleteResult = mongoTemplate.remove(chitDBModel);
+      if (deleteResult.getDeletedCount() == 0) {
+        throw new OptimisticLockingFailureException("Chit " + chitname + " changed before delete");
+      }
+      slotService.deleteSlots(chitDBModel.getId());
+      freeSlotIndex.remove(chitDBModel.getId());
+      chitEventStore.append(ChitEvent.deleted(chitDBModel.getId()));
+      counterService.chitRemoved(chitDBModel);
+      chitCache.invalidate(chitDBModel);
+      lifecycleScheduler.remove(chitDBModel.getId());
       log.info("Deleted chit with name : {}", chitname);
-      chitRepo.deleteByChitname(chitname);
-    }
+    });
   }
 
   public Long linkUserToChit(LinkUserRequest linkUserRequest) {
     log.info("Entered link user to chit service method...");
+    validateLinkRequest(linkUserRequest);
+    userRepo.findByNumber(linkUserRequest.getUserNumber())
+        .orElseThrow(
+            () -> new ResourceNotFoundException(UserEnum.USER_NOT_FOUND.getEnumUserConstant()));
+    ChitDBModel chitDBModel = chitCache.findByChitname(linkUserRequest.getChitName());
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", linkUserRequest.getChitName());
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    // the same id on every retry, since a guard that missed stamped nothing
+    String linkId = UUID.randomUUID().toString();
+    AppliedLink appliedLink = versionedWriteService.execute("link",
+        linkUserRequest.getChitName(),
+        () -> applyLink(chitDBModel.getId(), linkUserRequest, linkId));
+    Slot previousSlot = appliedLink.previousSlot();
+    boolean slotClaimed = previousSlot.getUser() == null;
+    if (slotClaimed) {
+      freeSlotIndex.markTaken(chitDBModel.getId(), previousSlot.getSlotId());
+    }
+    Money requiredAmount = Money.ofRupees(linkUserRequest.getRequiredAmount());
+    // Any other failure leaves the stamp on the slot for the reconcile run to finish
+    boolean balanceApplied;
+    try {
+      balanceApplied = linkReconciler.applyBalance(linkId, chitDBModel.getId(), requiredAmount,
+          slotClaimed ? 1 : 0);
+    } catch (ResourceNotFoundException e) {
+      undoLink(previousSlot, appliedLink.slotLink(), linkUserRequest.getUserNumber(), linkId);
+      throw e;
+    }
+    linkReconciler.clear(List.of(linkId), List.of(previousSlot.getId()),
+        List.of(chitDBModel.getId()));
+    // a reconcile run that got there first has appended the event
+    if (balanceApplied) {
+      chitEventStore.append(ChitEvent.linked(chitDBModel.getId(), previousSlot.getSlotId(),
+          linkUserRequest.getUserNumber(), requiredAmount,
+          Boolean.TRUE.equals(linkUserRequest.getSplit()), slotClaimed));
+    }
+    log.info("User linked to chit with id : {}", chitDBModel.getId());
+    return chitDBModel.getId();
+  }
+
+  // Books whichever slot is free: the claim comes from the in-memory index, and the guarded
+  // update on user == null keeps it correct if another instance took the slot meanwhile.
+  public Slot allocateSlot(AllocateSlotRequest allocateSlotRequest) {
+    log.info("Entered allocate slot service method...");
+    if (allocateSlotRequest.getUserNumber() == null
+        || allocateSlotRequest.getUserNumber().isEmpty()) {
+      log.error("User number is empty");
+      throw new BadRequestException(UserEnum.USER_NUMBER.getEnumUserConstant());
+    }
+    if (allocateSlotRequest.getChitName() == null || allocateSlotRequest.getChitName().isEmpty()) {
+      log.error("Chit name is empty");
+      throw new BadRequestException(ChitEnum.CHIT_NAME_REQUIRED.getEnumChitConstant());
+    }
+    userRepo.findByNumber(allocateSlotRequest.getUserNumber())
+        .orElseThrow(
+            () -> new ResourceNotFoundException(UserEnum.USER_NOT_FOUND.getEnumUserConstant()));
+    ChitDBModel chitDBModel = chitCache.findByChitname(allocateSlotRequest.getChitName());
+    if (chitDBModel == null) {
+      log.error("Chit with the given name does not exist:{}", allocateSlotRequest.getChitName());
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    long chitId = chitDBModel.getId();
+    Money installment = chitDBModel.getInstallment();
+    while (true) {
+      int slotId = freeSlotIndex.claim(chitId, chitDBModel.getTotalSlots());
+      if (slotId < 0) {
+        log.error("No free slot left in chit: {}", chitDBModel.getChitname());
+        throw new ConflictException(ChitEnum.CHIT_NO_FREE_SLOT.getEnumChitConstant());
+      }
+      String linkId = UUID.randomUUID().toString();
+      UpdateResult updateResult;
+      try {
+        updateResult = mongoTemplate.updateFirst(
+            new Query(Criteria.where("id").is(Slot.slotKey(chitId, slotId))
+                .and("user").is(null)
+                .and("remainingAmounts").is(installment)),
+            new Update()
+                .set("remainingAmounts", Money.ZERO)
+                .set("user", allocateSlotRequest.getUserNumber())
+                .set("split", false)
+                .push("pendingLinks", PendingLink.of(linkId,
+                    allocateSlotRequest.getUserNumber(), installment, false, true,
+                    Instant.now())),
+            Slot.class);
+      } catch (RuntimeException e) {
+        freeSlotIndex.release(chitId, slotId);
+        throw e;
+      }
+      if (updateResult.getMatchedCount() == 1) {
+        boolean balanceApplied;
+        try {
+          balanceApplied = linkReconciler.applyBalance(linkId, chitId, installment, 1);
+        } catch (ResourceNotFoundException e) {
+          undoLink(new Slot(chitId, slotId, installment, installment),
+              new SlotLink(installment, Money.ZERO, false, List.of()),
+              allocateSlotRequest.getUserNumber(), linkId);
+          throw e;
+        }
+        linkReconciler.clear(List.of(linkId), List.of(Slot.slotKey(chitId, slotId)),
+            List.of(chitId));
+        if (balanceApplied) {
+          chitEventStore.append(ChitEvent.linked(chitId, slotId,
+              allocateSlotRequest.getUserNumber(), installment, false, true));
+        }
+        log.info("Allocated slot {} of chit id {} to user {}", slotId, chitId,
+            allocateSlotRequest.getUserNumber());
+        Slot slot = new Slot(chitId, slotId, Money.ZERO, installment);
+        slot.setUser(allocateSlotRequest.getUserNumber());
+        slot.setSplit(false);
+        return slot;
+      }
+      // Booked through another path or instance; leave the bit cleared and claim again
+      log.warn("Slot {} of chit id {} was already taken, claiming another", slotId, chitId);
+    }
+  }
+
+  public List<LinkUserResult> linkUsersToChits(List<LinkUserRequest> linkUserRequests) {
+    log.info("Entered link users to chits service method...");
+    if (linkUserRequests == null || linkUserRequests.isEmpty()) {
+      log.error("No link entries provided");
+      throw new BadRequestException(ChitEnum.CHIT_LINKS_REQUIRED.getEnumChitConstant());
+    }
+    if (linkUserRequests.size() > chitWriteConfig.getMaxBatchLinks()) {
+      log.error("Batch of {} link entries exceeds the limit of {}", linkUserRequests.size(),
+          chitWriteConfig.getMaxBatchLinks());
+      throw new BadRequestException(ChitEnum.CHIT_LINKS_LIMIT.getEnumChitConstant());
+    }
+    LinkUserResult[] results = new LinkUserResult[linkUserRequests.size()];
+    List<Integer> validEntries = new ArrayList<>();
+    for (int i = 0; i < linkUserRequests.size(); i++) {
+      try {
+        validateLinkRequest(linkUserRequests.get(i));
+        validEntries.add(i);
+      } catch (BadRequestException e) {
+        results[i] = linkResult(i, linkUserRequests.get(i), null, e.getMessage());
+      }
+    }
+
+    // One $in query each for the users, the chits and every slot the batch touches
+    Set<String> knownUsers = userRepo.findByNumberIn(validEntries.stream()
+            .map(i -> linkUserRequests.get(i).getUserNumber())
+            .collect(Collectors.toSet()))
+        .stream()
+        .map(UserDBModel::getNumber)
+        .collect(Collectors.toSet());
+    Map<String, ChitDBModel> chitsByName = chitRepo.findByChitnameIn(validEntries.stream()
+            .map(i -> linkUserRequests.get(i).getChitName())
+            .collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(ChitDBModel::getChitname, Function.identity(),
+            (first, second) -> first));
+    Map<String, Slot> slotsById = slotService.findSlots(validEntries.stream()
+            .map(linkUserRequests::get)
+            .filter(linkUserRequest -> chitsByName.containsKey(linkUserRequest.getChitName()))
+            .map(linkUserRequest -> Slot.slotKey(
+                chitsByName.get(linkUserRequest.getChitName()).getId(), linkUserRequest.getSlot()))
+            .collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(Slot::getId, Function.identity()));
+
+    // Entries for the same slot are applied in order on top of each other
+    Map<String, BatchLink> batchLinks = new LinkedHashMap<>();
+    for (int i : validEntries) {
+      LinkUserRequest linkUserRequest = linkUserRequests.get(i);
+      ChitDBModel chitDBModel = chitsByName.get(linkUserRequest.getChitName());
+      String failure = null;
+      if (!knownUsers.contains(linkUserRequest.getUserNumber())) {
+        failure = UserEnum.USER_NOT_FOUND.getEnumUserConstant();
+      } else if (chitDBModel == null) {
+        failure = ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant();
+      } else {
+        String slotId = Slot.slotKey(chitDBModel.getId(), linkUserRequest.getSlot());
+        Slot slot = slotsById.get(slotId);
+        if (slot == null) {
+          failure = ChitEnum.CHIT_SLOT_NOT_FOUND.getEnumChitConstant();
+        } else {
+          // planned before the slot joins the batch, so a refused entry adds no empty update
+          BatchLink batchLink = batchLinks.get(slotId);
+          try {
+            SlotLink slotLink = planLink(batchLink != null ? batchLink.working : slot,
+                linkUserRequest);
+            batchLinks.computeIfAbsent(slotId, id -> new BatchLink(chitDBModel, slot))
+                .add(i, linkUserRequest, slotLink);
+          } catch (BadRequestException e) {
+            failure = e.getMessage();
+          }
+        }
+      }
+      if (failure != null) {
+        results[i] = linkResult(i, linkUserRequest, null, failure);
+      }
+    }
+
+    if (!batchLinks.isEmpty()) {
+      String linkBatchId = UUID.randomUUID().toString();
+      BulkOperations slotOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class);
+      Instant now = Instant.now();
+      batchLinks.values().forEach(batchLink ->
+          slotOperations.updateOne(batchLink.guardQuery(), batchLink.update(linkBatchId, now)));
+      List<String> batchSlotIds = new ArrayList<>(batchLinks.keySet());
+      Map<String, String> failedSlots = new HashMap<>();
+      int matched;
+      try {
+        matched = slotOperations.execute().getMatchedCount();
+      } catch (BulkOperationException e) {
+        // unordered, so the updates around a failed one were still applied and need their
+        // balances and events like any other
+        log.error("Batch {} failed on {} of {} slots", linkBatchId, e.getErrors().size(),
+            batchLinks.size());
+        e.getErrors().forEach(error ->
+            failedSlots.put(batchSlotIds.get(error.getIndex()), error.getMessage()));
+        matched = -1;
+      }
+      // Only when a guard missed do we need to ask which slots carry this batch's id
+      Set<String> appliedSlots = matched == batchLinks.size() ? batchLinks.keySet()
+          : slotService.findSlotsLinkedBy(linkBatchId, batchLinks.keySet()).stream()
+              .map(Slot::getId)
+              .collect(Collectors.toSet());
+      Set<Long> balancedChits = applyBatchBalances(batchLinks, appliedSlots, linkBatchId);
+      chitEventStore.appendAll(batchLinkEvents(batchLinks, appliedSlots, balancedChits,
+          linkUserRequests));
+      batchLinks.forEach((slotId, batchLink) -> batchLink.entries.forEach(i -> {
+        boolean applied = appliedSlots.contains(slotId);
+        results[i] = linkResult(i, linkUserRequests.get(i),
+            applied ? batchLink.chit.getId() : null,
+            applied ? ChitEnum.CHIT_USER_LINKED.getEnumChitConstant()
+                : failedSlots.getOrDefault(slotId, ChitEnum.CHIT_CONFLICT.getEnumChitConstant()));
+      }));
+      log.info("Linked {} of {} slots in batch {}", appliedSlots.size(), batchLinks.size(),
+          linkBatchId);
+    }
+    return Arrays.asList(results);
+  }
+
+  private void validateLinkRequest(LinkUserRequest linkUserRequest) {
     // Validate user number
-    if (linkUserRequest.getUserNumber().isEmpty()) {
+    if (linkUserRequest.getUserNumber() == null || linkUserRequest.getUserNumber().isEmpty()) {
       log.error("User number is empty");
       throw new BadRequestException(UserEnum.USER_NUMBER.getEnumUserConstant());
     }
-    if (linkUserRequest.getChitName().isEmpty()) {
+    if (linkUserRequest.getChitName() == null || linkUserRequest.getChitName().isEmpty()) {
       log.error("Chit name is empty");
       throw new BadRequestException(ChitEnum.CHIT_NAME_REQUIRED.getEnumChitConstant());
     }
@@ -133,67 +812,256 @@ public class ChitService {
       log.error("Required amount is less than or equal to zero");
       throw new BadRequestException(ChitEnum.CHIT_REMAINING_AMOUNT.getEnumChitConstant());
     }
-    userRepo.findByNumber(linkUserRequest.getUserNumber())
-        .orElseThrow(
-            () -> new ResourceNotFoundException(UserEnum.USER_NOT_FOUND.getEnumUserConstant()));
-    ChitDBModel chitDBModel = chitRepo.findByChitname(linkUserRequest.getChitName());
-    if (chitDBModel == null) {
-      log.error("Chit with the given name does not exist:{}", linkUserRequest.getChitName());
-      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
-    }
-    List<Slot> slots = chitDBModel.getSlots();
-    Slot slotToUpdate = slots.stream()
-        .filter(slot -> slot.getSlotId() == linkUserRequest.getSlot())
-        .findFirst()
+  }
+
+  // Writes only the slot document, guarded on the remaining amount that was read, so a
+  // concurrent booking of the same slot makes the guard miss instead of being overwritten.
+  private AppliedLink applyLink(long chitId, LinkUserRequest linkUserRequest, String linkId) {
+    Slot slotToUpdate = slotService.findSlot(chitId, linkUserRequest.getSlot())
         .orElseThrow(() -> new ResourceNotFoundException(
             ChitEnum.CHIT_SLOT_NOT_FOUND.getEnumChitConstant()));
-    int remainingAmount = Integer.parseInt(slotToUpdate.getRemainingAmounts());
-    String newRemainingAmount = String.valueOf(
-        remainingAmount - linkUserRequest.getRequiredAmount());
-    if (!linkUserRequest.getSplit() && (Integer.parseInt(newRemainingAmount) < 0
-        || linkUserRequest.getRequiredAmount() != Integer.parseInt(slotToUpdate.getSlotAmount()))) {
+    SlotLink slotLink = planLink(slotToUpdate, linkUserRequest);
+
+    Query guardQuery = new Query(Criteria.where("id").is(slotToUpdate.getId())
+        .and("remainingAmounts").is(slotToUpdate.getRemainingAmounts()));
+    Update update = new Update()
+        .set("remainingAmounts", slotLink.remainingAmount())
+        .set("user", linkUserRequest.getUserNumber())
+        .set("split", slotLink.split())
+        .push("pendingLinks", PendingLink.of(linkId, linkUserRequest.getUserNumber(),
+            slotLink.requiredAmount(), slotLink.split(), slotToUpdate.getUser() == null,
+            Instant.now()));
+    if (!slotLink.subSlots().isEmpty()) {
+      update.push("subSlots").each(slotLink.subSlots().toArray());
+    }
+
+    UpdateResult updateResult = mongoTemplate.updateFirst(guardQuery, update, Slot.class);
+    if (updateResult.getMatchedCount() == 0) {
+      throw new OptimisticLockingFailureException(
+          "Slot " + slotToUpdate.getSlotId() + " of chit " + linkUserRequest.getChitName()
+              + " changed concurrently");
+    }
+    return new AppliedLink(slotToUpdate, slotLink);
+  }
+
+  // Puts a linked slot back as it was read when its chit was deleted under the booking, guarded
+  // on the values and stamp the link set so that a later write to the slot is never undone. A
+  // slot the link took from the free index is handed back to it.
+  private void undoLink(Slot previousSlot, SlotLink slotLink, String userNumber, String linkId) {
+    Query guardQuery = new Query(Criteria.where("id").is(previousSlot.getId())
+        .and("remainingAmounts").is(slotLink.remainingAmount())
+        .and("user").is(userNumber)
+        .and("pendingLinks.linkId").is(linkId));
+    Update update = new Update()
+        .set("remainingAmounts", previousSlot.getRemainingAmounts())
+        .set("user", previousSlot.getUser())
+        .set("split", previousSlot.getSplit())
+        .pull("pendingLinks", new Document("linkId", linkId));
+    if (!slotLink.subSlots().isEmpty()) {
+      List<Integer> subSlotIds = slotLink.subSlots().stream()
+          .map(SubSlot::getSubSlotId)
+          .toList();
+      update.pull("subSlots", new Document("subSlotId",
+          new Document("$in", subSlotIds)));
+    }
+    try {
+      if (mongoTemplate.updateFirst(guardQuery, update, Slot.class).getMatchedCount() == 0) {
+        log.error("Slot {} of chit id {} changed before its link could be undone",
+            previousSlot.getSlotId(), previousSlot.getChitId());
+        return;
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to undo link of slot {} of chit id {}", previousSlot.getSlotId(),
+          previousSlot.getChitId(), e);
+      return;
+    }
+    if (previousSlot.getUser() == null) {
+      freeSlotIndex.release(previousSlot.getChitId(), previousSlot.getSlotId());
+    }
+    log.warn("Undid link of slot {} of chit id {}", previousSlot.getSlotId(),
+        previousSlot.getChitId());
+  }
+
+  private SlotLink planLink(Slot slot, LinkUserRequest linkUserRequest) {
+    Money requiredAmount = Money.ofRupees(linkUserRequest.getRequiredAmount());
+    Money newRemainingAmount = slot.getRemainingAmounts().minus(requiredAmount);
+    boolean split = Boolean.TRUE.equals(linkUserRequest.getSplit());
+    if (!split && (newRemainingAmount.isNegative()
+        || !requiredAmount.equals(slot.getSlotAmount()))) {
       log.error("Required amount invalid");
       throw new BadRequestException(ChitEnum.CHIT_REQUIRED_AMOUNT.getEnumChitConstant());
     }
+    if (!split) {
+      return new SlotLink(requiredAmount, newRemainingAmount, false, List.of());
+    }
+
+    int existingSubSlots = Optional.ofNullable(slot.getSubSlots())
+        .map(List::size)
+        .orElse(0);
+
+    Money slotAmount = slot.getSlotAmount();
+
+    if (!requiredAmount.isPositive() || !slotAmount.isPositive()
+        || !requiredAmount.remainder(slotAmount).isZero()) {
+      log.error("Invalid values for required amount or slot amount");
+      throw new BadRequestException(ChitEnum.CHIT_REQUIRED_AMOUNT.getEnumChitConstant());
+    }
 
-    slotToUpdate.setRemainingAmounts(newRemainingAmount);
-    chitDBModel.setBalanceAmount(String.valueOf(
-        Integer.parseInt(chitDBModel.getBalanceAmount()) - linkUserRequest.getRequiredAmount()));
-    slotToUpdate.setUser(linkUserRequest.getUserNumber());
-    slotToUpdate.setSplit(linkUserRequest.getSplit());
+    long numberOfSlots = requiredAmount.divideToIntegral(slotAmount);
 
-    if (linkUserRequest.getSplit()) {
-      List<SubSlot> subSlots = Optional.ofNullable(slotToUpdate.getSubSlots())
-          .orElse(new ArrayList<>());
+    // one sub-slot per slot amount, so a link's sub-slots together hold its required amount
+    List<SubSlot> newSubSlots = IntStream.range(0, Math.toIntExact(numberOfSlots))
+        .mapToObj(i -> {
+          SubSlot subSlot = new SubSlot();
+          subSlot.setSubSlotId(existingSubSlots + i + 1);
+          subSlot.setSlotAmount(slotAmount);
+          subSlot.setUserNumber(linkUserRequest.getUserNumber());
+          return subSlot;
+        })
+        .toList();
+    return new SlotLink(requiredAmount, newRemainingAmount, true, newSubSlots);
+  }
 
-      int slotAmount = Integer.parseInt(slotToUpdate.getSlotAmount());
-      int requiredAmount = linkUserRequest.getRequiredAmount();
+  // One $inc per chit for every slot of the batch that was written, each under the link id the
+  // batch stamped on that chit's slots. Returns the chits whose balance this call moved; a chit
+  // the reconcile run already balanced has had its events appended there.
+  private Set<Long> applyBatchBalances(Map<String, BatchLink> batchLinks,
+      Set<String> appliedSlots, String linkBatchId) {
+    Map<Long, Money> linkedAmounts = new LinkedHashMap<>();
+    Map<Long, Integer> claimedSlots = new HashMap<>();
+    batchLinks.forEach((slotId, batchLink) -> {
+      if (appliedSlots.contains(slotId)) {
+        linkedAmounts.merge(batchLink.chit.getId(), batchLink.requiredAmount, Money::plus);
+        if (batchLink.original.getUser() == null) {
+          claimedSlots.merge(batchLink.chit.getId(), 1, Integer::sum);
+          freeSlotIndex.markTaken(batchLink.chit.getId(), batchLink.original.getSlotId());
+        }
+      }
+    });
+    if (linkedAmounts.isEmpty()) {
+      return Set.of();
+    }
+    Set<Long> balancedChits = new HashSet<>();
+    linkedAmounts.forEach((chitId, linkedAmount) -> {
+      try {
+        if (linkReconciler.applyBalance(BatchLink.linkId(linkBatchId, chitId), chitId,
+            linkedAmount, claimedSlots.getOrDefault(chitId, 0))) {
+          balancedChits.add(chitId);
+        }
+      } catch (ResourceNotFoundException e) {
+        log.error("Chit id {} was deleted during batch {}", chitId, linkBatchId);
+      }
+    });
+    linkReconciler.clear(linkedAmounts.keySet().stream()
+            .map(chitId -> BatchLink.linkId(linkBatchId, chitId))
+            .toList(),
+        appliedSlots, linkedAmounts.keySet());
+    return balancedChits;
+  }
 
-      if (requiredAmount <= 0 || slotAmount <= 0 || requiredAmount % slotAmount != 0) {
-        log.error("Invalid values for required amount or slot amount");
-        throw new BadRequestException(ChitEnum.CHIT_REQUIRED_AMOUNT.getEnumChitConstant());
+  // One event per linked entry; only the first entry of a slot that was free claims it
+  private List<ChitEvent> batchLinkEvents(Map<String, BatchLink> batchLinks,
+      Set<String> appliedSlots, Set<Long> balancedChits, List<LinkUserRequest> linkUserRequests) {
+    List<ChitEvent> events = new ArrayList<>();
+    batchLinks.forEach((slotId, batchLink) -> {
+      if (!appliedSlots.contains(slotId) || !balancedChits.contains(batchLink.chit.getId())) {
+        return;
+      }
+      boolean slotClaimed = batchLink.original.getUser() == null;
+      for (int i : batchLink.entries) {
+        LinkUserRequest linkUserRequest = linkUserRequests.get(i);
+        events.add(ChitEvent.linked(batchLink.chit.getId(), batchLink.original.getSlotId(),
+            linkUserRequest.getUserNumber(), Money.ofRupees(linkUserRequest.getRequiredAmount()),
+            Boolean.TRUE.equals(linkUserRequest.getSplit()), slotClaimed));
+        slotClaimed = false;
       }
+    });
+    return events;
+  }
 
-      int numberOfSlots = requiredAmount / slotAmount;
+  private LinkUserResult linkResult(int index, LinkUserRequest linkUserRequest, Long chitId,
+      String message) {
+    LinkUserResult linkUserResult = new LinkUserResult();
+    linkUserResult.setIndex(index);
+    linkUserResult.setChitName(linkUserRequest.getChitName());
+    linkUserResult.setSlot(linkUserRequest.getSlot());
+    linkUserResult.setUserNumber(linkUserRequest.getUserNumber());
+    linkUserResult.setChitId(chitId);
+    linkUserResult.setStatus(chitId == null ? LinkUserResult.FAILED : LinkUserResult.LINKED);
+    linkUserResult.setMessage(message);
+    return linkUserResult;
+  }
 
-      List<SubSlot> newSubSlots = IntStream.range(0, numberOfSlots + 1)
-          .mapToObj(i -> {
-            SubSlot subSlot = new SubSlot();
-            subSlot.setSubSlotId(subSlots.size() + i + 1);
-            subSlot.setSlotAmount(String.valueOf(linkUserRequest.getRequiredAmount()));
-            subSlot.setUserNumber(linkUserRequest.getUserNumber());
-            return subSlot;
-          })
-          .toList();
+  private record SlotLink(Money requiredAmount, Money remainingAmount, boolean split,
+                          List<SubSlot> subSlots) {
 
-      subSlots.addAll(newSubSlots);
-      slotToUpdate.setSubSlots(subSlots);
-    }
+  }
+
+  private record AppliedLink(Slot previousSlot, SlotLink slotLink) {
 
-    ChitDBModel chitDBModelSaved = chitRepo.save(chitDBModel);
-    log.info("User linked to chit with id : {}", chitDBModelSaved.getId());
-    return chitDBModelSaved.getId();
   }
 
+  // Accumulates every entry of a batch that targets one slot into a single guarded update
+  private static class BatchLink {
 
+    private final ChitDBModel chit;
+    private final Slot original;
+    private final Slot working;
+    private final List<Integer> entries = new ArrayList<>();
+    private final List<SubSlot> pushedSubSlots = new ArrayList<>();
+    private final List<PendingLink> pendingLinks = new ArrayList<>();
+    private Money requiredAmount = Money.ZERO;
+
+    BatchLink(ChitDBModel chit, Slot original) {
+      this.chit = chit;
+      this.original = original;
+      this.working = new Slot(original.getChitId(), original.getSlotId(),
+          original.getRemainingAmounts(), original.getSlotAmount());
+      this.working.setUser(original.getUser());
+      this.working.setSplit(original.getSplit());
+      this.working.setSubSlots(new ArrayList<>(
+          Optional.ofNullable(original.getSubSlots()).orElse(List.of())));
+    }
+
+    // one link id per chit and batch, since the batch moves each chit's balance once
+    static String linkId(String linkBatchId, long chitId) {
+      return linkBatchId + ":" + chitId;
+    }
+
+    void add(int index, LinkUserRequest linkUserRequest, SlotLink slotLink) {
+      // only the first entry of a slot that was free claims it
+      pendingLinks.add(PendingLink.of(null, linkUserRequest.getUserNumber(),
+          slotLink.requiredAmount(), slotLink.split(),
+          entries.isEmpty() && original.getUser() == null, null));
+      entries.add(index);
+      requiredAmount = requiredAmount.plus(slotLink.requiredAmount());
+      pushedSubSlots.addAll(slotLink.subSlots());
+      working.setRemainingAmounts(slotLink.remainingAmount());
+      working.setUser(linkUserRequest.getUserNumber());
+      working.setSplit(slotLink.split());
+      working.getSubSlots().addAll(slotLink.subSlots());
+    }
+
+    Query guardQuery() {
+      return new Query(Criteria.where("id").is(original.getId())
+          .and("remainingAmounts").is(original.getRemainingAmounts()));
+    }
+
+    Update update(String linkBatchId, Instant now) {
+      pendingLinks.forEach(pendingLink -> {
+        pendingLink.setLinkId(linkId(linkBatchId, chit.getId()));
+        pendingLink.setAt(now);
+      });
+      Update update = new Update()
+          .set("remainingAmounts", working.getRemainingAmounts())
+          .set("user", working.getUser())
+          .set("split", working.getSplit())
+          .set("linkBatchId", linkBatchId)
+          .push("pendingLinks").each(pendingLinks.toArray());
+      if (!pushedSubSlots.isEmpty()) {
+        update.push("subSlots").each(pushedSubSlots.toArray());
+      }
+      return update;
+    }
+  }
 }
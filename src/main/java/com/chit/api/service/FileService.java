@@ -1,14 +1,17 @@
 package com.chit.api.service;
 
 import com.chit.api.config.FileConfig;
+import com.chit.api.counter.CounterService;
 import com.chit.api.dao.FileRepo;
 import com.chit.api.dao.model.FileDBModel;
 import com.chit.api.enums.FileEnum;
 import com.chit.api.globalexceptions.BadRequestException;
 import com.chit.api.globalexceptions.ChitApiException;
+import com.chit.api.globalexceptions.ResourceExistsException;
 import com.chit.api.sequence.SequenceService;
 import com.chit.api.utilities.EncryptionUtils;
 import java.io.File;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import org.slf4j.Logger;
@@ -16,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
@@ -30,6 +34,8 @@ public class FileService {
   private final FileConfig fileConfig;
   @Autowired
   private SequenceService sequenceService;
+  @Autowired
+  private CounterService counterService;
 
   public FileService(EncryptionUtils encryptionUtils, FileRepo fileRepo, FileConfig fileConfig) {
     this.encryptionUtils = encryptionUtils;
@@ -69,12 +75,24 @@ public class FileService {
       fileDBModel.setId(sequenceService.generateSequence(FileDBModel.FILE_SEQUENCE));
       fileDBModel.setFilename(finalFilename);
       fileDBModel.setFilepath(finalFilePath);
-      fileRepo.save(fileDBModel);
+      try {
+        fileRepo.save(fileDBModel);
+      } catch (DuplicateKeyException e) {
+        log.error("File with name {} already exists in database", finalFilename);
+        Files.deleteIfExists(Paths.get(filePath));
+        throw new ResourceExistsException(FileEnum.FILE_SAME.getEnumFileConstant());
+      }
+      counterService.fileAdded();
       log.info("File saved to database: Filename: {}, Filepath: {}", finalFilename, finalFilePath);
 
     } catch (BadRequestException e) {
       log.error("Bad request: {}", e.getMessage());
       throw new BadRequestException(FileEnum.FILE_TYPE.getEnumFileConstant());
+    } catch (ResourceExistsException e) {
+      throw e;
+    } catch (FileAlreadyExistsException e) {
+      log.error("File already exists: {}", e.getMessage());
+      throw new ResourceExistsException(FileEnum.FILE_SAME.getEnumFileConstant());
     } catch (Exception e) {
       log.error("Unexpected error during file upload: {}", e.getMessage(), e);
       throw new ChitApiException(e.toString());
@@ -137,6 +155,7 @@ public class FileService {
 
         // Remove the file record from the database
         fileRepo.delete(fileDBModel);
+        counterService.fileRemoved();
         log.info("File record deleted from database: {}", filename);
 
     } catch (BadRequestException badRequestException) {
@@ -170,6 +189,7 @@ public class FileService {
 
         // Delete all records from the database
         fileRepo.deleteAll();
+        counterService.filesCleared();
         log.info("All file records deleted from database");
 
     } catch (Exception e) {
@@ -0,0 +1,192 @@
+package com.chit.api.service;
+
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.PendingLink;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.money.Money;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// A booking writes the slot and then the chit balance, two documents with no transaction
+// between them. The slot write stamps the booking on the slot as a pending link. The balance
+// $inc is guarded on the chit not having recorded that link and records it, so it happens
+// once however often it is tried. Only then are the stamps cleared from both documents.
+//
+// A booking cut off between its writes leaves its stamp behind, and the reconcile run, at
+// startup and every reconcile-interval-ms, finishes it: it applies the balance unless the chit
+// already recorded the link, appends the events the booking could not, and clears the stamps.
+// Stamps younger than pending-link-stale-ms may belong to bookings still running and are left.
+@Component
+@Slf4j
+public class LinkReconciler {
+
+  // link ids the chit balance already includes; unmapped, and only filled while a booking is
+  // between its writes
+  static final String APPLIED_LINKS = "appliedLinks";
+  private static final int RECONCILE_BATCH = 1000;
+
+  private final MongoTemplate mongoTemplate;
+  private final ChitWriteConfig chitWriteConfig;
+  private final ChitCache chitCache;
+  private final CounterService counterService;
+  private final FreeSlotIndex freeSlotIndex;
+  private final ChitEventStore chitEventStore;
+  private final ScheduledExecutorService executor;
+
+  public LinkReconciler(MongoTemplate mongoTemplate, ChitWriteConfig chitWriteConfig,
+      ChitCache chitCache, CounterService counterService, FreeSlotIndex freeSlotIndex,
+      ChitEventStore chitEventStore) {
+    this.mongoTemplate = mongoTemplate;
+    this.chitWriteConfig = chitWriteConfig;
+    this.chitCache = chitCache;
+    this.counterService = counterService;
+    this.freeSlotIndex = freeSlotIndex;
+    this.chitEventStore = chitEventStore;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chit-link-reconciler");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Order(8)
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    executor.scheduleWithFixedDelay(this::reconcileOnSchedule, 0,
+        chitWriteConfig.getReconcileIntervalMs(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // Moves the chit balance for a link once. True when this call applied it, false when the
+  // chit had already recorded the link; throws when the chit no longer exists.
+  public boolean applyBalance(String linkId, long chitId, Money linkedAmount, int claimedSlots) {
+    Update update = new Update()
+        .inc("balanceAmount", linkedAmount.negate().getPaise())
+        .inc("version", 1)
+        .push(APPLIED_LINKS, linkId);
+    if (claimedSlots != 0) {
+      update.inc("freeSlots", -claimedSlots);
+    }
+    UpdateResult updateResult = mongoTemplate.updateFirst(
+        new Query(Criteria.where("id").is(chitId).and(APPLIED_LINKS).ne(linkId)), update,
+        ChitDBModel.class);
+    chitCache.invalidate(chitId);
+    if (updateResult.getMatchedCount() == 0) {
+      if (mongoTemplate.exists(new Query(Criteria.where("id").is(chitId)), ChitDBModel.class)) {
+        return false;
+      }
+      log.error("Chit with id {} was deleted while linking", chitId);
+      throw new ResourceNotFoundException(ChitEnum.CHIT_NAME_NOT_FOUND.getEnumChitConstant());
+    }
+    counterService.slotsLinked(linkedAmount, claimedSlots);
+    return true;
+  }
+
+  // Clears the stamps of links whose balance is applied. A failure is only logged: the stamps
+  // left behind are cleared by the next reconcile run without moving the balance again.
+  public void clear(Collection<String> linkIds, Collection<String> slotIds,
+      Collection<Long> chitIds) {
+    try {
+      mongoTemplate.updateMulti(new Query(Criteria.where("id").in(slotIds)),
+          new Update().pull("pendingLinks",
+              new Document("linkId", new Document("$in", linkIds))),
+          Slot.class);
+      mongoTemplate.updateMulti(new Query(Criteria.where("id").in(chitIds)),
+          new Update().pullAll(APPLIED_LINKS, linkIds.toArray()), ChitDBModel.class);
+    } catch (RuntimeException e) {
+      log.error("Failed to clear pending links {}", linkIds, e);
+    }
+  }
+
+  private void reconcileOnSchedule() {
+    try {
+      reconcile();
+    } catch (RuntimeException e) {
+      log.error("Failed to reconcile pending links", e);
+    }
+  }
+
+  public void reconcile() {
+    Instant staleBefore = Instant.now().minusMillis(chitWriteConfig.getPendingLinkStaleMs());
+    List<Slot> slots;
+    do {
+      slots = mongoTemplate.find(new Query(Criteria.where("pendingLinks.at").lt(staleBefore))
+          .limit(RECONCILE_BATCH), Slot.class);
+      // a batch link stamps every slot it wrote in a chit with the same link id
+      Map<String, List<StampedSlot>> byLink = new LinkedHashMap<>();
+      for (Slot slot : slots) {
+        for (PendingLink pendingLink : slot.getPendingLinks()) {
+          if (pendingLink.getAt().isBefore(staleBefore)) {
+            byLink.computeIfAbsent(pendingLink.getLinkId(), id -> new ArrayList<>())
+                .add(new StampedSlot(slot, pendingLink));
+          }
+        }
+      }
+      byLink.forEach(this::finish);
+    } while (slots.size() == RECONCILE_BATCH);
+  }
+
+  private void finish(String linkId, List<StampedSlot> stampedSlots) {
+    long chitId = stampedSlots.get(0).slot().getChitId();
+    Money linkedAmount = stampedSlots.stream()
+        .map(stampedSlot -> stampedSlot.pendingLink().getAmount())
+        .reduce(Money.ZERO, Money::plus);
+    int claimedSlots = (int) stampedSlots.stream()
+        .filter(stampedSlot -> stampedSlot.pendingLink().isSlotClaimed())
+        .count();
+    try {
+      if (applyBalance(linkId, chitId, linkedAmount, claimedSlots)) {
+        stampedSlots.stream()
+            .filter(stampedSlot -> stampedSlot.pendingLink().isSlotClaimed())
+            .forEach(stampedSlot -> freeSlotIndex.markTaken(chitId,
+                stampedSlot.slot().getSlotId()));
+        chitEventStore.appendAll(stampedSlots.stream()
+            .map(stampedSlot -> ChitEvent.linked(chitId, stampedSlot.slot().getSlotId(),
+                stampedSlot.pendingLink().getUserNumber(), stampedSlot.pendingLink().getAmount(),
+                Boolean.TRUE.equals(stampedSlot.pendingLink().getSplit()),
+                stampedSlot.pendingLink().isSlotClaimed()))
+            .toList());
+        log.warn("Applied the balance of pending link {} to chit id {}", linkId, chitId);
+      }
+    } catch (ResourceNotFoundException e) {
+      log.warn("Chit id {} of pending link {} no longer exists", chitId, linkId);
+    }
+    clear(List.of(linkId), stampedSlots.stream().map(stampedSlot -> stampedSlot.slot().getId())
+        .distinct().toList(), List.of(chitId));
+  }
+
+  private record StampedSlot(Slot slot, PendingLink pendingLink) {
+
+  }
+}
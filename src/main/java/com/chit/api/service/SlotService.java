@@ -0,0 +1,227 @@
+package com.chit.api.service;
+
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.dao.SlotRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.money.Money;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class SlotService {
+
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final SlotRepo slotRepo;
+  private final MongoTemplate mongoTemplate;
+  private final ChitWriteConfig chitWriteConfig;
+
+  public SlotService(SlotRepo slotRepo, MongoTemplate mongoTemplate,
+      ChitWriteConfig chitWriteConfig) {
+    this.slotRepo = slotRepo;
+    this.mongoTemplate = mongoTemplate;
+    this.chitWriteConfig = chitWriteConfig;
+  }
+
+  @Order(1)
+  @EventListener(ApplicationReadyEvent.class)
+  public void prepareSlotCollection() {
+    log.info("Entered prepare slot collection method...");
+    migrateEmbeddedSlots();
+    backfillChitNames();
+  }
+
+  public void createSlots(long chitId, String chitname, int count, Money installment) {
+    log.info("Entered create slots method...");
+    List<Slot> chunk = new ArrayList<>(Math.min(count, chitWriteConfig.getSlotInsertBatchSize()));
+    for (int slotId = 1; slotId <= count; slotId++) {
+      chunk.add(newSlot(chitId, chitname, slotId, installment));
+      if (chunk.size() >= chitWriteConfig.getSlotInsertBatchSize()) {
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class).insert(chunk).execute();
+        chunk = new ArrayList<>(chitWriteConfig.getSlotInsertBatchSize());
+      }
+    }
+    if (!chunk.isEmpty()) {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class).insert(chunk).execute();
+    }
+    log.info("Created {} slots for chit id:{}", count, chitId);
+  }
+
+  // Slots of many chits in unordered bulk inserts of slot-insert-batch-size, used by the bulk
+  // import; only one chunk is held in memory at a time. Returns the ids of chits with slots that
+  // could not be written. A slot id is fixed by its chit and number, so a duplicate key is a
+  // slot written before and running this again for the same chits only fills in the gaps.
+  public Set<Long> createSlots(List<ChitDBModel> chits) {
+    log.info("Entered create slots for chits method...");
+    Set<Long> failedChits = new HashSet<>();
+    List<Slot> chunk = new ArrayList<>(chitWriteConfig.getSlotInsertBatchSize());
+    for (ChitDBModel chit : chits) {
+      for (int slotId = 1; slotId <= chit.getTotalSlots(); slotId++) {
+        chunk.add(newSlot(chit.getId(), chit.getChitname(), slotId, chit.getInstallment()));
+        if (chunk.size() >= chitWriteConfig.getSlotInsertBatchSize()) {
+          failedChits.addAll(insertChunk(chunk));
+          chunk = new ArrayList<>(chitWriteConfig.getSlotInsertBatchSize());
+        }
+      }
+    }
+    if (!chunk.isEmpty()) {
+      failedChits.addAll(insertChunk(chunk));
+    }
+    log.info("Created slots for {} chits, {} failed", chits.size(), failedChits.size());
+    return failedChits;
+  }
+
+  private Set<Long> insertChunk(List<Slot> chunk) {
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class).insert(chunk).execute();
+      return Set.of();
+    } catch (BulkOperationException e) {
+      return e.getErrors().stream()
+          .filter(error -> error.getCode() != DUPLICATE_KEY)
+          .map(error -> chunk.get(error.getIndex()).getChitId())
+          .collect(Collectors.toSet());
+    } catch (RuntimeException e) {
+      log.error("Failed to insert {} slots", chunk.size(), e);
+      return chunk.stream().map(Slot::getChitId).collect(Collectors.toSet());
+    }
+  }
+
+  private Slot newSlot(long chitId, String chitname, int slotId, Money installment) {
+    Slot slot = new Slot(chitId, slotId, installment, installment);
+    slot.setChitname(chitname);
+    return slot;
+  }
+
+  // Slots a member holds outright or through a sub-slot, served by the user and
+  // subSlots.userNumber indexes
+  public List<Slot> findHoldings(String userNumber) {
+    return mongoTemplate.find(new Query(new Criteria().orOperator(
+            Criteria.where("user").is(userNumber),
+            Criteria.where("subSlots.userNumber").is(userNumber)))
+            .with(Sort.by("chitId", "slotId")),
+        Slot.class);
+  }
+
+  // Slots of the given chits held, whole or split, by any of the given members
+  public List<Slot> findMembers(Collection<Long> chitIds, Collection<String> userNumbers) {
+    Query query = new Query(new Criteria().andOperator(
+        Criteria.where("chitId").in(chitIds),
+        new Criteria().orOperator(
+            Criteria.where("user").in(userNumbers),
+            Criteria.where("subSlots.userNumber").in(userNumbers))));
+    query.fields().include("chitId", "user", "subSlots.userNumber");
+    return mongoTemplate.find(query, Slot.class);
+  }
+
+  public Optional<Slot> findSlot(long chitId, int slotId) {
+    return slotRepo.findById(Slot.slotKey(chitId, slotId));
+  }
+
+  public List<Slot> findSlots(Collection<String> slotIds) {
+    return slotRepo.findAllById(slotIds);
+  }
+
+  public List<Slot> findSlotsLinkedBy(String linkBatchId, Collection<String> slotIds) {
+    return mongoTemplate.find(new Query(Criteria.where("id").in(slotIds)
+        .and("linkBatchId").is(linkBatchId)), Slot.class);
+  }
+
+  public List<Slot> getSlots(long chitId) {
+    return slotRepo.findByChitIdOrderBySlotId(chitId);
+  }
+
+  public void deleteSlots(long chitId) {
+    slotRepo.deleteByChitId(chitId);
+    log.info("Deleted slots of chit id:{}", chitId);
+  }
+
+  public void deleteSlots(Collection<Long> chitIds) {
+    mongoTemplate.remove(new Query(Criteria.where("chitId").in(chitIds)), Slot.class);
+    log.info("Deleted slots of chit ids:{}", chitIds);
+  }
+
+  public void deleteAllSlots() {
+    slotRepo.deleteAll();
+    log.info("Deleted all slots");
+  }
+
+  // Chits written before slots had their own collection still carry an embedded "slots" array.
+  // Each one is copied out once and then unset, so the chit shrinks to its summary counters.
+  private void migrateEmbeddedSlots() {
+    Query legacyQuery = new Query(Criteria.where("slots").exists(true));
+    legacyQuery.fields().include("slots", "chitname");
+    try (Stream<Document> legacyChits = mongoTemplate.stream(legacyQuery, Document.class,
+        mongoTemplate.getCollectionName(ChitDBModel.class))) {
+      legacyChits.forEach(this::migrateChit);
+    }
+  }
+
+  private void migrateChit(Document legacyChit) {
+    long chitId = ((Number) legacyChit.get("_id")).longValue();
+    List<Slot> slots = legacyChit.getList("slots", Document.class).stream()
+        .map(embedded -> {
+          Slot slot = mongoTemplate.getConverter().read(Slot.class, embedded);
+          slot.setChitId(chitId);
+          slot.setChitname(legacyChit.getString("chitname"));
+          slot.setId(Slot.slotKey(chitId, slot.getSlotId()));
+          return slot;
+        })
+        .toList();
+    if (!slots.isEmpty()) {
+      try {
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class).insert(slots).execute();
+      } catch (BulkOperationException e) {
+        boolean onlyDuplicates = e.getErrors().stream()
+            .map(BulkWriteError::getCode)
+            .allMatch(code -> code == DUPLICATE_KEY);
+        if (!onlyDuplicates) {
+          throw e;
+        }
+        log.warn("Slots of chit id:{} were partly migrated before, skipped duplicates", chitId);
+      }
+    }
+    int freeSlots = (int) slots.stream().filter(slot -> slot.getUser() == null).count();
+    mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(chitId)),
+        new Update().unset("slots").set("totalSlots", slots.size()).set("freeSlots", freeSlots),
+        ChitDBModel.class);
+    log.info("Migrated {} embedded slots of chit id:{}", slots.size(), chitId);
+  }
+
+  // Slots created before the chit name was copied onto them get it once, one update per chit
+  private void backfillChitNames() {
+    if (!mongoTemplate.exists(new Query(Criteria.where("chitname").exists(false)), Slot.class)) {
+      return;
+    }
+    Query chitQuery = new Query();
+    chitQuery.fields().include("chitname");
+    try (Stream<Document> chits = mongoTemplate.stream(chitQuery, Document.class,
+        mongoTemplate.getCollectionName(ChitDBModel.class))) {
+      chits.forEach(chit -> mongoTemplate.updateMulti(
+          new Query(Criteria.where("chitId").is(chit.get("_id")).and("chitname").exists(false)),
+          new Update().set("chitname", chit.getString("chitname")), Slot.class));
+    }
+    log.info("Backfilled chit names on slots");
+  }
+}
@@ -1,12 +1,16 @@
 package com.chit.api.service;
 
+import com.chit.api.counter.CounterService;
 import com.chit.api.dao.UserRepo;
 import com.chit.api.dao.model.UserDBModel;
 import com.chit.api.enums.UserEnum;
 import com.chit.api.globalexceptions.BadRequestException;
 import com.chit.api.globalexceptions.ResourceExistsException;
 import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.globalexceptions.ServiceUnavailableException;
 import com.chit.api.jwtsecurity.JwtUtil;
+import com.chit.api.jwtsecurity.PasswordHasher;
+import com.chit.api.jwtsecurity.TokenRevocations;
 import com.chit.api.request.model.UserDetailsRequest;
 import com.chit.api.response.model.LoginResponse;
 import com.chit.api.sequence.SequenceService;
@@ -14,12 +18,10 @@ import java.util.List;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -32,14 +34,18 @@ public class UserService implements UserDetailsService {
   @Autowired
   private JwtUtil jwtUtil;
   @Autowired
-  private AuthenticationManager authenticationManager;
+  private PasswordHasher passwordHasher;
   @Autowired
-  private PasswordEncoder passwordEncoder;
+  private CounterService counterService;
+  @Autowired
+  private TokenRevocations tokenRevocations;
 
   public UserService(UserRepo userRepo) {
     this.userRepo = userRepo;
   }
 
+  // One lookup and one hash check, which is all the authentication a sign-in needs; the hash runs
+  // on the bounded hashing pool and a full pool refuses the sign-in with 503
   public LoginResponse login(String number, String password) {
     log.info("Entered Login service method...");
     if (number == null || number.isEmpty() || password == null || password.isEmpty()) {
@@ -52,24 +58,39 @@ public class UserService implements UserDetailsService {
       throw new ResourceNotFoundException(UserEnum.USER_NOT_FOUND.getEnumUserConstant());
     }
     UserDBModel userDBModel = optionalUserDBModel.get();
-    if (!passwordEncoder.matches(password, userDBModel.getPassword())) {
+    if (!passwordHasher.matches(password, userDBModel.getPassword())) {
       log.error("Invalid password");
       throw new BadRequestException(UserEnum.USER_INVALID.getEnumUserConstant());
     }
-    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(number, password));
-    final UserDetails userDetails = loadUserByUsername(number);
+    if (passwordHasher.needsRehash(userDBModel.getPassword())) {
+      rehash(userDBModel, password);
+    }
     LoginResponse loginResponse = new LoginResponse();
     loginResponse.setId(userDBModel.getId());
     loginResponse.setFirstname(userDBModel.getFirstname());
     loginResponse.setLastname(userDBModel.getLastname());
     loginResponse.setNumber(userDBModel.getNumber());
     loginResponse.setUsertype(userDBModel.getUsertype());
-    loginResponse.setToken(jwtUtil.generateToken(userDetails.getUsername()));
+    loginResponse.setToken(jwtUtil.generateToken(userDBModel));
     log.info("Exited Login service method[login with number:{}]", loginResponse.getNumber());
     return loginResponse;
   }
 
 
+  // Brings a hash that is off the current algorithm or cost to it, while the password is at hand.
+  // A busy hashing pool only postpones it to a later sign-in.
+  private void rehash(UserDBModel userDBModel, String password) {
+    try {
+      String rehashed = passwordHasher.encode(password);
+      if (userRepo.findAndSetPasswordByNumberAndPassword(userDBModel.getNumber(),
+          userDBModel.getPassword(), rehashed) > 0) {
+        log.info("Rehashed the password of user {}", userDBModel.getNumber());
+      }
+    } catch (ServiceUnavailableException e) {
+      log.warn("Postponed rehashing the password of user {}", userDBModel.getNumber());
+    }
+  }
+
   @Override
   public UserDetails loadUserByUsername(String number) throws UsernameNotFoundException {
     log.info("Entered load User By Username service method...");
@@ -111,10 +132,18 @@ public class UserService implements UserDetailsService {
     userDBModel.setLastname(userDetailsRequest.getLastname());
     userDBModel.setNumber(userDetailsRequest.getNumber());
     userDBModel.setDefault(true);
-    String encodedPassword = passwordEncoder.encode(defaultPassword);
+    String encodedPassword = passwordHasher.encode(defaultPassword);
     userDBModel.setPassword(encodedPassword);
     userDBModel.setUsertype(userDetailsRequest.getUsertype());
-    UserDBModel userDBModelSaved = userRepo.save(userDBModel);
+    userDBModel.setTokenVersion(tokenRevocations.minVersion(userDBModel.getNumber()));
+    UserDBModel userDBModelSaved;
+    try {
+      userDBModelSaved = userRepo.save(userDBModel);
+    } catch (DuplicateKeyException e) {
+      log.error("User with number {} already exists", userDBModel.getNumber());
+      throw new ResourceExistsException(UserEnum.USER_EXISTS.getEnumUserConstant());
+    }
+    counterService.userAdded();
     log.info("User added successfully with number: {} ", userDBModelSaved.getNumber());
     return userDBModelSaved.getId();
   }
@@ -131,12 +160,13 @@ public class UserService implements UserDetailsService {
 
   public long count() {
     log.info("Entered count Users service method...");
-    if (userRepo.count() == 0) {
+    long users = counterService.users();
+    if (users == 0) {
       log.error("No users found in the database");
       throw new ResourceExistsException(UserEnum.USER_EMPTY.getEnumUserConstant());
     }
     log.info("Retrieved the count of users");
-    return userRepo.count();
+    return users;
   }
 
   public void delete(String number) {
@@ -151,13 +181,19 @@ public class UserService implements UserDetailsService {
       throw new ResourceNotFoundException(UserEnum.USER_NOT_FOUND.getEnumUserConstant());
     } else {
       log.info("User deleted with the number:{}", number);
-      userRepo.deleteByNumber(number);
+      tokenRevocations.revoke(number, userDBModel.get().getTokenVersion() + 1);
+      // a concurrent delete of the same number must not be counted twice
+      if (userRepo.deleteByNumber(number) > 0) {
+        counterService.userRemoved();
+      }
     }
   }
 
   public void deleteUser() {
     log.info("Entered Delete All user service method...");
+    tokenRevocations.revokeAll();
     userRepo.deleteAll();
+    counterService.usersCleared();
     log.info("All users deleted");
   }
 
@@ -178,14 +214,17 @@ public class UserService implements UserDetailsService {
     }
 
     UserDBModel userDBModel = optionalUserDBModel.get();
-    if (!passwordEncoder.matches(password, userDBModel.getPassword())) {
+    if (!passwordHasher.matches(password, userDBModel.getPassword())) {
       log.error("Invalid password");
       throw new BadRequestException(UserEnum.USER_INVALID.getEnumUserConstant());
     }
-    String encodedPassword = passwordEncoder.encode(newPassword);
+    String encodedPassword = passwordHasher.encode(newPassword);
     userDBModel.setPassword(encodedPassword);
     userDBModel.setDefault(false);
+    userDBModel.setTokenVersion(userDBModel.getTokenVersion() + 1);
     UserDBModel userDBModelSaved = userRepo.save(userDBModel);
+    // tokens issued before the change are refused from now on
+    tokenRevocations.revoke(number, userDBModelSaved.getTokenVersion());
     log.info("Password updated successfully for number: {}", userDBModel.getNumber());
     return userDBModelSaved.getNumber();
   }
@@ -0,0 +1,30 @@
+package com.chit.api.versioning;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "chitcontention")
+public class ChitContentionEndpoint {
+
+  private static final int DEFAULT_LIMIT = 20;
+
+  private final VersionedWriteService versionedWriteService;
+
+  public ChitContentionEndpoint(VersionedWriteService versionedWriteService) {
+    this.versionedWriteService = versionedWriteService;
+  }
+
+  @ReadOperation
+  public Map<String, Long> contention() {
+    return versionedWriteService.topContendedChits(DEFAULT_LIMIT);
+  }
+
+  @ReadOperation
+  public Map<String, Long> contention(@Selector int limit) {
+    return versionedWriteService.topContendedChits(limit);
+  }
+}
@@ -0,0 +1,113 @@
+package com.chit.api.versioning;
+
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.globalexceptions.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class VersionedWriteService {
+
+  private final ChitWriteConfig chitWriteConfig;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, LongAdder> conflictsByChit = new ConcurrentHashMap<>();
+
+  public VersionedWriteService(ChitWriteConfig chitWriteConfig, MeterRegistry meterRegistry) {
+    this.chitWriteConfig = chitWriteConfig;
+    this.meterRegistry = meterRegistry;
+  }
+
+  // A mutation reports a lost compare-and-set by throwing OptimisticLockingFailureException;
+  // it is then re-run from its read step until it wins or the attempts are used up.
+  public <T> T execute(String operation, String chitname, Supplier<T> mutation) {
+    int maxAttempts = Math.max(1, chitWriteConfig.getMaxAttempts());
+    long backoffMs = chitWriteConfig.getInitialBackoffMs();
+    for (int attempt = 1; ; attempt++) {
+      counter("chit.write.attempts", operation).increment();
+      try {
+        T result = mutation.get();
+        summary(operation).record(attempt - 1);
+        return result;
+      } catch (OptimisticLockingFailureException e) {
+        counter("chit.write.conflicts", operation).increment();
+        recordConflict(chitname);
+        if (attempt >= maxAttempts) {
+          counter("chit.write.exhausted", operation).increment();
+          log.error("Giving up {} on chit {} after {} conflicting attempts", operation, chitname,
+              attempt);
+          throw new ConflictException(ChitEnum.CHIT_CONFLICT.getEnumChitConstant(), e);
+        }
+        log.warn("Conflict on {} for chit {}, retrying (attempt {} of {})", operation, chitname,
+            attempt, maxAttempts);
+        backoff(backoffMs);
+        backoffMs = Math.min(chitWriteConfig.getMaxBackoffMs(),
+            (long) (backoffMs * chitWriteConfig.getBackoffMultiplier()));
+      }
+    }
+  }
+
+  public void execute(String operation, String chitname, Runnable mutation) {
+    execute(operation, chitname, () -> {
+      mutation.run();
+      return null;
+    });
+  }
+
+  public Map<String, Long> topContendedChits(int limit) {
+    Map<String, Long> top = new LinkedHashMap<>();
+    conflictsByChit.entrySet().stream()
+        .sorted(Comparator.comparingLong(
+            (Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+        .limit(limit)
+        .forEach(entry -> top.put(entry.getKey(), entry.getValue().sum()));
+    return top;
+  }
+
+  private void recordConflict(String chitname) {
+    if (chitname == null) {
+      return;
+    }
+    LongAdder conflicts = conflictsByChit.get(chitname);
+    if (conflicts == null) {
+      // Per-chit tracking is bounded so that a flood of distinct names cannot grow the map.
+      if (conflictsByChit.size() >= chitWriteConfig.getMaxTrackedChits()) {
+        return;
+      }
+      conflicts = conflictsByChit.computeIfAbsent(chitname, key -> new LongAdder());
+    }
+    conflicts.increment();
+  }
+
+  private void backoff(long backoffMs) {
+    if (backoffMs <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMs / 2, backoffMs + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConflictException(ChitEnum.CHIT_CONFLICT.getEnumChitConstant(), e);
+    }
+  }
+
+  private Counter counter(String name, String operation) {
+    return meterRegistry.counter(name, "operation", operation);
+  }
+
+  private DistributionSummary summary(String operation) {
+    return meterRegistry.summary("chit.write.retries", "operation", operation);
+  }
+}
@@ -0,0 +1,76 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.config.PasswordConfig;
+import com.chit.api.jwtsecurity.AdaptivePasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class AdaptivePasswordEncoderTest {
+
+  private static final String PASSWORD = "chit1234";
+
+  private final AdaptivePasswordEncoder bcrypt = new AdaptivePasswordEncoder(
+      AdaptivePasswordEncoder.BCRYPT, 5, 1024, 2, 1);
+  private final AdaptivePasswordEncoder argon2 = new AdaptivePasswordEncoder(
+      AdaptivePasswordEncoder.ARGON2, 5, 1024, 2, 1);
+
+  @Test
+  void shouldTagHashesWithTheirAlgorithmAndCost() {
+    String bcryptHash = bcrypt.encode(PASSWORD);
+    String argon2Hash = argon2.encode(PASSWORD);
+
+    assertTrue(bcryptHash.startsWith("{bcrypt}$2a$05$"));
+    assertTrue(argon2Hash.startsWith("{argon2}$argon2id$v=19$m=1024,t=2,p=1$"));
+    assertTrue(bcrypt.matches(PASSWORD, bcryptHash));
+    assertTrue(argon2.matches(PASSWORD, argon2Hash));
+    assertFalse(bcrypt.matches("wrong", bcryptHash));
+    assertFalse(bcrypt.upgradeEncoding(bcryptHash));
+    assertFalse(argon2.upgradeEncoding(argon2Hash));
+  }
+
+  @Test
+  void shouldCheckAndUpgradeHashesStoredBeforeTheAlgorithmWasRecorded() {
+    String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+    assertTrue(bcrypt.matches(PASSWORD, legacyHash));
+    assertTrue(bcrypt.upgradeEncoding(legacyHash));
+  }
+
+  @Test
+  void shouldUpgradeHashesOffTheCurrentPolicy() {
+    assertTrue(bcrypt.upgradeEncoding(new AdaptivePasswordEncoder(
+        AdaptivePasswordEncoder.BCRYPT, 4, 1024, 2, 1).encode(PASSWORD)));
+    // a step above the policy may come from an instance on faster hardware
+    assertFalse(bcrypt.upgradeEncoding(new AdaptivePasswordEncoder(
+        AdaptivePasswordEncoder.BCRYPT, 6, 1024, 2, 1).encode(PASSWORD)));
+    assertTrue(bcrypt.upgradeEncoding(new AdaptivePasswordEncoder(
+        AdaptivePasswordEncoder.BCRYPT, 7, 1024, 2, 1).encode(PASSWORD)));
+    assertTrue(argon2.upgradeEncoding(new AdaptivePasswordEncoder(
+        AdaptivePasswordEncoder.ARGON2, 5, 512, 4, 1).encode(PASSWORD)));
+  }
+
+  @Test
+  void shouldCheckEitherAlgorithmWhenSwitching() {
+    String bcryptHash = bcrypt.encode(PASSWORD);
+
+    assertTrue(argon2.matches(PASSWORD, bcryptHash));
+    assertTrue(argon2.upgradeEncoding(bcryptHash));
+  }
+
+  @Test
+  void shouldCalibrateWithinTheConfiguredBounds() {
+    PasswordConfig passwordConfig = new PasswordConfig();
+    passwordConfig.setMinBcryptStrength(4);
+    passwordConfig.setMaxBcryptStrength(6);
+    passwordConfig.setTargetMs(1);
+
+    AdaptivePasswordEncoder calibrated = AdaptivePasswordEncoder.calibrated(passwordConfig);
+
+    String hash = calibrated.encode(PASSWORD);
+    assertTrue(hash.matches("\\{bcrypt}\\$2a\\$0[456]\\$.*"));
+    assertTrue(calibrated.matches(PASSWORD, hash));
+  }
+}
@@ -0,0 +1,92 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ChitCacheConfig;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+class ChitCacheTest {
+
+  private ChitRepo chitRepo;
+  private MongoTemplate mongoTemplate;
+  private SimpleMeterRegistry meterRegistry;
+  private ChitCache chitCache;
+
+  @BeforeEach
+  void setUp() {
+    chitRepo = mock(ChitRepo.class);
+    mongoTemplate = mock(MongoTemplate.class);
+    meterRegistry = new SimpleMeterRegistry();
+    chitCache = new ChitCache(chitRepo, mongoTemplate, new ChitCacheConfig(), meterRegistry);
+  }
+
+  private ChitDBModel chit(long id, String chitname, long balance) {
+    ChitDBModel chitDBModel = new ChitDBModel();
+    chitDBModel.setId(id);
+    chitDBModel.setChitname(chitname);
+    chitDBModel.setBalanceAmount(Money.ofRupees(balance));
+    return chitDBModel;
+  }
+
+  @Test
+  void shouldServeRepeatedNameReadsFromMemory() {
+    ChitDBModel stored = chit(1L, "TestChit", 100000);
+    when(mongoTemplate.findOne(any(Query.class), eq(ChitDBModel.class))).thenReturn(stored);
+    when(chitRepo.findById(1L)).thenReturn(Optional.of(stored));
+
+    for (int i = 0; i < 5; i++) {
+      assertSame(stored, chitCache.findByChitname("TestChit"));
+    }
+
+    verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ChitDBModel.class));
+    verify(chitRepo, times(1)).findById(1L);
+    assertEquals(4.0, meterRegistry.get("cache.gets").tag("cache", "chit.byName")
+        .tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void shouldReloadBalanceAfterInvalidation() {
+    when(mongoTemplate.findOne(any(Query.class), eq(ChitDBModel.class)))
+        .thenReturn(chit(1L, "TestChit", 100000));
+    when(chitRepo.findById(1L)).thenReturn(Optional.of(chit(1L, "TestChit", 100000)),
+        Optional.of(chit(1L, "TestChit", 90000)));
+
+    assertEquals(Money.ofRupees(100000), chitCache.findByChitname("TestChit").getBalanceAmount());
+    chitCache.invalidate(1L);
+
+    assertEquals(Money.ofRupees(90000), chitCache.findByChitname("TestChit").getBalanceAmount());
+    verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ChitDBModel.class));
+  }
+
+  @Test
+  void shouldNotCacheMissingOrDeletedChits() {
+    when(mongoTemplate.findOne(any(Query.class), eq(ChitDBModel.class)))
+        .thenReturn(chit(1L, "TestChit", 100000), (ChitDBModel) null);
+    when(chitRepo.findById(1L)).thenReturn(Optional.of(chit(1L, "TestChit", 100000)),
+        Optional.empty());
+
+    chitCache.findByChitname("TestChit");
+    chitCache.invalidate(1L);
+
+    assertNull(chitCache.findByChitname("TestChit"));
+    assertNull(chitCache.findByChitname("TestChit"));
+    verify(mongoTemplate, times(3)).findOne(any(Query.class), eq(ChitDBModel.class));
+  }
+}
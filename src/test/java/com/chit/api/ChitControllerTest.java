@@ -9,12 +9,29 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.chit.api.controller.ChitController;
+import com.chit.api.dao.model.Slot;
 import com.chit.api.enums.ChitEnum;
 import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.money.Money;
+import com.chit.api.request.model.AllocateSlotRequest;
 import com.chit.api.request.model.ChitRequest;
+import com.chit.api.request.model.LinkUserRequest;
+import com.chit.api.request.model.LinkUsersRequest;
+import com.chit.api.response.model.AllocateSlotResponse;
+import com.chit.api.response.model.ChitImportResponse;
 import com.chit.api.response.model.ChitResponse;
 import com.chit.api.response.model.CountResponse;
+import com.chit.api.response.model.LinkUserResult;
+import com.chit.api.response.model.LinkUsersResponse;
+import com.chit.api.response.model.PortfolioResponse;
+import com.chit.api.service.ChitImportService;
 import com.chit.api.service.ChitService;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,8 +39,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @SpringBootTest(classes = ChitController.class)
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +54,9 @@ class ChitControllerTest {
     @MockBean
     private ChitService chitService;
 
+    @MockBean
+    private ChitImportService chitImportService;
+
     @Test
     @Order(1)
     void addChitTest() {
@@ -76,6 +98,21 @@ class ChitControllerTest {
 //        assertEquals(chitList, responseEntity.getBody());
 //    }
 
+    @Test
+    @Order(2)
+    void getSlotsTest() {
+        List<Slot> slots = List.of(
+                new Slot(1L, 1, Money.ofRupees(1000), Money.ofRupees(1000)),
+                new Slot(1L, 2, Money.ofRupees(1000), Money.ofRupees(1000))
+        );
+        when(chitService.getSlots("TestChit")).thenReturn(slots);
+
+        ResponseEntity<?> responseEntity = chitController.getSlots("TestChit");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(slots, responseEntity.getBody());
+    }
+
     @Test
     @Order(3)
     void getChitCountTest() {
@@ -132,4 +169,97 @@ class ChitControllerTest {
         assertNotNull(chitResponse);
         assertEquals(ChitEnum.CHIT_EMPTY.getEnumChitConstant(), chitResponse.getMessage());
     }
+
+    @Test
+    void linkUsersTest() {
+        LinkUserResult linked = new LinkUserResult();
+        linked.setStatus(LinkUserResult.LINKED);
+        LinkUserResult failed = new LinkUserResult();
+        failed.setStatus(LinkUserResult.FAILED);
+        LinkUsersRequest linkUsersRequest = new LinkUsersRequest();
+        linkUsersRequest.setLinks(List.of(new LinkUserRequest(), new LinkUserRequest()));
+        when(chitService.linkUsersToChits(linkUsersRequest.getLinks()))
+            .thenReturn(List.of(linked, failed));
+
+        ResponseEntity<?> responseEntity = chitController.linkUsers(linkUsersRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        LinkUsersResponse linkUsersResponse = (LinkUsersResponse) responseEntity.getBody();
+        assertEquals(1, linkUsersResponse.getLinked());
+        assertEquals(1, linkUsersResponse.getFailed());
+        assertEquals(2, linkUsersResponse.getResults().size());
+    }
+
+    @Test
+    void importChitsTest() {
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        ChitImportResponse chitImportResponse = new ChitImportResponse();
+        chitImportResponse.setRows(2);
+        chitImportResponse.setImported(2);
+        when(chitImportService.importChits(inputStream, ChitImportService.CSV))
+            .thenReturn(chitImportResponse);
+
+        ResponseEntity<?> responseEntity = chitController.importChits(ChitImportService.CSV,
+            inputStream);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(chitImportResponse, responseEntity.getBody());
+    }
+
+    @Test
+    void getChitsPageTest() throws IOException {
+        Query query = new Query();
+        List<String> fields = List.of("chitname");
+        when(chitService.chitPageQuery(10L, 50, fields)).thenReturn(query);
+
+        ResponseEntity<?> responseEntity = chitController.getChits(10L, 50, fields);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        OutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingResponseBody) responseEntity.getBody()).writeTo(outputStream);
+        verify(chitService).writeChits(query, null, fields, outputStream);
+    }
+
+    @Test
+    void getChitsWithEmbeddedSlotsTest() throws IOException {
+        Query query = new Query();
+        Query slotsQuery = new Query();
+        when(chitService.chitPageQuery(null, null, null)).thenReturn(query);
+        when(chitService.chitPageSlotsQuery(null, null)).thenReturn(slotsQuery);
+
+        ResponseEntity<?> responseEntity = chitController.getChits(null, null, null);
+
+        OutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingResponseBody) responseEntity.getBody()).writeTo(outputStream);
+        verify(chitService).writeChits(query, slotsQuery, null, outputStream);
+    }
+
+    @Test
+    void allocateSlotTest() {
+        AllocateSlotRequest allocateSlotRequest = new AllocateSlotRequest();
+        allocateSlotRequest.setChitName("TestChit");
+        allocateSlotRequest.setUserNumber("9876543210");
+        Slot slot = new Slot(1L, 4, Money.ZERO, Money.ofRupees(1000));
+        when(chitService.allocateSlot(allocateSlotRequest)).thenReturn(slot);
+
+        ResponseEntity<?> responseEntity = chitController.allocateSlot(allocateSlotRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        AllocateSlotResponse allocateSlotResponse = (AllocateSlotResponse) responseEntity.getBody();
+        assertEquals(1L, allocateSlotResponse.getId());
+        assertEquals(4, allocateSlotResponse.getSlot());
+    }
+
+    @Test
+    void getPortfolioTest() {
+        PortfolioResponse portfolioResponse = new PortfolioResponse();
+        portfolioResponse.setUserNumber("9876543210");
+        portfolioResponse.setHoldings(List.of());
+        when(chitService.getPortfolio("9876543210")).thenReturn(portfolioResponse);
+
+        ResponseEntity<?> responseEntity = chitController.getPortfolio("9876543210");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(portfolioResponse, responseEntity.getBody());
+    }
 }
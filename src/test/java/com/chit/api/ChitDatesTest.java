@@ -0,0 +1,31 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.chit.api.date.ChitDates;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.Test;
+
+class ChitDatesTest {
+
+  private static final LocalDate DAY = LocalDate.of(2026, 1, 31);
+
+  @Test
+  void shouldParseIsoAndLegacyDayFirstDates() {
+    assertEquals(DAY, ChitDates.parse("2026-01-31"));
+    assertEquals(DAY, ChitDates.parse(" 31-01-2026 "));
+    assertEquals(DAY, ChitDates.parse("31/01/2026"));
+    assertEquals(DAY, ChitDates.parse("2026/01/31"));
+  }
+
+  @Test
+  void shouldRejectTextThatIsNotADate() {
+    assertThrows(DateTimeParseException.class, () -> ChitDates.parse("31-02-2026"));
+    assertThrows(DateTimeParseException.class, () -> ChitDates.parse("next month"));
+    assertThrows(DateTimeParseException.class, () -> ChitDates.parse(null));
+    assertNull(ChitDates.parseOrNull("01/31/2026"));
+  }
+}
@@ -0,0 +1,326 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.archive.ArchiveService;
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ChitQueryConfig;
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.ChitRepo;
+import com.chit.api.dao.UserRepo;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.dto.PendingLink;
+import com.chit.api.dto.SubSlot;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ResourceNotFoundException;
+import com.chit.api.lifecycle.LifecycleScheduler;
+import com.chit.api.money.Money;
+import com.chit.api.request.model.ChitRequest;
+import com.chit.api.request.model.LinkUserRequest;
+import com.chit.api.response.model.LinkUserResult;
+import com.chit.api.sequence.SequenceService;
+import com.chit.api.service.ChitService;
+import com.chit.api.service.LinkReconciler;
+import com.chit.api.service.SlotService;
+import com.chit.api.versioning.VersionedWriteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@SpringBootTest(classes = {ChitService.class, LinkReconciler.class, ChitWriteConfig.class})
+class ChitServiceLinkTest {
+
+  private static final long CHIT_ID = 7L;
+  private static final String CHIT_NAME = "chitA";
+  private static final String USER_NUMBER = "9876543210";
+
+  @Autowired
+  private ChitService chitService;
+
+  @MockBean
+  private ChitRepo chitRepo;
+  @MockBean
+  private SequenceService sequenceService;
+  @MockBean
+  private UserRepo userRepo;
+  @MockBean
+  private MongoTemplate mongoTemplate;
+  @MockBean
+  private VersionedWriteService versionedWriteService;
+  @MockBean
+  private SlotService slotService;
+  @MockBean
+  private ChitQueryConfig chitQueryConfig;
+  @MockBean
+  private FreeSlotIndex freeSlotIndex;
+  @MockBean
+  private ObjectMapper objectMapper;
+  @MockBean
+  private ChitEventStore chitEventStore;
+  @MockBean
+  private CounterService counterService;
+  @MockBean
+  private ChitCache chitCache;
+  @MockBean
+  private ArchiveService archiveService;
+  @MockBean
+  private LifecycleScheduler lifecycleScheduler;
+
+  private ChitDBModel chit;
+
+  @BeforeEach
+  void setUp() {
+    chit = new ChitDBModel();
+    chit.setId(CHIT_ID);
+    chit.setChitname(CHIT_NAME);
+    chit.setInstallment(Money.ofRupees(1000));
+    UserDBModel user = new UserDBModel();
+    user.setNumber(USER_NUMBER);
+    when(userRepo.findByNumberIn(anyCollection())).thenReturn(List.of(user));
+    when(chitRepo.findByChitnameIn(anyCollection())).thenReturn(List.of(chit));
+  }
+
+  @Test
+  void shouldNotWriteAFreeSlotWhoseOnlyEntryIsRefused() {
+    Slot freeSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    when(slotService.findSlots(anyCollection())).thenReturn(List.of(freeSlot));
+
+    List<LinkUserResult> results = chitService.linkUsersToChits(List.of(link(3, 999)));
+
+    assertEquals(LinkUserResult.FAILED, results.get(0).getStatus());
+    assertEquals(ChitEnum.CHIT_REQUIRED_AMOUNT.getEnumChitConstant(),
+        results.get(0).getMessage());
+    verify(mongoTemplate, never()).bulkOps(BulkMode.UNORDERED, Slot.class);
+    verify(freeSlotIndex, never()).markTaken(anyLong(), anyInt());
+    verify(counterService, never()).slotsLinked(any(), anyInt());
+  }
+
+  @Test
+  void shouldFinishTheSlotsAPartlyFailedBatchWrote() {
+    Slot linkedSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    Slot failedSlot = new Slot(CHIT_ID, 4, Money.ofRupees(1000), Money.ofRupees(1000));
+    when(slotService.findSlots(anyCollection())).thenReturn(List.of(linkedSlot, failedSlot));
+    BulkOperations slotOperations = mock(BulkOperations.class);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Slot.class)).thenReturn(slotOperations);
+    BulkOperationException bulkFailure = mock(BulkOperationException.class);
+    when(bulkFailure.getErrors())
+        .thenReturn(List.of(new BulkWriteError(2, "write failed", new BsonDocument(), 1)));
+    when(slotOperations.execute()).thenThrow(bulkFailure);
+    when(slotService.findSlotsLinkedBy(anyString(), anyCollection()))
+        .thenReturn(List.of(linkedSlot));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    List<LinkUserResult> results = chitService.linkUsersToChits(
+        List.of(link(3, 1000), link(4, 1000)));
+
+    assertEquals(LinkUserResult.LINKED, results.get(0).getStatus());
+    assertEquals(LinkUserResult.FAILED, results.get(1).getStatus());
+    assertEquals("write failed", results.get(1).getMessage());
+    ArgumentCaptor<Update> balanceUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), balanceUpdate.capture(),
+        eq(ChitDBModel.class));
+    Document increments = (Document) balanceUpdate.getValue().getUpdateObject().get("$inc");
+    assertEquals(-100000L, increments.get("balanceAmount"));
+    verify(freeSlotIndex).markTaken(CHIT_ID, 3);
+    verify(freeSlotIndex, never()).markTaken(CHIT_ID, 4);
+    verify(chitEventStore).appendAll(any());
+  }
+
+  @Test
+  void shouldMoveTheChitVersionOnASingleLink() {
+    Slot freeSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    linkOneSlot(freeSlot);
+
+    chitService.linkUserToChit(link(3, 1000));
+
+    ArgumentCaptor<Update> balanceUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), balanceUpdate.capture(),
+        eq(ChitDBModel.class));
+    Document increments = (Document) balanceUpdate.getValue().getUpdateObject().get("$inc");
+    assertEquals(1, increments.get("version"));
+    assertEquals(-100000L, increments.get("balanceAmount"));
+    assertEquals(-1, increments.get("freeSlots"));
+  }
+
+  @Test
+  void shouldStampTheSlotUntilTheBalanceIsApplied() {
+    Slot freeSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    linkOneSlot(freeSlot);
+
+    chitService.linkUserToChit(link(3, 1000));
+
+    ArgumentCaptor<Update> slotUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), slotUpdate.capture(), eq(Slot.class));
+    PendingLink pendingLink = (PendingLink) ((Document) slotUpdate.getValue().getUpdateObject()
+        .get("$push")).get("pendingLinks");
+    assertEquals(Money.ofRupees(1000), pendingLink.getAmount());
+    assertTrue(pendingLink.isSlotClaimed());
+    ArgumentCaptor<Query> balanceQuery = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).updateFirst(balanceQuery.capture(), any(Update.class),
+        eq(ChitDBModel.class));
+    assertEquals(new Document("$ne", pendingLink.getLinkId()),
+        balanceQuery.getValue().getQueryObject().get("appliedLinks"));
+    // cleared from the slot and the chit once the balance is applied
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Slot.class));
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class),
+        eq(ChitDBModel.class));
+    verify(chitEventStore).append(any());
+  }
+
+  @Test
+  void shouldLeaveTheStampWhenTheBalanceUpdateFails() {
+    Slot freeSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    linkOneSlot(freeSlot);
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+    assertThrows(DataAccessResourceFailureException.class,
+        () -> chitService.linkUserToChit(link(3, 1000)));
+
+    // the booking is neither undone nor cleared; the reconcile run finishes it
+    verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(Slot.class));
+    verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class),
+        eq(Slot.class));
+    verify(chitEventStore, never()).append(any());
+  }
+
+  @Test
+  void shouldUndoTheSlotWhenTheChitBalanceCannotFollow() {
+    Slot freeSlot = new Slot(CHIT_ID, 3, Money.ofRupees(1000), Money.ofRupees(1000));
+    linkOneSlot(freeSlot);
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> chitService.linkUserToChit(link(3, 1000)));
+
+    ArgumentCaptor<Query> slotQuery = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> slotUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(2)).updateFirst(slotQuery.capture(), slotUpdate.capture(),
+        eq(Slot.class));
+    Document undoGuard = slotQuery.getAllValues().get(1).getQueryObject();
+    assertEquals(USER_NUMBER, undoGuard.get("user"));
+    assertEquals(Money.ZERO, undoGuard.get("remainingAmounts"));
+    Document undone = (Document) slotUpdate.getAllValues().get(1).getUpdateObject().get("$set");
+    assertEquals(Money.ofRupees(1000), undone.get("remainingAmounts"));
+    assertNull(undone.get("user"));
+    verify(freeSlotIndex).release(CHIT_ID, 3);
+    verify(counterService, never()).slotsLinked(any(), anyInt());
+  }
+
+  @Test
+  void shouldGiveASplitLinkSubSlotsThatSumToItsAmount() {
+    Slot slot = new Slot(CHIT_ID, 3, Money.ofRupees(3000), Money.ofRupees(1000));
+    linkOneSlot(slot);
+    LinkUserRequest splitLink = link(3, 2000);
+    splitLink.setSplit(true);
+
+    chitService.linkUserToChit(splitLink);
+
+    ArgumentCaptor<Update> slotUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), slotUpdate.capture(), eq(Slot.class));
+    Update.Modifiers pushed = (Update.Modifiers) ((Document) slotUpdate.getValue()
+        .getUpdateObject().get("$push")).get("subSlots");
+    Object[] subSlots = (Object[]) pushed.getModifiers().iterator().next().getValue();
+    assertEquals(2, subSlots.length);
+    for (Object subSlot : subSlots) {
+      assertEquals(Money.ofRupees(1000), ((SubSlot) subSlot).getSlotAmount());
+      assertEquals(USER_NUMBER, ((SubSlot) subSlot).getUserNumber());
+    }
+  }
+
+  @Test
+  void shouldRefuseAChitWithMoreSlotsThanTheLimit() {
+    ChitRequest chitRequest = new ChitRequest();
+    chitRequest.setChitname("chitB");
+    chitRequest.setAmount("10000000");
+    chitRequest.setInstallment("0.01");
+    chitRequest.setTenure("12");
+    chitRequest.setStartDate("2026-01-01");
+    chitRequest.setEndDate("2026-12-31");
+
+    BadRequestException e = assertThrows(BadRequestException.class,
+        () -> chitService.addChit(chitRequest));
+
+    assertEquals(ChitEnum.CHIT_SLOTS_LIMIT.getEnumChitConstant(), e.getMessage());
+    verify(chitRepo, never()).save(any());
+  }
+
+  @Test
+  void shouldRefuseAChitWithMoreSlotsThanAnInt() {
+    ChitRequest chitRequest = new ChitRequest();
+    chitRequest.setChitname("chitB");
+    chitRequest.setAmount("90000000000000000");
+    chitRequest.setInstallment("0.01");
+    chitRequest.setTenure("12");
+    chitRequest.setStartDate("2026-01-01");
+    chitRequest.setEndDate("2026-12-31");
+
+    BadRequestException e = assertThrows(BadRequestException.class,
+        () -> chitService.addChit(chitRequest));
+
+    assertEquals(ChitEnum.CHIT_SLOTS_LIMIT.getEnumChitConstant(), e.getMessage());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void linkOneSlot(Slot slot) {
+    when(userRepo.findByNumber(USER_NUMBER)).thenReturn(Optional.of(new UserDBModel()));
+    when(chitCache.findByChitname(CHIT_NAME)).thenReturn(chit);
+    when(slotService.findSlot(CHIT_ID, slot.getSlotId())).thenReturn(Optional.of(slot));
+    when(versionedWriteService.execute(anyString(), anyString(), any(Supplier.class)))
+        .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Slot.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+  }
+
+  private LinkUserRequest link(int slot, int requiredAmount) {
+    LinkUserRequest linkUserRequest = new LinkUserRequest();
+    linkUserRequest.setUserNumber(USER_NUMBER);
+    linkUserRequest.setChitName(CHIT_NAME);
+    linkUserRequest.setSlot(slot);
+    linkUserRequest.setRequiredAmount(requiredAmount);
+    linkUserRequest.setSplit(false);
+    return linkUserRequest;
+  }
+}
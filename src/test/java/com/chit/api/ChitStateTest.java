@@ -0,0 +1,94 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.event.ChitEvent;
+import com.chit.api.event.ChitState;
+import com.chit.api.money.Money;
+import org.junit.jupiter.api.Test;
+
+class ChitStateTest {
+
+  private ChitEvent created() {
+    ChitDBModel chitDBModel = new ChitDBModel();
+    chitDBModel.setId(1L);
+    chitDBModel.setChitname("TestChit");
+    chitDBModel.setAmount(Money.ofRupees(100000));
+    chitDBModel.setInstallment(Money.ofRupees(10000));
+    chitDBModel.setTotalSlots(10);
+    return sequenced(ChitEvent.created(chitDBModel), 1);
+  }
+
+  private ChitEvent sequenced(ChitEvent event, long seq) {
+    event.setSeq(seq);
+    return event;
+  }
+
+  @Test
+  void shouldFoldLinksLikeTheDocument() {
+    ChitState state = new ChitState(1L);
+    state.apply(created());
+    state.apply(sequenced(ChitEvent.linked(1L, 1, "9876543210", Money.ofRupees(10000), false,
+        true), 2));
+    state.apply(sequenced(ChitEvent.linked(1L, 2, "9876543211", Money.ofRupees(5000), true,
+        true), 3));
+    state.apply(sequenced(ChitEvent.linked(1L, 2, "9876543212", Money.ofRupees(5000), true,
+        false), 4));
+
+    assertEquals(Money.ofRupees(80000), state.getBalanceAmount());
+    assertEquals(8, state.getFreeSlots());
+    assertEquals(4, state.getSeq());
+  }
+
+  @Test
+  void shouldTrackPaymentsAuctionsAndDeletion() {
+    ChitState state = new ChitState(1L);
+    state.apply(created());
+    state.apply(sequenced(ChitEvent.paid(1L, "9876543210", "2026-01", Money.ofRupees(10000),
+        false), 2));
+    state.apply(sequenced(ChitEvent.paid(1L, "9876543210", "2026-01", Money.ofRupees(-500),
+        true), 3));
+    state.apply(sequenced(ChitEvent.auctionWon(1L, "2026-01", 1, "9876543210",
+        Money.ofRupees(20000)), 4));
+    state.apply(sequenced(ChitEvent.deleted(1L), 5));
+
+    assertEquals(Money.ofRupees(10000), state.getCollected());
+    assertEquals(Money.ofRupees(-500), state.getAdjusted());
+    assertEquals(1, state.getPrizedSlots());
+    assertEquals("2026-01", state.getLastAuctionPeriod());
+    assertTrue(state.isDeleted());
+  }
+
+  @Test
+  void shouldKeepBalancesWhenArchived() {
+    ChitState state = new ChitState(1L);
+    state.apply(created());
+    state.apply(sequenced(ChitEvent.linked(1L, 1, "9876543210", Money.ofRupees(10000), false,
+        true), 2));
+    state.apply(sequenced(ChitEvent.archived(1L), 3));
+
+    assertTrue(state.isArchived());
+    assertFalse(state.isDeleted());
+    assertEquals(Money.ofRupees(90000), state.getBalanceAmount());
+    assertEquals(3, state.getSeq());
+  }
+
+  @Test
+  void shouldResumeFromBaseline() {
+    ChitDBModel chitDBModel = new ChitDBModel();
+    chitDBModel.setId(1L);
+    chitDBModel.setChitname("TestChit");
+    chitDBModel.setBalanceAmount(Money.ofRupees(50000));
+    chitDBModel.setFreeSlots(5);
+    ChitState state = ChitState.of(chitDBModel);
+
+    state.apply(sequenced(ChitEvent.linked(1L, 6, "9876543210", Money.ofRupees(10000), false,
+        true), 1));
+
+    assertEquals(Money.ofRupees(40000), state.getBalanceAmount());
+    assertEquals(4, state.getFreeSlots());
+  }
+}
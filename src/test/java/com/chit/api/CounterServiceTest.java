@@ -0,0 +1,60 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.config.CounterConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.counter.Counters;
+import com.chit.api.money.Money;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class CounterServiceTest {
+
+  private MongoTemplate mongoTemplate;
+  private CounterService counterService;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mock(MongoTemplate.class);
+    counterService = new CounterService(mongoTemplate, new CounterConfig());
+  }
+
+  private Counters stripe(String id, long chits, long openBalanceRupees) {
+    Counters counters = new Counters();
+    counters.setId(id);
+    counters.setChits(chits);
+    counters.setOpenBalance(Money.ofRupees(openBalanceRupees));
+    return counters;
+  }
+
+  @Test
+  void shouldSumEveryStripe() {
+    when(mongoTemplate.find(any(Query.class), eq(Counters.class))).thenReturn(List.of(
+        stripe(Counters.DASHBOARD, 3, 5000), stripe(Counters.DASHBOARD + ":4", 0, -2000)));
+
+    Counters counters = counterService.getCounters();
+
+    assertEquals(3, counters.getChits());
+    assertEquals(Money.ofRupees(3000), counters.getOpenBalance());
+  }
+
+  @Test
+  void shouldResetEveryStripeWhenCleared() {
+    counterService.usersCleared();
+
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Counters.class));
+    verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class),
+        eq(Counters.class));
+  }
+}
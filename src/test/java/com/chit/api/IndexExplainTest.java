@@ -0,0 +1,177 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.EmailDBModel;
+import com.chit.api.dao.model.FileDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.date.DateConverters;
+import com.chit.api.index.IndexManager;
+import com.chit.api.ledger.LedgerEntry;
+import com.chit.api.money.MoneyConverters;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class IndexExplainTest {
+
+  @Container
+  private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+  private static MongoClient mongoClient;
+  private static MongoTemplate mongoTemplate;
+
+  @BeforeAll
+  static void setUp() {
+    mongoClient = MongoClients.create(MONGO.getReplicaSetUrl());
+    SimpleMongoClientDatabaseFactory databaseFactory =
+        new SimpleMongoClientDatabaseFactory(mongoClient, "chit");
+    MongoCustomConversions conversions = MongoCustomConversions.create(adapter -> adapter
+        .useNativeDriverJavaTimeCodecs()
+        .registerConverters(Stream.concat(MoneyConverters.all().stream(),
+            DateConverters.all().stream()).toList()));
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    MappingMongoConverter converter =
+        new MappingMongoConverter(new DefaultDbRefResolver(databaseFactory), mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+    mongoTemplate = new MongoTemplate(databaseFactory, converter);
+    new IndexManager(mongoTemplate).ensureIndexes();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    mongoClient.close();
+  }
+
+  @Test
+  void chitByNameUsesIndex() {
+    assertIndexScan(find(ChitDBModel.class, new Document("chitname", "chitA")));
+  }
+
+  @Test
+  void userByNumberUsesIndex() {
+    assertIndexScan(find(UserDBModel.class, new Document("number", "9876543210")));
+  }
+
+  @Test
+  void fileByFilenameUsesIndex() {
+    assertIndexScan(find(FileDBModel.class, new Document("filename", "books.zip")));
+  }
+
+  @Test
+  void emailByEmailIdOrPhoneUsesIndex() {
+    assertIndexScan(find(EmailDBModel.class, new Document("emailid", "a@b.com")));
+    assertIndexScan(find(EmailDBModel.class, new Document("phoneno", "9876543210")));
+  }
+
+  @Test
+  void slotsOfChitInSlotOrderUseIndex() {
+    assertIndexScan(find(Slot.class, new Document("chitId", 1L)).sort(new Document("slotId", 1)));
+    assertIndexScan(find(Slot.class, new Document("user", "9876543210")));
+  }
+
+  @Test
+  void memberHoldingsUseIndexes() {
+    Document holdingsFilter = new Document("$or", List.of(
+        new Document("user", "9876543210"),
+        new Document("subSlots.userNumber", "9876543210")));
+
+    String winningPlan = winningPlan(find(Slot.class, holdingsFilter));
+
+    // both branches of the $or are answered from an index
+    assertTrue(winningPlan.contains("subSlots_userNumber"), winningPlan);
+    assertFalse(winningPlan.contains("COLLSCAN"), winningPlan);
+  }
+
+  @Test
+  void statementsAreRangeScans() {
+    Document periods = new Document("$gte", "2026-01").append("$lte", "2026-06");
+    assertIndexScan(find(LedgerEntry.class, new Document("chitId", 1L)
+        .append("userNumber", "9876543210").append("period", periods)));
+    assertIndexScan(find(LedgerEntry.class, new Document("userNumber", "9876543210")
+        .append("period", periods)));
+    assertIndexScan(find(LedgerEntry.class, new Document("chitId", 1L).append("period", periods)));
+  }
+
+  @Test
+  void chitSearchesWalkAnIndexInResultOrder() {
+    Document order = new Document("startDate", 1).append("_id", 1);
+    Document startWindow = new Document("$gte", date("2026-01-01"))
+        .append("$lte", date("2026-06-30"));
+
+    assertIndexScanWithoutSort(find(ChitDBModel.class, new Document("startDate", startWindow)
+        .append("amount", new Document("$gte", 10_000_000L))
+        .append("freeSlots", new Document("$gt", 0))).sort(order));
+    assertIndexScanWithoutSort(find(ChitDBModel.class, new Document("tenure", "20")
+        .append("startDate", startWindow)
+        .append("endDate", new Document("$lte", date("2027-12-31")))).sort(order));
+    assertIndexScanWithoutSort(find(ChitDBModel.class, new Document("installment", 500_000L)
+        .append("startDate", new Document("$gte", date("2026-01-01")))).sort(order));
+  }
+
+  @Test
+  void duplicateChitNameIsRejected() {
+    mongoTemplate.insert(chit(1L, "duplicate"));
+
+    assertThrows(DuplicateKeyException.class,
+        () -> mongoTemplate.insert(chit(2L, "duplicate")));
+  }
+
+  private FindIterable<Document> find(Class<?> model, Document filter) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(model)).find(filter);
+  }
+
+  private void assertIndexScan(FindIterable<Document> query) {
+    String winningPlan = winningPlan(query);
+    assertTrue(winningPlan.contains("IXSCAN"), winningPlan);
+  }
+
+  private void assertIndexScanWithoutSort(FindIterable<Document> query) {
+    String winningPlan = winningPlan(query);
+    assertTrue(winningPlan.contains("IXSCAN"), winningPlan);
+    assertFalse(winningPlan.contains("\"SORT\""), winningPlan);
+  }
+
+  private Date date(String day) {
+    return Date.from(LocalDate.parse(day).atStartOfDay(ZoneOffset.UTC).toInstant());
+  }
+
+  private String winningPlan(FindIterable<Document> query) {
+    return query.explain().get("queryPlanner", Document.class)
+        .get("winningPlan", Document.class).toJson();
+  }
+
+  private ChitDBModel chit(long id, String chitname) {
+    ChitDBModel chitDBModel = new ChitDBModel();
+    chitDBModel.setId(id);
+    chitDBModel.setChitname(chitname);
+    return chitDBModel;
+  }
+}
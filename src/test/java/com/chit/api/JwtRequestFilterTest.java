@@ -0,0 +1,109 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.config.AuthConfig;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.jwtsecurity.JwtRequestFilter;
+import com.chit.api.jwtsecurity.JwtUtil;
+import com.chit.api.jwtsecurity.JwtVerifier;
+import com.chit.api.jwtsecurity.TokenRevocations;
+import com.chit.api.jwtsecurity.TokenUser;
+import com.chit.api.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtRequestFilterTest {
+
+  private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWF0LWxlYXN0LTI1Ni1iaXRz";
+
+  private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3600);
+  private final UserService userService = mock(UserService.class);
+  private final TokenRevocations tokenRevocations = mock(TokenRevocations.class);
+  private final JwtRequestFilter jwtRequestFilter = new JwtRequestFilter();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(jwtRequestFilter, "jwtVerifier",
+        new JwtVerifier(jwtUtil, new AuthConfig(), new SimpleMeterRegistry()));
+    ReflectionTestUtils.setField(jwtRequestFilter, "userService", userService);
+    ReflectionTestUtils.setField(jwtRequestFilter, "authConfig", new AuthConfig());
+    ReflectionTestUtils.setField(jwtRequestFilter, "tokenRevocations", tokenRevocations);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void shouldAuthenticateFromClaimsWithoutLoadingTheUser() throws Exception {
+    jwtRequestFilter.doFilter(request("/chit/getChits", token(3)), new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    TokenUser tokenUser = assertInstanceOf(TokenUser.class, authentication.getPrincipal());
+    assertEquals("9876543210", tokenUser.getUsername());
+    assertEquals("ADMIN", tokenUser.getUsertype());
+    assertEquals(3, tokenUser.getTokenVersion());
+    assertEquals("USER", authentication.getAuthorities().iterator().next().getAuthority());
+    verify(tokenRevocations).isRevoked("9876543210", 3);
+    verifyNoInteractions(userService);
+  }
+
+  @Test
+  void shouldRejectRevokedToken() throws Exception {
+    when(tokenRevocations.isRevoked("9876543210", 2)).thenReturn(true);
+
+    jwtRequestFilter.doFilter(request("/chit/getChits", token(2)), new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void shouldRejectTamperedToken() throws Exception {
+    jwtRequestFilter.doFilter(request("/chit/getChits", token(0) + "x"),
+        new MockHttpServletResponse(), new MockFilterChain());
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void shouldSkipTokenWorkOnPublicPaths() throws Exception {
+    jwtRequestFilter.doFilter(request("/file/download", token(0)), new MockHttpServletResponse(),
+        new MockFilterChain());
+
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verifyNoInteractions(tokenRevocations, userService);
+  }
+
+  private String token(long tokenVersion) {
+    UserDBModel userDBModel = new UserDBModel();
+    userDBModel.setNumber("9876543210");
+    userDBModel.setUsertype("ADMIN");
+    userDBModel.setTokenVersion(tokenVersion);
+    return jwtUtil.generateToken(userDBModel);
+  }
+
+  private MockHttpServletRequest request(String path, String token) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.setServletPath(path);
+    request.addHeader("Authorization", "Bearer " + token);
+    return request;
+  }
+}
@@ -0,0 +1,68 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.chit.api.config.AuthConfig;
+import com.chit.api.dao.model.UserDBModel;
+import com.chit.api.jwtsecurity.JwtUtil;
+import com.chit.api.jwtsecurity.JwtVerifier;
+import com.chit.api.jwtsecurity.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class JwtVerifierTest {
+
+  private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LWF0LWxlYXN0LTI1Ni1iaXRz";
+
+  private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3600);
+  private final JwtVerifier jwtVerifier = new JwtVerifier(jwtUtil, new AuthConfig(),
+      new SimpleMeterRegistry());
+
+  @Test
+  void shouldReadTheClaimsOnce() {
+    VerifiedToken verifiedToken = jwtVerifier.verify(token(jwtUtil, 4));
+
+    assertEquals("9876543210", verifiedToken.subject());
+    assertEquals("ADMIN", verifiedToken.usertype());
+    assertEquals(4, verifiedToken.tokenVersion());
+    assertEquals(new SimpleGrantedAuthority("USER"), verifiedToken.authorities().get(0));
+    assertThrows(UnsupportedOperationException.class,
+        () -> verifiedToken.authorities().add(new SimpleGrantedAuthority("ADMIN")));
+  }
+
+  @Test
+  void shouldServeARepeatedTokenFromTheCache() {
+    String token = token(jwtUtil, 1);
+
+    assertSame(jwtVerifier.verify(token), jwtVerifier.verify(token));
+  }
+
+  @Test
+  void shouldRejectTamperedToken() {
+    String token = token(jwtUtil, 1);
+    jwtVerifier.verify(token);
+
+    assertThrows(JwtException.class, () -> jwtVerifier.verify(token + "x"));
+  }
+
+  @Test
+  void shouldRejectExpiredToken() {
+    String token = token(new JwtUtil(SECRET, -1), 1);
+
+    assertThrows(ExpiredJwtException.class, () -> jwtVerifier.verify(token));
+    assertThrows(ExpiredJwtException.class, () -> jwtVerifier.verify(token));
+  }
+
+  private String token(JwtUtil issuer, long tokenVersion) {
+    UserDBModel userDBModel = new UserDBModel();
+    userDBModel.setNumber("9876543210");
+    userDBModel.setUsertype("ADMIN");
+    userDBModel.setTokenVersion(tokenVersion);
+    return issuer.generateToken(userDBModel);
+  }
+}
@@ -0,0 +1,116 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.allocation.FreeSlotIndex;
+import com.chit.api.cache.ChitCache;
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.counter.CounterService;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.PendingLink;
+import com.chit.api.event.ChitEventStore;
+import com.chit.api.money.Money;
+import com.chit.api.service.LinkReconciler;
+import com.mongodb.client.result.UpdateResult;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class LinkReconcilerTest {
+
+  private static final long CHIT_ID = 7L;
+
+  private MongoTemplate mongoTemplate;
+  private CounterService counterService;
+  private FreeSlotIndex freeSlotIndex;
+  private ChitEventStore chitEventStore;
+  private LinkReconciler linkReconciler;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate = mock(MongoTemplate.class);
+    counterService = mock(CounterService.class);
+    freeSlotIndex = mock(FreeSlotIndex.class);
+    chitEventStore = mock(ChitEventStore.class);
+    linkReconciler = new LinkReconciler(mongoTemplate, new ChitWriteConfig(),
+        mock(ChitCache.class), counterService, freeSlotIndex, chitEventStore);
+  }
+
+  private Slot stampedSlot(String id, int slotId, String linkId, long rupees) {
+    Slot slot = new Slot(CHIT_ID, slotId, Money.ofRupees(rupees), Money.ofRupees(rupees));
+    slot.setId(id);
+    slot.setPendingLinks(new ArrayList<>(List.of(PendingLink.of(linkId, "9000000001",
+        Money.ofRupees(rupees), false, true, Instant.now().minusSeconds(3600)))));
+    return slot;
+  }
+
+  @Test
+  void shouldApplyAndClearAStaleBatchLinkOnce() {
+    when(mongoTemplate.find(any(Query.class), eq(Slot.class))).thenReturn(List.of(
+        stampedSlot("a", 1, "batch:7", 1000), stampedSlot("b", 2, "batch:7", 500)));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    linkReconciler.reconcile();
+
+    ArgumentCaptor<Update> balanceUpdate = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), balanceUpdate.capture(),
+        eq(ChitDBModel.class));
+    Document inc = (Document) balanceUpdate.getValue().getUpdateObject().get("$inc");
+    assertEquals(Money.ofRupees(1500).negate().getPaise(), inc.get("balanceAmount"));
+    assertEquals(-2, inc.get("freeSlots"));
+    verify(counterService).slotsLinked(Money.ofRupees(1500), 2);
+    verify(freeSlotIndex).markTaken(CHIT_ID, 1);
+    verify(freeSlotIndex).markTaken(CHIT_ID, 2);
+    verify(chitEventStore).appendAll(anyList());
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Slot.class));
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class),
+        eq(ChitDBModel.class));
+  }
+
+  @Test
+  void shouldOnlyClearALinkTheChitAlreadyApplied() {
+    when(mongoTemplate.find(any(Query.class), eq(Slot.class)))
+        .thenReturn(List.of(stampedSlot("a", 1, "link", 1000)));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+    when(mongoTemplate.exists(any(Query.class), eq(ChitDBModel.class))).thenReturn(true);
+
+    linkReconciler.reconcile();
+
+    verify(counterService, never()).slotsLinked(any(), anyInt());
+    verify(freeSlotIndex, never()).markTaken(anyLong(), anyInt());
+    verify(chitEventStore, never()).appendAll(anyList());
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Slot.class));
+  }
+
+  @Test
+  void shouldClearTheStampOfADeletedChit() {
+    when(mongoTemplate.find(any(Query.class), eq(Slot.class)))
+        .thenReturn(List.of(stampedSlot("a", 1, "link", 1000)));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ChitDBModel.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+    linkReconciler.reconcile();
+
+    verify(chitEventStore, never()).appendAll(anyList());
+    verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Slot.class));
+  }
+}
@@ -0,0 +1,55 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.dto.SubSlot;
+import com.chit.api.money.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldParseRupeeStringsIntoPaise() {
+    assertEquals(1_000_000L, Money.parse("10000").getPaise());
+    assertEquals(1_000_050L, Money.parse("10000.50").getPaise());
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("10.001"));
+    assertThrows(IllegalArgumentException.class, () -> Money.parse("ten"));
+  }
+
+  @Test
+  void shouldFormatAsRupeesForBackwardCompatibleWireFormat() {
+    assertEquals("10000", Money.ofRupees(10000).toString());
+    assertEquals("10000.50", Money.ofPaise(1_000_050L).toString());
+    assertEquals("-0.50", Money.ofPaise(-50).toString());
+  }
+
+  @Test
+  void shouldDoExactArithmeticBeyondIntRange() {
+    Money amount = Money.ofRupees(5_000_000_000L);
+    Money installment = Money.ofRupees(50_000_000L);
+
+    assertEquals(100L, amount.divideToIntegral(installment));
+    assertTrue(amount.minus(installment).isPositive());
+    assertThrows(ArithmeticException.class,
+        () -> Money.ofPaise(Long.MAX_VALUE).plus(Money.ofPaise(1)));
+  }
+
+  @Test
+  void shouldRoundTripThroughJsonAsString() throws Exception {
+    SubSlot subSlot = new SubSlot();
+    subSlot.setSlotAmount(Money.parse("2500.75"));
+
+    String json = objectMapper.writeValueAsString(subSlot);
+
+    assertTrue(json.contains("\"slotAmount\":\"2500.75\""));
+    assertEquals(subSlot.getSlotAmount(),
+        objectMapper.readValue(json, SubSlot.class).getSlotAmount());
+    assertEquals(Money.ofRupees(1000),
+        objectMapper.readValue("{\"slotAmount\":1000}", SubSlot.class).getSlotAmount());
+  }
+}
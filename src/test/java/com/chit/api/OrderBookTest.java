@@ -0,0 +1,82 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.auction.OrderBook;
+import com.chit.api.enums.AuctionEnum;
+import com.chit.api.globalexceptions.BadRequestException;
+import com.chit.api.globalexceptions.ConflictException;
+import com.chit.api.money.Money;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class OrderBookTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-05T10:00:00Z");
+
+  private OrderBook orderBook() {
+    return new OrderBook(1L, "TestChit", "2026-01", NOW.plusSeconds(300), Money.ofRupees(3000),
+        Map.of("9876543210", 2, "9876543211", 5), Set.of("9876543212"));
+  }
+
+  @Test
+  void shouldLeadWithHighestDiscount() {
+    OrderBook orderBook = orderBook();
+    orderBook.place("9876543210", Money.ofRupees(1000), NOW);
+    OrderBook.Bid bid = orderBook.place("9876543211", Money.ofRupees(1500), NOW);
+
+    assertEquals(bid, orderBook.getLeader());
+    assertEquals(5, orderBook.getLeader().slotId());
+    assertEquals(2, orderBook.getBidCount());
+    assertTrue(orderBook.takeLeaderDirty());
+  }
+
+  @Test
+  void shouldKeepEarlierBidOnTie() {
+    OrderBook orderBook = orderBook();
+    OrderBook.Bid first = orderBook.place("9876543210", Money.ofRupees(1000), NOW);
+    orderBook.place("9876543211", Money.ofRupees(1000), NOW.plusSeconds(1));
+
+    assertEquals(first, orderBook.getLeader());
+  }
+
+  @Test
+  void shouldRejectInvalidBids() {
+    OrderBook orderBook = orderBook();
+
+    assertThrows(BadRequestException.class,
+        () -> orderBook.place("1111111111", Money.ofRupees(1000), NOW));
+    assertThrows(BadRequestException.class,
+        () -> orderBook.place("9876543210", Money.ofRupees(3001), NOW));
+    assertThrows(BadRequestException.class,
+        () -> orderBook.place("9876543210", Money.ZERO, NOW));
+    assertNull(orderBook.getLeader());
+  }
+
+  @Test
+  void shouldRefuseSplitSlotHoldersWithTheirOwnError() {
+    OrderBook orderBook = orderBook();
+
+    BadRequestException e = assertThrows(BadRequestException.class,
+        () -> orderBook.place("9876543212", Money.ofRupees(1000), NOW));
+
+    assertEquals(AuctionEnum.AUCTION_SPLIT_HOLDER.getEnumAuctionConstant(), e.getMessage());
+    assertNull(orderBook.getLeader());
+  }
+
+  @Test
+  void shouldRejectBidsAfterClose() {
+    OrderBook orderBook = orderBook();
+
+    assertThrows(ConflictException.class,
+        () -> orderBook.place("9876543210", Money.ofRupees(1000), NOW.plusSeconds(300)));
+    orderBook.close();
+    assertThrows(ConflictException.class,
+        () -> orderBook.place("9876543210", Money.ofRupees(1000), NOW));
+  }
+}
@@ -0,0 +1,80 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.config.HashingConfig;
+import com.chit.api.enums.UserEnum;
+import com.chit.api.globalexceptions.ServiceUnavailableException;
+import com.chit.api.jwtsecurity.PasswordHasher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHasherTest {
+
+  private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+  private final CountDownLatch hashing = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private PasswordHasher passwordHasher;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    passwordHasher.shutdown();
+  }
+
+  @Test
+  void shouldHashOnThePool() {
+    passwordHasher = hasher(1, 1, 1000);
+    when(passwordEncoder.matches("password", "encoded")).thenAnswer(invocation ->
+        Thread.currentThread().getName().startsWith("chit-hashing-"));
+
+    assertTrue(passwordHasher.matches("password", "encoded"));
+  }
+
+  @Test
+  void shouldRefuseWhenTheQueueIsFull() throws Exception {
+    passwordHasher = hasher(1, 1, 10000);
+    blockTheOnlyThread();
+    // waits in the queue, filling it
+    CompletableFuture.runAsync(() -> passwordHasher.encode("queued"));
+    Thread.sleep(200);
+
+    ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+        () -> passwordHasher.encode("refused"));
+    assertEquals(UserEnum.USER_HASHING_BUSY.getEnumUserConstant(), exception.getMessage());
+  }
+
+  @Test
+  void shouldRefuseAHashThatWaitsTooLong() throws Exception {
+    passwordHasher = hasher(1, 1, 50);
+    blockTheOnlyThread();
+
+    assertThrows(ServiceUnavailableException.class, () -> passwordHasher.encode("late"));
+  }
+
+  private PasswordHasher hasher(int threads, int queueCapacity, long waitMs) {
+    HashingConfig hashingConfig = new HashingConfig();
+    hashingConfig.setThreads(threads);
+    hashingConfig.setQueueCapacity(queueCapacity);
+    hashingConfig.setWaitMs(waitMs);
+    return new PasswordHasher(passwordEncoder, hashingConfig);
+  }
+
+  private void blockTheOnlyThread() throws InterruptedException {
+    when(passwordEncoder.encode("blocking")).thenAnswer(invocation -> {
+      hashing.countDown();
+      release.await();
+      return "encoded";
+    });
+    CompletableFuture.runAsync(() -> passwordHasher.encode("blocking"));
+    assertTrue(hashing.await(5, TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,95 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.chit.api.auction.AuctionDBModel;
+import com.chit.api.dao.model.ChitDBModel;
+import com.chit.api.dao.model.Slot;
+import com.chit.api.dto.SubSlot;
+import com.chit.api.money.Money;
+import com.chit.api.payout.ChitPayout;
+import com.chit.api.payout.PayoutCalculator;
+import com.chit.api.payout.PayoutLine;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PayoutCalculatorTest {
+
+  private ChitDBModel chit() {
+    ChitDBModel chitDBModel = new ChitDBModel();
+    chitDBModel.setId(1L);
+    chitDBModel.setChitname("TestChit");
+    chitDBModel.setAmount(Money.ofRupees(100000));
+    chitDBModel.setInstallment(Money.ofRupees(10000));
+    chitDBModel.setTotalSlots(10);
+    return chitDBModel;
+  }
+
+  private Slot slot(int slotId, String userNumber) {
+    Slot slot = new Slot(1L, slotId, Money.ZERO, Money.ofRupees(10000));
+    slot.setUser(userNumber);
+    slot.setSplit(false);
+    return slot;
+  }
+
+  private AuctionDBModel auction(long discountRupees) {
+    AuctionDBModel auctionDBModel = new AuctionDBModel();
+    auctionDBModel.setChitId(1L);
+    auctionDBModel.setStatus(AuctionDBModel.CLOSED);
+    auctionDBModel.setWinnerUserNumber("9876543210");
+    auctionDBModel.setWinnerSlot(1);
+    auctionDBModel.setWinningDiscount(Money.ofRupees(discountRupees));
+    return auctionDBModel;
+  }
+
+  @Test
+  void shouldShareDiscountAfterCommission() {
+    List<Slot> slots = List.of(slot(1, "9876543210"), slot(2, "9876543211"));
+
+    ChitPayout chitPayout = PayoutCalculator.compute(chit(), slots, auction(25000), "2026-01", 5);
+
+    assertEquals(Money.ofRupees(5000), chitPayout.getCommission());
+    assertEquals(Money.ofRupees(20000), chitPayout.getDividendPool());
+    assertEquals(Money.ofRupees(2000), chitPayout.getDividendPerSlot());
+    assertEquals(Money.ofRupees(75000), chitPayout.getPrizeAmount());
+    // eight vacant slots' dividends stay with the foreman
+    assertEquals(Money.ofRupees(21000), chitPayout.getForemanShare());
+    assertEquals(Money.ofRupees(8000), chitPayout.getLines().get(0).getNetInstallment());
+  }
+
+  @Test
+  void shouldPayNoDividendWithoutAuction() {
+    ChitPayout chitPayout = PayoutCalculator.compute(chit(), List.of(slot(1, "9876543210")),
+        null, "2026-01", 5);
+
+    assertEquals(Money.ZERO, chitPayout.getDividendPerSlot());
+    assertEquals(Money.ZERO, chitPayout.getCommission());
+    assertNull(chitPayout.getWinnerUserNumber());
+    assertEquals(Money.ofRupees(10000), chitPayout.getLines().get(0).getNetInstallment());
+  }
+
+  @Test
+  void shouldSplitSharedSlotByParts() {
+    Slot slot = slot(3, "9876543212");
+    slot.setSplit(true);
+    slot.setSubSlots(List.of(subSlot("9876543212", 5000), subSlot("9876543213", 2500),
+        subSlot("9876543213", 2500)));
+
+    ChitPayout chitPayout = PayoutCalculator.compute(chit(), List.of(slot), auction(25000),
+        "2026-01", 5);
+
+    List<PayoutLine> lines = chitPayout.getLines();
+    assertEquals(2, lines.size());
+    assertEquals(Money.ofRupees(5000), lines.get(0).getInstallment());
+    assertEquals(Money.ofRupees(1000), lines.get(0).getDividend());
+    assertEquals(Money.ofRupees(4000), lines.get(1).getNetInstallment());
+  }
+
+  private SubSlot subSlot(String userNumber, long rupees) {
+    SubSlot subSlot = new SubSlot();
+    subSlot.setUserNumber(userNumber);
+    subSlot.setSlotAmount(Money.ofRupees(rupees));
+    return subSlot;
+  }
+}
@@ -0,0 +1,73 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.config.RateLimitConfig;
+import com.chit.api.config.RateLimitConfig.Policy;
+import com.chit.api.globalexceptions.TooManyRequestsException;
+import com.chit.api.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldLetABurstThroughThenRefuseWithRetryAfter() {
+    RateLimiter rateLimiter = rateLimiter(3, 60, 100, 100);
+
+    for (int i = 0; i < 3; i++) {
+      assertDoesNotThrow(() -> rateLimiter.check(RateLimiter.LOGIN, "9876543210", "10.0.0.1"));
+    }
+    TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+        () -> rateLimiter.check(RateLimiter.LOGIN, "9876543210", "10.0.0.1"));
+
+    // one attempt a second comes back
+    assertEquals(1, exception.getRetryAfterSeconds());
+    assertEquals(1, meterRegistry.get("chit.rate.limited").tag("endpoint", RateLimiter.LOGIN)
+        .tag("key", "number").counter().count());
+  }
+
+  @Test
+  void shouldLimitEachNumberAndClientSeparately() {
+    RateLimiter rateLimiter = rateLimiter(1, 1, 2, 1);
+
+    rateLimiter.check(RateLimiter.LOGIN, "9876543210", "10.0.0.1");
+    rateLimiter.check(RateLimiter.LOGIN, "9876543211", "10.0.0.1");
+    // another endpoint has buckets of its own
+    rateLimiter.check(RateLimiter.UPDATE_PASSWORD, "9876543210", "10.0.0.1");
+
+    TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+        () -> rateLimiter.check(RateLimiter.LOGIN, "9876543212", "10.0.0.1"));
+    assertTrue(exception.getRetryAfterSeconds() > 1);
+    assertDoesNotThrow(() -> rateLimiter.check(RateLimiter.LOGIN, "9876543212", "10.0.0.2"));
+  }
+
+  @Test
+  void shouldLetEverythingThroughWhenDisabled() {
+    RateLimitConfig rateLimitConfig = new RateLimitConfig();
+    rateLimitConfig.setEnabled(false);
+    RateLimiter rateLimiter = new RateLimiter(rateLimitConfig, meterRegistry);
+
+    for (int i = 0; i < 100; i++) {
+      rateLimiter.check(RateLimiter.LOGIN, "9876543210", "10.0.0.1");
+    }
+  }
+
+  private RateLimiter rateLimiter(int numberCapacity, int numberPerMinute, int clientCapacity,
+      int clientPerMinute) {
+    Policy policy = new Policy();
+    policy.setNumberCapacity(numberCapacity);
+    policy.setNumberPerMinute(numberPerMinute);
+    policy.setClientCapacity(clientCapacity);
+    policy.setClientPerMinute(clientPerMinute);
+    RateLimitConfig rateLimitConfig = new RateLimitConfig();
+    rateLimitConfig.getPolicies().put(RateLimiter.LOGIN, policy);
+    rateLimitConfig.getPolicies().put(RateLimiter.UPDATE_PASSWORD, policy);
+    return new RateLimiter(rateLimitConfig, meterRegistry);
+  }
+}
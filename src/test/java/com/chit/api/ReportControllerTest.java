@@ -0,0 +1,48 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.chit.api.controller.ReportController;
+import com.chit.api.report.DuesReportService;
+import com.chit.api.service.ChitImportService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@SpringBootTest(classes = ReportController.class)
+@ExtendWith(MockitoExtension.class)
+class ReportControllerTest {
+
+  @Autowired
+  private ReportController reportController;
+
+  @MockBean
+  private DuesReportService duesReportService;
+
+  @Test
+  void getDuesStreamsInRequestedFormat() throws IOException {
+    when(duesReportService.contentType("csv")).thenReturn(ChitImportService.CSV);
+    when(duesReportService.reportPeriod("2026-01")).thenReturn("2026-01");
+
+    ResponseEntity<?> responseEntity = reportController.getDues("2026-01", null, "csv");
+
+    assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    assertEquals(MediaType.parseMediaType(ChitImportService.CSV),
+        responseEntity.getHeaders().getContentType());
+    OutputStream outputStream = new ByteArrayOutputStream();
+    ((StreamingResponseBody) responseEntity.getBody()).writeTo(outputStream);
+    verify(duesReportService).writeDues("2026-01", null, ChitImportService.CSV, outputStream);
+  }
+}
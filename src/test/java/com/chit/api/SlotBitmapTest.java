@@ -0,0 +1,78 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.allocation.SlotBitmap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SlotBitmapTest {
+
+  @Test
+  void shouldClaimOnlyFreeSlots() {
+    SlotBitmap bitmap = new SlotBitmap(70);
+    bitmap.markFree(3);
+    bitmap.markFree(70);
+
+    Set<Integer> claimed = Set.of(bitmap.claim(), bitmap.claim());
+
+    assertEquals(Set.of(3, 70), claimed);
+    assertEquals(-1, bitmap.claim());
+  }
+
+  @Test
+  void shouldReturnReleasedSlot() {
+    SlotBitmap bitmap = new SlotBitmap(10);
+    bitmap.markFree(5);
+    int slotId = bitmap.claim();
+
+    bitmap.markFree(slotId);
+
+    assertEquals(1, bitmap.freeCount());
+    assertEquals(5, bitmap.claim());
+  }
+
+  @Test
+  void shouldHandOutEachSlotOnceUnderContention() throws InterruptedException {
+    int totalSlots = 200;
+    SlotBitmap bitmap = new SlotBitmap(totalSlots);
+    for (int slotId = 1; slotId <= totalSlots; slotId++) {
+      bitmap.markFree(slotId);
+    }
+    Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+    AtomicInteger duplicates = new AtomicInteger();
+    AtomicInteger misses = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int i = 0; i < 500; i++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        int slotId = bitmap.claim();
+        if (slotId < 0) {
+          misses.incrementAndGet();
+        } else if (!claimed.add(slotId)) {
+          duplicates.incrementAndGet();
+        }
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(totalSlots, claimed.size());
+    assertEquals(0, duplicates.get());
+    assertEquals(300, misses.get());
+    assertEquals(0, bitmap.freeCount());
+  }
+}
@@ -0,0 +1,101 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.chit.api.lifecycle.LifecycleCalendar;
+import com.chit.api.lifecycle.LifecycleCalendar.Deadline;
+import com.chit.api.lifecycle.TimerWheel;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+  @Test
+  void shouldExpireInDeadlineOrder() {
+    TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+    wheel.schedule(50, "b");
+    wheel.schedule(20, "a");
+    wheel.schedule(5000, "c");
+
+    assertEquals(List.of(), wheel.advance(15));
+    assertEquals(List.of("a", "b"), wheel.advance(60));
+    assertEquals(1, wheel.size());
+    assertEquals(List.of(), wheel.advance(4990));
+    assertEquals(List.of("c"), wheel.advance(5000));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void shouldCascadeAcrossLevels() {
+    TimerWheel<Long> wheel = new TimerWheel<>(1, 3, 0);
+    List<Long> deadlines = List.of(63L, 64L, 65L, 4095L, 4096L, 4097L, 200000L);
+    deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+    List<Long> expired = new ArrayList<>();
+    for (long now = 0; now <= 200006; now += 7) {
+      for (Long deadline : wheel.advance(now)) {
+        assertTrue(deadline <= now && deadline > now - 7, "expired at " + now + ": " + deadline);
+        expired.add(deadline);
+      }
+    }
+    assertEquals(deadlines, expired);
+  }
+
+  @Test
+  void shouldFireOverdueTimersOnNextAdvance() {
+    TimerWheel<String> wheel = new TimerWheel<>(1000, 4, 100000);
+    wheel.schedule(1000, "late");
+
+    assertEquals(List.of("late"), wheel.advance(100000));
+  }
+
+  @Test
+  void shouldParkTimersBeyondTopLevel() {
+    TimerWheel<String> wheel = new TimerWheel<>(1, 1, 0);
+    wheel.schedule(1000, "far");
+
+    assertEquals(List.of(), wheel.advance(999));
+    assertEquals(List.of("far"), wheel.advance(1000));
+  }
+
+  @Test
+  void shouldWalkChitCalendar() {
+    LocalDate start = LocalDate.parse("2026-01-31");
+    LocalDate end = LocalDate.parse("2026-03-31");
+
+    Deadline open = LifecycleCalendar.first(start, end, ZONE);
+    Deadline january = LifecycleCalendar.next(start, end, ZONE, open.event(), open.period());
+    Deadline february = LifecycleCalendar.next(start, end, ZONE, january.event(),
+        january.period());
+    Deadline march = LifecycleCalendar.next(start, end, ZONE, february.event(),
+        february.period());
+    Deadline close = LifecycleCalendar.next(start, end, ZONE, march.event(), march.period());
+
+    assertEquals(LifecycleCalendar.DUE, january.event());
+    assertEquals("2026-01", january.period());
+    assertEquals(LocalDate.parse("2026-02-28").atStartOfDay(ZONE).toInstant(), february.at());
+    assertEquals("2026-03", march.period());
+    assertEquals(LifecycleCalendar.CLOSE, close.event());
+    assertEquals(LocalDate.parse("2026-04-01").atStartOfDay(ZONE).toInstant(), close.at());
+    assertNull(LifecycleCalendar.next(start, end, ZONE, close.event(), close.period()));
+  }
+
+  @Test
+  void shouldResumeFromLatestPassedDeadline() {
+    LocalDate start = LocalDate.parse("2026-01-10");
+    LocalDate end = LocalDate.parse("2026-06-10");
+
+    Deadline current = LifecycleCalendar.current(start, end, ZONE,
+        LocalDate.parse("2026-03-15").atStartOfDay(ZONE).toInstant());
+
+    assertEquals(LifecycleCalendar.DUE, current.event());
+    assertEquals("2026-03", current.period());
+  }
+}
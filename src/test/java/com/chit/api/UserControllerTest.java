@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 import com.chit.api.controller.UserController;
 import com.chit.api.dao.model.UserDBModel;
 import com.chit.api.enums.UserEnum;
+import com.chit.api.ratelimit.RateLimiter;
 import com.chit.api.request.model.LoginRequest;
 import com.chit.api.request.model.UserDetailsRequest;
 import com.chit.api.response.model.CountResponse;
@@ -29,6 +30,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 @SpringBootTest(classes = UserController.class)
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +42,9 @@ class UserControllerTest {
   @MockBean
   private UserService userService;
 
+  @MockBean
+  private RateLimiter rateLimiter;
+
   @Test
   void userLoginTest() {
     LoginResponse loginResponse = new LoginResponse();
@@ -55,11 +60,14 @@ class UserControllerTest {
     LoginRequest loginRequest = new LoginRequest();
     loginRequest.setNumber("1234567890");
     loginRequest.setPassword("password");
-    ResponseEntity<?> responseEntity = userController.login(loginRequest);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr("10.0.0.1");
+    ResponseEntity<?> responseEntity = userController.login(loginRequest, request);
 
     assertNotNull(responseEntity);
     assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     assertEquals(loginResponse, responseEntity.getBody());
+    verify(rateLimiter).check(RateLimiter.LOGIN, "1234567890", "10.0.0.1");
   }
 
   @Test
@@ -154,7 +162,7 @@ class UserControllerTest {
         "1234567890");
 
     ResponseEntity<PasswordResponse> responseEntity = userController.updatePassword("1234567890",
-        loginRequest);
+        loginRequest, new MockHttpServletRequest());
 
     assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     assertEquals(UserEnum.USER_PASSWORD_UPDATED.getEnumUserConstant(),
@@ -7,9 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.chit.api.config.HashingConfig;
+import com.chit.api.counter.CounterService;
 import com.chit.api.dao.UserRepo;
 import com.chit.api.dao.model.UserDBModel;
 import com.chit.api.enums.UserEnum;
@@ -17,6 +20,8 @@ import com.chit.api.globalexceptions.BadRequestException;
 import com.chit.api.globalexceptions.ResourceExistsException;
 import com.chit.api.globalexceptions.ResourceNotFoundException;
 import com.chit.api.jwtsecurity.JwtUtil;
+import com.chit.api.jwtsecurity.PasswordHasher;
+import com.chit.api.jwtsecurity.TokenRevocations;
 import com.chit.api.request.model.UserDetailsRequest;
 import com.chit.api.response.model.LoginResponse;
 import com.chit.api.sequence.SequenceService;
@@ -33,12 +38,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-@SpringBootTest(classes = UserService.class)
+@SpringBootTest(classes = {UserService.class, PasswordHasher.class, HashingConfig.class})
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
 
@@ -48,9 +52,6 @@ public class UserServiceTest {
   @MockBean
   private JwtUtil jwtUtil;
 
-  @MockBean
-  private AuthenticationManager authenticationManager;
-
   @MockBean
   private PasswordEncoder passwordEncoder;
 
@@ -63,6 +64,12 @@ public class UserServiceTest {
   @MockBean
   private UserDetails userDetails;
 
+  @MockBean
+  private CounterService counterService;
+
+  @MockBean
+  private TokenRevocations tokenRevocations;
+
   @Captor
   private ArgumentCaptor<UserDBModel> userDBModelArgumentCaptor;
 
@@ -115,8 +122,7 @@ public class UserServiceTest {
     String password = "password";
     when(userRepo.findByNumber(number)).thenReturn(Optional.of(userDBModel));
     when(passwordEncoder.matches(password, userDBModel.getPassword())).thenReturn(true);
-    when(authenticationManager.authenticate(any())).thenReturn(null);
-    when(jwtUtil.generateToken(number)).thenReturn("validToken");
+    when(jwtUtil.generateToken(userDBModel)).thenReturn("validToken");
 
     LoginResponse loginResponse = userService.login(number, password);
 
@@ -126,6 +132,24 @@ public class UserServiceTest {
     assertEquals("1234567890", loginResponse.getNumber());
     assertEquals("USER", loginResponse.getUsertype());
     assertEquals("validToken", loginResponse.getToken());
+    verify(userRepo).findByNumber(number);
+    verify(passwordEncoder).matches(password, encodedPassword);
+  }
+
+  @Test
+  void shouldRehashAPasswordOffThePolicyOnLogin() {
+    UserDBModel userDBModel = new UserDBModel();
+    userDBModel.setNumber("1234567890");
+    userDBModel.setPassword("legacyHash");
+    when(userRepo.findByNumber("1234567890")).thenReturn(Optional.of(userDBModel));
+    when(passwordEncoder.matches("password", "legacyHash")).thenReturn(true);
+    when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+    when(passwordEncoder.encode("password")).thenReturn("{bcrypt}rehashed");
+
+    userService.login("1234567890", "password");
+
+    verify(userRepo).findAndSetPasswordByNumberAndPassword("1234567890", "legacyHash",
+        "{bcrypt}rehashed");
   }
 
   @Test
@@ -259,16 +283,24 @@ public class UserServiceTest {
 
   @Test
   void count_shouldThrowResourceExistsException_whenUserRepoIsEmpty() {
-    when(userRepo.count()).thenReturn(0L);
+    when(counterService.users()).thenReturn(0L);
 
     Throwable exception = assertThrows(ResourceExistsException.class, () -> userService.count());
 
     assertThat(exception.getMessage()).isEqualTo(UserEnum.USER_EMPTY.getEnumUserConstant());
   }
 
+  @Test
+  void count_shouldReadMaintainedCounter_withoutCountingUsers() {
+    when(counterService.users()).thenReturn(5L);
+
+    assertEquals(5L, userService.count());
+    verify(userRepo, never()).count();
+  }
+
   @Test
   public void shouldThrowResourceExistsExceptionWhenUserRepositoryIsEmpty() {
-    when(userRepo.count()).thenReturn(0L);
+    when(counterService.users()).thenReturn(0L);
 
     ResourceExistsException exception = assertThrows(ResourceExistsException.class,
         () -> userService.count());
@@ -287,6 +319,7 @@ public class UserServiceTest {
     userService.delete(number);
 
     verify(userRepo).deleteByNumber(number);
+    verify(tokenRevocations).revoke(number, 1L);
   }
 
   @Test
@@ -357,6 +390,8 @@ public class UserServiceTest {
     verify(userRepo).save(userDBModelArgumentCaptor.capture());
     UserDBModel capturedUserDBModel = userDBModelArgumentCaptor.getValue();
     assertEquals(encodedNewPassword, capturedUserDBModel.getPassword());
+    assertEquals(1L, capturedUserDBModel.getTokenVersion());
+    verify(tokenRevocations).revoke("1234567890", 1L);
   }
 
   @Test
@@ -0,0 +1,61 @@
+package com.chit.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.chit.api.config.ChitWriteConfig;
+import com.chit.api.enums.ChitEnum;
+import com.chit.api.globalexceptions.ConflictException;
+import com.chit.api.versioning.VersionedWriteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+class VersionedWriteServiceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private VersionedWriteService versionedWriteService;
+
+  @BeforeEach
+  void setUp() {
+    ChitWriteConfig chitWriteConfig = new ChitWriteConfig();
+    chitWriteConfig.setMaxAttempts(3);
+    chitWriteConfig.setInitialBackoffMs(0);
+    meterRegistry = new SimpleMeterRegistry();
+    versionedWriteService = new VersionedWriteService(chitWriteConfig, meterRegistry);
+  }
+
+  @Test
+  void shouldRetryUntilMutationWins() {
+    AtomicInteger calls = new AtomicInteger();
+
+    long result = versionedWriteService.execute("link", "chitA", () -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new OptimisticLockingFailureException("lost race");
+      }
+      return 7L;
+    });
+
+    assertEquals(7L, result);
+    assertEquals(3, calls.get());
+    assertEquals(2.0, meterRegistry.counter("chit.write.conflicts", "operation", "link").count());
+    assertEquals(2L, versionedWriteService.topContendedChits(10).get("chitA"));
+  }
+
+  @Test
+  void shouldThrowConflictWhenAttemptsAreExhausted() {
+    AtomicInteger calls = new AtomicInteger();
+
+    ConflictException exception = assertThrows(ConflictException.class,
+        () -> versionedWriteService.execute("delete", "chitB", () -> {
+          calls.incrementAndGet();
+          throw new OptimisticLockingFailureException("lost race");
+        }));
+
+    assertEquals(ChitEnum.CHIT_CONFLICT.getEnumChitConstant(), exception.getMessage());
+    assertEquals(3, calls.get());
+    assertEquals(1.0, meterRegistry.counter("chit.write.exhausted", "operation", "delete").count());
+  }
+}